@@ -0,0 +1,154 @@
+package org.stellar.sdk;
+
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.LedgersRequestBuilder;
+import org.stellar.sdk.requests.SSEStream;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Suggests transaction fees based on the capacity usage of recently closed ledgers.
+ * <p>Capacity usage of a ledger is <code>operation_count / max_tx_set_size</code>. The estimator keeps usage of the
+ * last <code>windowSize</code> ledgers. When the usage percentile matching requested inclusion probability is below
+ * the congestion threshold, ledgers have spare room and the network base fee is enough. Otherwise transactions
+ * compete for a place in the ledger (surge pricing) and the suggested fee grows with the share of congested ledgers
+ * in the window, up to <code>maxFeeMultiplier</code> times the base fee.</p>
+ * <p>This is a heuristic. Ledger responses carry no fees bid by other transactions, so the suggestion is not a
+ * percentile of observed fees and the inclusion probability is not calibrated: it only picks the usage percentile
+ * and scales the multiplier. Use the fee distribution of recent transactions when a calibrated fee is needed.</p>
+ * <p>Feed the estimator with {@link #stream(LedgersRequestBuilder)} or by calling {@link #onEvent(LedgerResponse)}.
+ * This class is thread-safe.</p>
+ * @see Transaction.Builder#setBaseFee(int)
+ */
+public class FeeEstimator implements EventListener<LedgerResponse> {
+  public static final int DEFAULT_WINDOW_SIZE = 20;
+  public static final double DEFAULT_CONGESTION_THRESHOLD = 0.9;
+  public static final int DEFAULT_MAX_FEE_MULTIPLIER = 10;
+
+  private final double mCongestionThreshold;
+  private final int mMaxFeeMultiplier;
+  // Ring buffer with capacity usage of recent ledgers
+  private final double[] mUsage;
+  private int mCount;
+  private int mNext;
+  private long mBaseFee = Transaction.BASE_FEE;
+  private Long mLastLedger;
+
+  /**
+   * Creates estimator with default settings.
+   */
+  public FeeEstimator() {
+    this(DEFAULT_WINDOW_SIZE, DEFAULT_CONGESTION_THRESHOLD, DEFAULT_MAX_FEE_MULTIPLIER);
+  }
+
+  /**
+   * @param windowSize number of recent ledgers to take into account
+   * @param congestionThreshold capacity usage (0-1] above which a ledger is considered congested
+   * @param maxFeeMultiplier maximum suggested fee in multiples of the network base fee
+   */
+  public FeeEstimator(int windowSize, double congestionThreshold, int maxFeeMultiplier) {
+    checkArgument(windowSize > 0, "windowSize must be positive");
+    checkArgument(congestionThreshold > 0 && congestionThreshold <= 1, "congestionThreshold must be in (0, 1]");
+    checkArgument(maxFeeMultiplier >= 1, "maxFeeMultiplier must be at least 1");
+    mUsage = new double[windowSize];
+    mCongestionThreshold = congestionThreshold;
+    mMaxFeeMultiplier = maxFeeMultiplier;
+  }
+
+  /**
+   * Starts streaming closed ledgers from <code>ledgers</code> into this estimator.
+   * @param ledgers request builder, ex. <code>server.ledgers().cursor("now")</code>
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<LedgerResponse> stream(LedgersRequestBuilder ledgers) {
+    checkNotNull(ledgers, "ledgers cannot be null");
+    return ledgers.stream(this);
+  }
+
+  /**
+   * Records a closed ledger.
+   * @param ledger closed ledger
+   */
+  @Override
+  public synchronized void onEvent(LedgerResponse ledger) {
+    checkNotNull(ledger, "ledger cannot be null");
+    if (ledger.getSequence() != null && mLastLedger != null && ledger.getSequence() <= mLastLedger) {
+      // Already seen, ex. after reconnection
+      return;
+    }
+    mLastLedger = ledger.getSequence();
+    if (ledger.getBaseFee() != null) {
+      mBaseFee = ledger.getBaseFee();
+    }
+    Integer maxTxSetSize = ledger.getMaxTxSetSize();
+    Integer operationCount = ledger.getOperationCount();
+    if (maxTxSetSize == null || maxTxSetSize <= 0 || operationCount == null) {
+      return;
+    }
+    mUsage[mNext] = Math.min(1.0, (double) operationCount / maxTxSetSize);
+    mNext = (mNext + 1) % mUsage.length;
+    if (mCount < mUsage.length) {
+      mCount++;
+    }
+  }
+
+  /**
+   * Returns the most recent network base fee in stroops.
+   */
+  public synchronized long getBaseFee() {
+    return mBaseFee;
+  }
+
+  /**
+   * Returns number of ledgers currently taken into account.
+   */
+  public synchronized int getLedgersCount() {
+    return mCount;
+  }
+
+  /**
+   * Returns capacity usage of recent ledgers at the given percentile, ex. <code>0.5</code> for median.
+   * Returns <code>0</code> when no ledgers were recorded yet.
+   * @param percentile value in [0, 1]
+   */
+  public synchronized double getCapacityUsage(double percentile) {
+    checkArgument(percentile >= 0 && percentile <= 1, "percentile must be in [0, 1]");
+    if (mCount == 0) {
+      return 0;
+    }
+    double[] sorted = Arrays.copyOf(mUsage, mCount);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile * mCount) - 1;
+    return sorted[Math.max(0, index)];
+  }
+
+  /**
+   * Suggests fee per operation in stroops, to be used with {@link Transaction.Builder#setBaseFee(int)}.
+   * <p>When congested, the fee is <code>baseFee * (1 + (maxFeeMultiplier - 1) * congestedRatio *
+   * inclusionProbability)</code>, where <code>congestedRatio</code> is the share of congested ledgers in the window.
+   * The formula is a heuristic interpolating between the base fee and the cap, see the class description.</p>
+   * @param inclusionProbability target probability of inclusion in the next ledger, in (0, 1)
+   */
+  public synchronized int suggestBaseFee(double inclusionProbability) {
+    checkArgument(inclusionProbability > 0 && inclusionProbability < 1, "inclusionProbability must be in (0, 1)");
+    if (getCapacityUsage(inclusionProbability) < mCongestionThreshold) {
+      return (int) Math.min(mBaseFee, Integer.MAX_VALUE);
+    }
+
+    int congested = 0;
+    for (int i = 0; i < mCount; i++) {
+      if (mUsage[i] >= mCongestionThreshold) {
+        congested++;
+      }
+    }
+    double congestedRatio = (double) congested / mCount;
+    // Heuristic, not fitted to observed fees: linear between 1x (rare congestion, low probability) and
+    // mMaxFeeMultiplier (persistent congestion, high probability)
+    double multiplier = 1 + (mMaxFeeMultiplier - 1) * congestedRatio * inclusionProbability;
+    return (int) Math.min(Math.ceil(mBaseFee * multiplier), Integer.MAX_VALUE);
+  }
+}
@@ -1,18 +1,22 @@
 package org.stellar.sdk;
 
+import com.google.common.math.LongMath;
 import com.google.gson.annotations.SerializedName;
 import org.stellar.sdk.xdr.Int32;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.math.RoundingMode;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Represents Price. Price in Stellar is represented as a fraction.
  */
-public class Price {
+public class Price implements Comparable<Price> {
+    // Numerators and denominators above this value could overflow when multiplied by 10.
+    private static final long MAX_EXACT_DECIMAL = (Long.MAX_VALUE - 9) / 10;
+
     @SerializedName("n")
     private final int n;
     @SerializedName("d")
@@ -47,38 +51,196 @@ public class Price {
      * Please remember that this function can give unexpected results for values that cannot be represented as a
      * fraction with 32-bit numerator and denominator. It's safer to create a Price object using the constructor.
      * @param price Ex. "1.25"
+     * @throws ArithmeticException when the absolute value of <code>price</code> is above {@link Integer#MAX_VALUE}
      */
     public static Price fromString(String price) {
         checkNotNull(price, "price cannot be null");
-        BigDecimal maxInt = new BigDecimal(Integer.MAX_VALUE);
-        BigDecimal number = new BigDecimal(price);
-        BigDecimal a;
-        BigDecimal f;
-        List<BigDecimal[]> fractions = new ArrayList<BigDecimal[]>();
-        fractions.add(new BigDecimal[]{new BigDecimal(0), new BigDecimal(1)});
-        fractions.add(new BigDecimal[]{new BigDecimal(1), new BigDecimal(0)});
-        int i = 2;
-        while (true) {
-            if (number.compareTo(maxInt) > 0) {
+        int length = price.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (price.charAt(i) == '-' || price.charAt(i) == '+')) {
+            negative = price.charAt(i) == '-';
+            i++;
+        }
+
+        long numerator = 0;
+        long denominator = 1;
+        boolean fraction = false;
+        boolean digits = false;
+        for (; i < length; i++) {
+            char c = price.charAt(i);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                // Exponent notation and other exotic formats are normalized once by BigDecimal.
+                return fromString(new BigDecimal(price).toPlainString());
+            }
+            digits = true;
+            if (numerator > MAX_EXACT_DECIMAL || denominator > MAX_EXACT_DECIMAL) {
+                if (!fraction) {
+                    // Integer part alone is far above Integer.MAX_VALUE.
+                    throw new ArithmeticException("Price does not fit in 32-bit numerator: " + price);
+                }
+                // Remaining fractional digits are below the precision of a 32-bit fraction.
                 break;
             }
-            a = number.setScale(0, BigDecimal.ROUND_FLOOR);
-            f = number.subtract(a);
-            BigDecimal h = a.multiply(fractions.get(i - 1)[0]).add(fractions.get(i - 2)[0]);
-            BigDecimal k = a.multiply(fractions.get(i - 1)[1]).add(fractions.get(i - 2)[1]);
-            if (h.compareTo(maxInt) > 0 || k.compareTo(maxInt) > 0) {
+            numerator = numerator * 10 + (c - '0');
+            if (fraction) {
+                denominator *= 10;
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid price: " + price);
+        }
+        Price result = approximate(numerator, denominator);
+        return negative ? new Price(-result.n, result.d) : result;
+    }
+
+    /**
+     * Approximates <code>price</code> to a fraction with 32-bit numerator and denominator.
+     * The exact binary value of the double is used, so <code>fromDouble(0.1)</code> returns <code>1/10</code>.
+     * @param price Ex. 1.25
+     * @throws ArithmeticException when the absolute value of <code>price</code> is above {@link Integer#MAX_VALUE}
+     */
+    public static Price fromDouble(double price) {
+        checkArgument(!Double.isNaN(price) && !Double.isInfinite(price), "price must be a finite number");
+        if (price < 0) {
+            Price result = fromDouble(-price);
+            return new Price(-result.n, result.d);
+        }
+        if (price > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Price does not fit in 32-bit numerator: " + price);
+        }
+        if (price == 0) {
+            return new Price(0, 1);
+        }
+        // price = mantissa * 2^exponent
+        long bits = Double.doubleToRawLongBits(price);
+        int biasedExponent = (int) ((bits >> 52) & 0x7ff);
+        long mantissa = bits & 0xfffffffffffffL;
+        int exponent;
+        if (biasedExponent == 0) {
+            exponent = -1074;
+        } else {
+            mantissa |= 1L << 52;
+            exponent = biasedExponent - 1075;
+        }
+        if (exponent >= 0) {
+            return new Price((int) (mantissa << exponent), 1);
+        }
+        int shift = -exponent;
+        if (shift > 62) {
+            // Bits below 2^-62 cannot change a fraction with a 32-bit denominator.
+            mantissa = shift - 62 >= 64 ? 0 : mantissa >>> (shift - 62);
+            shift = 62;
+        }
+        return approximate(mantissa, 1L << shift);
+    }
+
+    /**
+     * Finds the closest fraction with 32-bit numerator and denominator to <code>numerator/denominator</code>
+     * using continued fractions. Both arguments must be non-negative.
+     * @throws ArithmeticException when the fraction is above {@link Integer#MAX_VALUE}
+     */
+    static Price approximate(long numerator, long denominator) {
+        long h2 = 0, k2 = 1; // h(i-2)/k(i-2)
+        long h1 = 1, k1 = 0; // h(i-1)/k(i-1)
+        while (denominator != 0) {
+            long a = numerator / denominator;
+            if (a > Integer.MAX_VALUE) {
                 break;
             }
-            fractions.add(new BigDecimal[]{h, k});
-            if (f.compareTo(BigDecimal.ZERO) == 0) {
+            long h = a * h1 + h2;
+            long k = a * k1 + k2;
+            if (h > Integer.MAX_VALUE || k > Integer.MAX_VALUE) {
                 break;
             }
-            number = new BigDecimal(1).divide(f, 20, BigDecimal.ROUND_HALF_UP);
-            i = i + 1;
+            h2 = h1;
+            k2 = k1;
+            h1 = h;
+            k1 = k;
+            long remainder = numerator - a * denominator;
+            numerator = denominator;
+            denominator = remainder;
+        }
+        if (k1 == 0) {
+            throw new ArithmeticException("Price does not fit in 32-bit numerator");
         }
-        BigDecimal n = fractions.get(fractions.size()-1)[0];
-        BigDecimal d = fractions.get(fractions.size()-1)[1];
-        return new Price(n.intValue(), d.intValue());
+        return new Price((int) h1, (int) k1);
+    }
+
+    /**
+     * Compares this price with <code>other</code> by value, so <code>1/2</code> and <code>2/4</code> are equal
+     * in terms of this method (but not in terms of {@link #equals(Object)}). Denominators must be positive.
+     * @param other price to compare with
+     */
+    @Override
+    public int compareTo(Price other) {
+        checkNotNull(other, "other cannot be null");
+        long left = (long) this.n * other.d;
+        long right = (long) other.n * this.d;
+        return left < right ? -1 : (left == right ? 0 : 1);
+    }
+
+    /**
+     * Returns a product of this price and <code>other</code>. If the exact product cannot be represented with
+     * 32-bit numerator and denominator, the closest representable fraction is returned.
+     * @param other price to multiply by
+     * @throws ArithmeticException when a denominator is zero or the absolute value of the product is above
+     *   {@link Integer#MAX_VALUE}
+     */
+    public Price multiply(Price other) {
+        checkNotNull(other, "other cannot be null");
+        long numerator = (long) this.n * other.n;
+        long denominator = (long) this.d * other.d;
+        boolean negative = (numerator < 0) != (denominator < 0) && numerator != 0;
+        numerator = Math.abs(numerator);
+        denominator = Math.abs(denominator);
+        if (denominator == 0) {
+            throw new ArithmeticException("Price with zero denominator");
+        }
+        long gcd = LongMath.gcd(numerator, denominator);
+        numerator /= gcd;
+        denominator /= gcd;
+        Price result;
+        if (numerator <= Integer.MAX_VALUE && denominator <= Integer.MAX_VALUE) {
+            result = new Price((int) numerator, (int) denominator);
+        } else {
+            result = approximate(numerator, denominator);
+        }
+        return negative ? new Price(-result.n, result.d) : result;
+    }
+
+    /**
+     * Returns the reciprocal of this price, e.g. price of selling asset in terms of buying asset.
+     * @throws ArithmeticException when numerator is zero
+     */
+    public Price invert() {
+        if (n == 0) {
+            throw new ArithmeticException("Cannot invert zero price");
+        }
+        return n < 0 ? new Price(-d, -n) : new Price(d, n);
+    }
+
+    /**
+     * Multiplies <code>amount</code> by this price: <code>amount * n / d</code>. Intermediate result is
+     * computed without overflow so it works for the whole range of Stellar amounts.
+     * @param amount non-negative amount in stroops
+     * @param roundingMode how to round the result when it is not an integer
+     * @return amount in stroops
+     * @throws ArithmeticException when the result does not fit in <code>long</code> or
+     *   <code>roundingMode</code> is {@link RoundingMode#UNNECESSARY} and rounding is required
+     */
+    public long applyTo(long amount, RoundingMode roundingMode) {
+        checkArgument(amount >= 0, "amount must be non-negative");
+        checkArgument(n >= 0 && d > 0, "price must be non-negative with positive denominator");
+        checkNotNull(roundingMode, "roundingMode cannot be null");
+        // amount * n / d = (amount / d) * n + (amount % d) * n / d, where (amount % d) * n < 2^62
+        long whole = LongMath.checkedMultiply(amount / d, n);
+        long part = LongMath.divide((amount % d) * n, d, roundingMode);
+        return LongMath.checkedAdd(whole, part);
     }
 
     /**
@@ -107,4 +269,9 @@ public class Price {
                 this.getDenominator() == price.getDenominator();
 
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * n + d;
+    }
 }
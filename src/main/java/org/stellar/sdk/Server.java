@@ -1,26 +1,52 @@
 package org.stellar.sdk;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.gson.reflect.TypeToken;
 import okhttp3.*;
 import org.stellar.sdk.requests.*;
 import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.SubmitTransactionResponse;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Main class used to connect to Horizon server.
  */
 public class Server {
+    // Calls wait for the rate limiter on dispatcher threads, so the dispatcher must admit many more calls than the
+    // limiter lets through, otherwise waiting low priority calls keep high priority ones out of the limiter queue
+    private static final int MAX_DISPATCHED_REQUESTS = 8 * RateLimiter.DEFAULT_MAX_CONCURRENCY;
+    // Failed transactions are returned with an error status and a SubmitTransactionResponse body
+    private static final ResponseHandler<SubmitTransactionResponse> SUBMIT_TRANSACTION_HANDLER =
+            new ResponseHandler<SubmitTransactionResponse>(new TypeToken<SubmitTransactionResponse>() {}) {
+                @Override
+                protected SubmitTransactionResponse convert(Response response) throws IOException {
+                    return GsonSingleton.getInstance().fromJson(response.body().charStream(), SubmitTransactionResponse.class);
+                }
+            };
+
     private HttpUrl serverURI;
     private OkHttpClient httpClient;
+    private final ResponseCache responseCache = new ResponseCache();
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final RateLimiter rateLimiter = new RateLimiter();
 
     public Server(String uri) {
         serverURI = HttpUrl.parse(uri);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_DISPATCHED_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_DISPATCHED_REQUESTS);
         httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
                 .retryOnConnectionFailure(false)
+                .addInterceptor(responseCache)
+                .addInterceptor(singleFlight)
+                .addInterceptor(rateLimiter)
                 .build();
     }
 
@@ -28,6 +54,28 @@ public class Server {
         return httpClient;
     }
 
+    /**
+     * Returns {@link RateLimiter} scheduling requests of the default client. A client set with
+     * {@link #setHttpClient(OkHttpClient)} uses it only when added as its interceptor.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Returns {@link ResponseCache} of immutable resources used by the default client.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Returns {@link SingleFlight} coalescing identical concurrent requests of the default client.
+     */
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
     public void setHttpClient(OkHttpClient httpClient) {
         this.httpClient = httpClient;
     }
@@ -123,19 +171,44 @@ public class Server {
      * @throws IOException
      */
     public SubmitTransactionResponse submitTransaction(Transaction transaction) throws IOException {
+        return submitTransaction(transaction.toEnvelopeXdrBase64());
+    }
+
+    /**
+     * Submits already encoded transaction to the network.
+     * @param envelopeXdrBase64 base64-encoded TransactionEnvelope XDR, ex. from {@link TransactionTemplate.Draft#toEnvelopeXdrBase64()}.
+     * @return {@link SubmitTransactionResponse}
+     * @throws IOException
+     */
+    public SubmitTransactionResponse submitTransaction(String envelopeXdrBase64) throws IOException {
+        Request submitTransactionRequest = buildSubmitTransactionRequest(envelopeXdrBase64);
+        return SUBMIT_TRANSACTION_HANDLER.handleResponse(this.httpClient.newCall(submitTransactionRequest).execute());
+    }
+
+    /**
+     * Submits transaction to the network asynchronously. Response is deserialized on OkHttp dispatcher thread.
+     * @param transaction transaction to submit to the network.
+     * @return future of {@link SubmitTransactionResponse}
+     */
+    public ListenableFuture<SubmitTransactionResponse> submitTransactionAsync(Transaction transaction) {
+        return submitTransactionAsync(transaction.toEnvelopeXdrBase64(), MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Submits already encoded transaction to the network asynchronously.
+     * Cancelling the returned future cancels the HTTP call.
+     * @param envelopeXdrBase64 base64-encoded TransactionEnvelope XDR.
+     * @param executor executor used to deserialize the response and complete the future
+     * @return future of {@link SubmitTransactionResponse}
+     */
+    public ListenableFuture<SubmitTransactionResponse> submitTransactionAsync(String envelopeXdrBase64, Executor executor) {
+        Call call = this.httpClient.newCall(buildSubmitTransactionRequest(envelopeXdrBase64));
+        return SUBMIT_TRANSACTION_HANDLER.handleResponseAsync(call, executor);
+    }
+
+    private Request buildSubmitTransactionRequest(String envelopeXdrBase64) {
         HttpUrl transactionsURI = serverURI.newBuilder().addPathSegment("transactions").build();
-        RequestBody requestBody = new FormBody.Builder().add("tx", transaction.toEnvelopeXdrBase64()).build();
-        Request submitTransactionRequest = new Request.Builder().url(transactionsURI).post(requestBody).build();
-
-        Response response = null;
-        try {
-            response = this.httpClient.newCall(submitTransactionRequest).execute();
-            SubmitTransactionResponse submitTransactionResponse = GsonSingleton.getInstance().fromJson(response.body().string(), SubmitTransactionResponse.class);
-            return submitTransactionResponse;
-        } finally {
-            if (response != null) {
-                response.close();
-            }
-        }
+        RequestBody requestBody = new FormBody.Builder().add("tx", envelopeXdrBase64).build();
+        return new Request.Builder().url(transactionsURI).post(requestBody).build();
     }
 }
@@ -24,7 +24,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Represents <a href="https://www.stellar.org/developers/learn/concepts/transactions.html" target="_blank">Transaction</a> in Stellar network.
  */
 public class Transaction {
-  private final int BASE_FEE = 100;
+  /**
+   * Default fee per operation in stroops.
+   */
+  public static final int BASE_FEE = 100;
 
   private final int mFee;
   private final KeyPair mSourceAccount;
@@ -34,13 +37,14 @@ public class Transaction {
   private final TimeBounds mTimeBounds;
   private List<DecoratedSignature> mSignatures;
 
-  Transaction(KeyPair sourceAccount, long sequenceNumber, Operation[] operations, Memo memo, TimeBounds timeBounds) {
+  Transaction(KeyPair sourceAccount, int fee, long sequenceNumber, Operation[] operations, Memo memo, TimeBounds timeBounds) {
     mSourceAccount = checkNotNull(sourceAccount, "sourceAccount cannot be null");
     mSequenceNumber = checkNotNull(sequenceNumber, "sequenceNumber cannot be null");
     mOperations = checkNotNull(operations, "operations cannot be null");
     checkArgument(operations.length > 0, "At least one operation required");
+    checkArgument(fee >= 0, "fee must be non-negative");
 
-    mFee = operations.length * BASE_FEE;
+    mFee = fee;
     mSignatures = new ArrayList<DecoratedSignature>();
     mMemo = memo != null ? memo : Memo.none();
     mTimeBounds = timeBounds;
@@ -125,6 +129,13 @@ public class Transaction {
   public Memo getMemo() {
     return mMemo;
   }
+
+  /**
+   * Returns a copy of the operations of this transaction, changing it does not modify the transaction.
+   */
+  public Operation[] getOperations() {
+    return Arrays.copyOf(mOperations, mOperations.length);
+  }
   
   /**
    * @return TimeBounds, or null (representing no time restrictions)
@@ -245,6 +256,9 @@ public class Transaction {
     checkNotNull(txEnv, "Transaction envelope cannot be null");
     org.stellar.sdk.xdr.Transaction xdrTx = txEnv.getTx();
     KeyPair sourceAccount = KeyPair.fromXdrPublicKey(xdrTx.getSourceAccount().getAccountID());
+    // Uint32 holds the unsigned fee in a signed int
+    long fee = xdrTx.getFee().getUint32() & 0xffffffffL;
+    checkArgument(fee <= Integer.MAX_VALUE, "Transaction fee is too large");
     long sequenceNumber = xdrTx.getSeqNum().getSequenceNumber().getUint64();
     org.stellar.sdk.xdr.Operation[] xdrOps = xdrTx.getOperations();
     Operation[] operations = new Operation[xdrOps.length];
@@ -257,7 +271,7 @@ public class Transaction {
     if (xdrTimeBounds != null) {
       timeBounds = TimeBounds.fromXdr(xdrTimeBounds);
     }
-    Transaction tx = new Transaction(sourceAccount, sequenceNumber, operations, memo, timeBounds);
+    Transaction tx = new Transaction(sourceAccount, (int) fee, sequenceNumber, operations, memo, timeBounds);
     DecoratedSignature[] signatures = txEnv.getSignatures();
     for (int i = 0; i < signatures.length; i++) {
       tx.mSignatures.add(signatures[i]);
@@ -272,6 +286,7 @@ public class Transaction {
     private final TransactionBuilderAccount mSourceAccount;
     private Memo mMemo;
     private TimeBounds mTimeBounds;
+    private int mBaseFee = BASE_FEE;
     List<Operation> mOperations;
 
     /**
@@ -332,13 +347,29 @@ public class Transaction {
       return this;
     }
 
+    /**
+     * Sets fee per operation in stroops (1 stroop = 0.0000001 XLM). Transaction fee is <code>baseFee</code>
+     * multiplied by the number of operations. Defaults to {@link Transaction#BASE_FEE}.
+     * Paying more than the network base fee increases the chance of inclusion when ledgers are full.
+     * @param baseFee fee per operation in stroops
+     * @return Builder object so you can chain methods.
+     * @see FeeEstimator
+     */
+    public Builder setBaseFee(int baseFee) {
+      checkArgument(baseFee > 0, "baseFee must be positive");
+      mBaseFee = baseFee;
+      return this;
+    }
+
     /**
      * Builds a transaction. It will increment sequence number of the source account.
      */
     public Transaction build() {
       Operation[] operations = new Operation[mOperations.size()];
       operations = mOperations.toArray(operations);
-      Transaction transaction = new Transaction(mSourceAccount.getKeypair(), mSourceAccount.getIncrementedSequenceNumber(), operations, mMemo, mTimeBounds);
+      long fee = (long) operations.length * mBaseFee;
+      checkArgument(fee <= Integer.MAX_VALUE, "Transaction fee is too large");
+      Transaction transaction = new Transaction(mSourceAccount.getKeypair(), (int) fee, mSourceAccount.getIncrementedSequenceNumber(), operations, mMemo, mTimeBounds);
       // Increment sequence number when there were no exceptions when creating a transaction
       mSourceAccount.incrementSequenceNumber();
       return transaction;
@@ -0,0 +1,294 @@
+package org.stellar.sdk;
+
+import com.google.common.io.BaseEncoding;
+import org.stellar.sdk.xdr.XdrDataOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Pre-encoded {@link Transaction} used to produce many transactions of the same shape.
+ * <p>The transaction is encoded to XDR once. Every {@link Draft} created from the template is a copy of these bytes
+ * where sequence number, fee, amounts, destinations and prices can be patched in place before hashing and signing,
+ * so no {@link Operation} objects are rebuilt and nothing is re-encoded.</p>
+ * <p>Supported fields:</p>
+ * <ul>
+ *   <li>destination: {@link PaymentOperation}, {@link CreateAccountOperation}, {@link AccountMergeOperation}</li>
+ *   <li>amount: {@link PaymentOperation}, {@link CreateAccountOperation} (starting balance),
+ *   {@link ManageOfferOperation}, {@link CreatePassiveOfferOperation}</li>
+ *   <li>price: {@link ManageOfferOperation}, {@link CreatePassiveOfferOperation}</li>
+ * </ul>
+ * <p>The template is bound to the network selected when it was created. It is immutable and can be shared between
+ * threads, drafts are not thread-safe.</p>
+ */
+public class TransactionTemplate {
+  private static final int NETWORK_ID_LENGTH = 32;
+  // Hashed network ID followed by envelope type
+  private static final int TX_OFFSET = NETWORK_ID_LENGTH + 4;
+  // Source account: 4 bytes key type + 32 bytes key
+  private static final int FEE_OFFSET = TX_OFFSET + 36;
+  private static final int SEQUENCE_NUMBER_OFFSET = FEE_OFFSET + 4;
+  private static final int SIGNATURE_LENGTH = 64;
+
+  private final byte[] mSignatureBase;
+  private final int[] mDestinationOffsets;
+  private final int[] mAmountOffsets;
+  private final int[] mPriceOffsets;
+
+  private TransactionTemplate(byte[] signatureBase, int[] destinationOffsets, int[] amountOffsets, int[] priceOffsets) {
+    mSignatureBase = signatureBase;
+    mDestinationOffsets = destinationOffsets;
+    mAmountOffsets = amountOffsets;
+    mPriceOffsets = priceOffsets;
+  }
+
+  /**
+   * Compiles <code>transaction</code> into a template. Signatures of <code>transaction</code> are not copied.
+   * @param transaction transaction to use as a template
+   */
+  public static TransactionTemplate fromTransaction(Transaction transaction) {
+    checkNotNull(transaction, "transaction cannot be null");
+    if (Network.current() == null) {
+      throw new NoNetworkSelectedException();
+    }
+
+    byte[] signatureBase = transaction.signatureBase();
+    Operation[] operations = transaction.getOperations();
+    int[] destinationOffsets = new int[operations.length];
+    int[] amountOffsets = new int[operations.length];
+    int[] priceOffsets = new int[operations.length];
+
+    int[] operationLengths = new int[operations.length];
+    int operationsLength = 0;
+    for (int i = 0; i < operations.length; i++) {
+      operationLengths[i] = encode(operations[i].toXdr()).length;
+      operationsLength += operationLengths[i];
+    }
+
+    // Operations are followed only by 4 bytes of ext
+    int operationStart = signatureBase.length - 4 - operationsLength;
+    for (int i = 0; i < operations.length; i++) {
+      Operation operation = operations[i];
+      int operationEnd = operationStart + operationLengths[i];
+      // Optional source account: 4 bytes flag (+ 36 bytes account) followed by 4 bytes of operation type
+      int bodyStart = operationStart + (operation.getSourceAccount() != null ? 40 : 4) + 4;
+      destinationOffsets[i] = -1;
+      amountOffsets[i] = -1;
+      priceOffsets[i] = -1;
+      if (operation instanceof PaymentOperation || operation instanceof CreateAccountOperation) {
+        // Destination is the first field, amount is the last one
+        destinationOffsets[i] = bodyStart + 4;
+        amountOffsets[i] = operationEnd - 8;
+      } else if (operation instanceof AccountMergeOperation) {
+        destinationOffsets[i] = bodyStart + 4;
+      } else if (operation instanceof ManageOfferOperation) {
+        // ... amount, price, offerID
+        amountOffsets[i] = operationEnd - 24;
+        priceOffsets[i] = operationEnd - 16;
+      } else if (operation instanceof CreatePassiveOfferOperation) {
+        // ... amount, price
+        amountOffsets[i] = operationEnd - 16;
+        priceOffsets[i] = operationEnd - 8;
+      }
+      operationStart = operationEnd;
+    }
+
+    return new TransactionTemplate(signatureBase, destinationOffsets, amountOffsets, priceOffsets);
+  }
+
+  private static byte[] encode(org.stellar.sdk.xdr.Operation operation) {
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      XdrDataOutputStream xdrOutputStream = new XdrDataOutputStream(outputStream);
+      org.stellar.sdk.xdr.Operation.encode(xdrOutputStream, operation);
+      return outputStream.toByteArray();
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Returns number of operations in this template.
+   */
+  public int getOperationsCount() {
+    return mAmountOffsets.length;
+  }
+
+  /**
+   * Creates a new draft with all the fields equal to the ones of the compiled transaction.
+   */
+  public Draft newDraft() {
+    return new Draft(Arrays.copyOf(mSignatureBase, mSignatureBase.length));
+  }
+
+  /**
+   * Transaction created from {@link TransactionTemplate}.
+   */
+  public class Draft {
+    private final byte[] mBytes;
+    private final List<byte[]> mSignatures;
+
+    private Draft(byte[] bytes) {
+      mBytes = bytes;
+      mSignatures = new ArrayList<byte[]>();
+    }
+
+    /**
+     * Sets transaction sequence number.
+     * @param sequenceNumber
+     * @return Draft object so you can chain methods.
+     */
+    public Draft setSequenceNumber(long sequenceNumber) {
+      putLong(SEQUENCE_NUMBER_OFFSET, sequenceNumber);
+      return this;
+    }
+
+    /**
+     * Sets fee paid for transaction in stroops.
+     * @param fee
+     * @return Draft object so you can chain methods.
+     */
+    public Draft setFee(int fee) {
+      checkArgument(fee >= 0, "fee must be non-negative");
+      putInt(FEE_OFFSET, fee);
+      return this;
+    }
+
+    /**
+     * Sets amount of operation at <code>operationIndex</code>.
+     * @param operationIndex index of the operation in the transaction
+     * @param amount amount in stroops (1 stroop = 0.0000001 of the asset)
+     * @return Draft object so you can chain methods.
+     */
+    public Draft setAmount(int operationIndex, long amount) {
+      checkArgument(amount >= 0, "amount must be non-negative");
+      putLong(offset(mAmountOffsets, operationIndex, "amount"), amount);
+      return this;
+    }
+
+    /**
+     * Sets destination of operation at <code>operationIndex</code>.
+     * @param operationIndex index of the operation in the transaction
+     * @param destination new destination account
+     * @return Draft object so you can chain methods.
+     */
+    public Draft setDestination(int operationIndex, KeyPair destination) {
+      checkNotNull(destination, "destination cannot be null");
+      int offset = offset(mDestinationOffsets, operationIndex, "destination");
+      checkNotSigned();
+      System.arraycopy(destination.getPublicKey(), 0, mBytes, offset, 32);
+      return this;
+    }
+
+    /**
+     * Sets price of operation at <code>operationIndex</code>.
+     * @param operationIndex index of the operation in the transaction
+     * @param price new price
+     * @return Draft object so you can chain methods.
+     */
+    public Draft setPrice(int operationIndex, Price price) {
+      checkNotNull(price, "price cannot be null");
+      int offset = offset(mPriceOffsets, operationIndex, "price");
+      putInt(offset, price.getNumerator());
+      putInt(offset + 4, price.getDenominator());
+      return this;
+    }
+
+    /**
+     * Returns signature base.
+     */
+    public byte[] signatureBase() {
+      return Arrays.copyOf(mBytes, mBytes.length);
+    }
+
+    /**
+     * Returns transaction hash.
+     */
+    public byte[] hash() {
+      return Util.hash(mBytes);
+    }
+
+    /**
+     * Adds a new signature ed25519PublicKey to this transaction. Fields cannot be changed after signing.
+     * @param signer {@link KeyPair} object representing a signer
+     * @return Draft object so you can chain methods.
+     */
+    public Draft sign(KeyPair signer) {
+      checkNotNull(signer, "signer cannot be null");
+      byte[] publicKey = signer.getPublicKey();
+      byte[] signature = signer.sign(hash());
+      checkArgument(signature.length == SIGNATURE_LENGTH, "Unexpected signature length");
+      // Decorated signature: 4 bytes hint (last 4 bytes of public key), length-prefixed signature
+      byte[] decorated = new byte[4 + 4 + SIGNATURE_LENGTH];
+      System.arraycopy(publicKey, publicKey.length - 4, decorated, 0, 4);
+      writeInt(decorated, 4, SIGNATURE_LENGTH);
+      System.arraycopy(signature, 0, decorated, 8, SIGNATURE_LENGTH);
+      mSignatures.add(decorated);
+      return this;
+    }
+
+    /**
+     * Returns TransactionEnvelope XDR bytes. Transaction need to have at least one signature.
+     */
+    public byte[] toEnvelopeXdr() {
+      if (mSignatures.size() == 0) {
+        throw new NotEnoughSignaturesException("Transaction must be signed by at least one signer. Use draft.sign().");
+      }
+      int transactionLength = mBytes.length - TX_OFFSET;
+      byte[] envelope = new byte[transactionLength + 4 + mSignatures.size() * (8 + SIGNATURE_LENGTH)];
+      System.arraycopy(mBytes, TX_OFFSET, envelope, 0, transactionLength);
+      writeInt(envelope, transactionLength, mSignatures.size());
+      int offset = transactionLength + 4;
+      for (byte[] signature : mSignatures) {
+        System.arraycopy(signature, 0, envelope, offset, signature.length);
+        offset += signature.length;
+      }
+      return envelope;
+    }
+
+    /**
+     * Returns base64-encoded TransactionEnvelope XDR object. Transaction need to have at least one signature.
+     */
+    public String toEnvelopeXdrBase64() {
+      return BaseEncoding.base64().encode(toEnvelopeXdr());
+    }
+
+    private int offset(int[] offsets, int operationIndex, String field) {
+      checkArgument(operationIndex >= 0 && operationIndex < offsets.length, "Invalid operation index");
+      if (offsets[operationIndex] < 0) {
+        throw new IllegalArgumentException("Operation " + operationIndex + " does not have " + field + " field");
+      }
+      return offsets[operationIndex];
+    }
+
+    private void checkNotSigned() {
+      if (mSignatures.size() > 0) {
+        throw new IllegalStateException("Transaction has been already signed.");
+      }
+    }
+
+    private void putInt(int offset, int value) {
+      checkNotSigned();
+      writeInt(mBytes, offset, value);
+    }
+
+    private void putLong(int offset, long value) {
+      checkNotSigned();
+      writeInt(mBytes, offset, (int) (value >>> 32));
+      writeInt(mBytes, offset + 4, (int) value);
+    }
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+}
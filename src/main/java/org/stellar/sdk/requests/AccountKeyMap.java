@@ -0,0 +1,225 @@
+package org.stellar.sdk.requests;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Lock-free map from 32-byte account keys to values, used to match records of a global stream against a large set
+ * of accounts.
+ * <p>Keys are stored in a primitive <code>long</code> array with open addressing, four longs per key, so a lookup
+ * compares numbers instead of strings and holding a million keys costs no objects. A key keeps its slot for the life
+ * of the map: removing it only clears its value, so the number of distinct keys ever added is limited by
+ * <code>maxKeys</code>.</p>
+ * @param <V> type of values
+ */
+final class AccountKeyMap<V> {
+  static final int KEY_LONGS = 4;
+  // Largest maxKeys whose key array fits in an int-indexed array
+  static final int MAX_KEYS = 1 << 26;
+
+  private static final int EMPTY = 0;
+  private static final int WRITING = 1;
+  private static final int FULL = 2;
+
+  // Account IDs are version byte, 32-byte key and 2-byte checksum in base32
+  private static final int ACCOUNT_ID_LENGTH = 56;
+  private static final int ACCOUNT_ID_VERSION = 6 << 3;
+
+  private final int maxKeys;
+  private final int mask;
+  // Written once before the state of the slot is set to FULL
+  private final long[] keys;
+  private final AtomicIntegerArray states;
+  private final AtomicReferenceArray<V> values;
+  private final AtomicInteger keysCount = new AtomicInteger();
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * @param maxKeys maximum number of distinct keys
+   */
+  AccountKeyMap(int maxKeys) {
+    checkArgument(maxKeys > 0 && maxKeys <= MAX_KEYS, "maxKeys must be between 1 and 2^26");
+    int capacity = capacity(maxKeys);
+    this.maxKeys = maxKeys;
+    this.mask = capacity - 1;
+    this.keys = new long[capacity * KEY_LONGS];
+    this.states = new AtomicIntegerArray(capacity);
+    this.values = new AtomicReferenceArray<V>(capacity);
+  }
+
+  /**
+   * Returns number of slots of a map holding <code>maxKeys</code>. At most half of the slots are used, so probe
+   * sequences stay short.
+   */
+  static int capacity(int maxKeys) {
+    return Integer.highestOneBit(maxKeys) << 2;
+  }
+
+  /**
+   * Converts 32-byte public key to the key used by this map.
+   */
+  static long[] toKey(byte[] publicKey) {
+    checkArgument(publicKey.length == KEY_LONGS * 8, "publicKey must have 32 bytes");
+    long[] key = new long[KEY_LONGS];
+    for (int i = 0; i < publicKey.length; i++) {
+      key[i >> 3] = key[i >> 3] << 8 | (publicKey[i] & 0xff);
+    }
+    return key;
+  }
+
+  /**
+   * Decodes account ID (<code>G...</code>) into <code>key</code> without allocating. The checksum is not verified,
+   * IDs read from Horizon responses are valid and an invalid one can only fail to match.
+   * @return false when <code>accountId</code> is not an account ID
+   */
+  static boolean decodeAccountId(CharSequence accountId, long[] key) {
+    if (accountId.length() != ACCOUNT_ID_LENGTH) {
+      return false;
+    }
+    long bits = 0;
+    int bitsCount = 0;
+    int bytesCount = 0;
+    for (int i = 0; i < ACCOUNT_ID_LENGTH; i++) {
+      char c = accountId.charAt(i);
+      int value;
+      if (c >= 'A' && c <= 'Z') {
+        value = c - 'A';
+      } else if (c >= '2' && c <= '7') {
+        value = c - '2' + 26;
+      } else {
+        return false;
+      }
+      bits = bits << 5 | value;
+      bitsCount += 5;
+      if (bitsCount >= 8) {
+        bitsCount -= 8;
+        int b = (int) (bits >>> bitsCount) & 0xff;
+        bits &= (1L << bitsCount) - 1;
+        if (bytesCount == 0) {
+          if (b != ACCOUNT_ID_VERSION) {
+            return false;
+          }
+        } else if (bytesCount <= KEY_LONGS * 8) {
+          int index = (bytesCount - 1) >> 3;
+          key[index] = ((bytesCount - 1) & 7) == 0 ? b : key[index] << 8 | b;
+        }
+        bytesCount++;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns slot of <code>key</code>, or -1 when the key has never been added.
+   */
+  int find(long[] key) {
+    int slot = hash(key);
+    while (true) {
+      int state = states.get(slot);
+      if (state == EMPTY) {
+        return -1;
+      }
+      // A slot being written is not visible yet, it may still hold the key once written
+      if (state == FULL && keyEquals(slot, key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Returns value of <code>key</code>, or null.
+   */
+  V get(long[] key) {
+    int slot = find(key);
+    return slot >= 0 ? values.get(slot) : null;
+  }
+
+  /**
+   * Returns value in <code>slot</code>, or null.
+   */
+  V getAt(int slot) {
+    return values.get(slot);
+  }
+
+  /**
+   * Sets value of <code>key</code>.
+   * @return previous value, or null
+   * @throws IllegalStateException when the map already holds <code>maxKeys</code> other keys
+   */
+  V put(long[] key, V value) {
+    int slot = slotOf(key);
+    V previous = values.getAndSet(slot, value);
+    if (previous == null) {
+      size.incrementAndGet();
+    }
+    return previous;
+  }
+
+  /**
+   * Clears value of <code>key</code>.
+   * @return removed value, or null
+   */
+  V remove(long[] key) {
+    int slot = find(key);
+    if (slot < 0) {
+      return null;
+    }
+    V previous = values.getAndSet(slot, null);
+    if (previous != null) {
+      size.decrementAndGet();
+    }
+    return previous;
+  }
+
+  /**
+   * Returns number of keys with a value.
+   */
+  int size() {
+    return size.get();
+  }
+
+  // Finds or adds the slot of key
+  private int slotOf(long[] key) {
+    int slot = hash(key);
+    while (true) {
+      int state = states.get(slot);
+      if (state == EMPTY) {
+        if (keysCount.get() >= maxKeys) {
+          throw new IllegalStateException("Maximum number of accounts (" + maxKeys + ") reached.");
+        }
+        if (!states.compareAndSet(slot, EMPTY, WRITING)) {
+          continue;
+        }
+        // Concurrent adds can pass the limit by a few keys, there are at least twice as many slots
+        keysCount.incrementAndGet();
+        System.arraycopy(key, 0, keys, slot * KEY_LONGS, KEY_LONGS);
+        states.set(slot, FULL);
+        return slot;
+      }
+      if (state == WRITING) {
+        // The same key may be being added by another thread
+        Thread.yield();
+        continue;
+      }
+      if (keyEquals(slot, key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private boolean keyEquals(int slot, long[] key) {
+    int offset = slot * KEY_LONGS;
+    return keys[offset] == key[0] && keys[offset + 1] == key[1] && keys[offset + 2] == key[2] && keys[offset + 3] == key[3];
+  }
+
+  // Keys are uniformly distributed public keys, a part of one is a good hash
+  private int hash(long[] key) {
+    long h = key[1];
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,283 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Watches a large set of accounts using a single global stream of operations, payments or effects.
+ * <p>Instead of a stream per account, records of the global stream are matched against the watched accounts before
+ * they are deserialized: account fields (<code>source_account</code>, <code>account</code>, <code>from</code>,
+ * <code>to</code>, <code>funder</code>, <code>into</code>, <code>trustor</code>, <code>trustee</code>,
+ * <code>seller</code> and <code>inflation_dest</code>) are decoded to 32-byte keys and looked up in a primitive hash
+ * table. Only matching records are deserialized.</p>
+ * <p>Accounts can be watched and unwatched at any time from any thread without locking. A matching record is passed
+ * to the listener of every watched account it refers to. Records of one account are delivered in order, on one of
+ * the watcher's delivery threads; records of different accounts may be delivered concurrently. When a delivery thread
+ * falls behind, reading of the stream waits for it.</p>
+ * <p>When a listener throws, the watcher stops delivering to all accounts and closes the stream, the exception is
+ * returned by {@link #getFailure()}. Resume a new watcher from the last record your listeners handled.</p>
+ * <pre>
+ * AccountWatcher&lt;OperationResponse&gt; watcher = server.payments().cursor("now").watcher(100000);
+ * watcher.watch(account, listener);
+ * </pre>
+ * @param <T> type of records
+ */
+public class AccountWatcher<T extends Pageable> implements Closeable {
+  public static final int DEFAULT_LANES = 8;
+  public static final int DEFAULT_LANE_CAPACITY = 1024;
+
+  private static final Set<String> ACCOUNT_FIELDS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+          "source_account", "account", "from", "to", "funder", "into", "trustor", "trustee", "seller", "inflation_dest")));
+
+  private final AccountKeyMap<EventListener<? super T>> accounts;
+  private final List<Lane> lanes;
+  private final Matcher matcher = new Matcher();
+  private final SSEStream<T> stream;
+  private volatile RuntimeException failure;
+
+  /**
+   * @param httpClient client used to send requests
+   * @param uri global stream endpoint, ex. <code>/payments</code>
+   * @param type type of the records
+   * @param maxAccounts maximum number of distinct accounts watched over the life of the watcher
+   * @param lanesCount number of delivery threads
+   * @param laneCapacity maximum number of records waiting for each delivery thread
+   */
+  AccountWatcher(OkHttpClient httpClient, HttpUrl uri, TypeToken<T> type, int maxAccounts, int lanesCount,
+                 int laneCapacity) {
+    checkArgument(lanesCount > 0, "lanesCount must be positive");
+    this.accounts = new AccountKeyMap<EventListener<? super T>>(maxAccounts);
+    this.lanes = new ArrayList<Lane>(lanesCount);
+    for (int i = 0; i < lanesCount; i++) {
+      lanes.add(new Lane(laneCapacity));
+    }
+    this.stream = new SSEStream<T>(httpClient, uri, type, matcher, new EventListener<T>() {
+      @Override
+      public void onEvent(T record) {
+        dispatch(record);
+      }
+    }, null);
+  }
+
+  /**
+   * Starts delivery threads and connects the stream. Called once, by the request builder.
+   */
+  AccountWatcher<T> open() {
+    for (int i = 0; i < lanes.size(); i++) {
+      Thread thread = new Thread(lanes.get(i), "stellar-account-watcher-" + i);
+      thread.setDaemon(true);
+      thread.start();
+    }
+    stream.open();
+    return this;
+  }
+
+  /**
+   * Passes records referring to <code>account</code> to <code>listener</code>, replacing its previous listener.
+   * @param account account to watch
+   * @param listener listener receiving records of the account
+   * @return true when the account was not watched before
+   * @throws IllegalStateException when <code>maxAccounts</code> distinct accounts have already been watched
+   */
+  public boolean watch(KeyPair account, EventListener<? super T> listener) {
+    checkNotNull(account, "account cannot be null");
+    checkNotNull(listener, "listener cannot be null");
+    return accounts.put(AccountKeyMap.toKey(account.getPublicKey()), listener) == null;
+  }
+
+  /**
+   * Stops passing records referring to <code>account</code> to its listener. Records already waiting for delivery
+   * are dropped.
+   * @param account watched account
+   * @return true when the account was watched
+   */
+  public boolean unwatch(KeyPair account) {
+    checkNotNull(account, "account cannot be null");
+    return accounts.remove(AccountKeyMap.toKey(account.getPublicKey())) != null;
+  }
+
+  /**
+   * Returns number of watched accounts.
+   */
+  public int getWatchedCount() {
+    return accounts.size();
+  }
+
+  /**
+   * Returns the global stream.
+   */
+  public SSEStream<T> getStream() {
+    return stream;
+  }
+
+  /**
+   * Returns exception thrown by a listener, which stopped the watcher, or null.
+   */
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Closes the stream and stops delivery threads.
+   */
+  @Override
+  public void close() {
+    stream.close();
+    for (Lane lane : lanes) {
+      lane.buffer.close();
+    }
+  }
+
+  // Called by the stream right after the matcher accepted the record
+  private void dispatch(T record) {
+    if (failure != null) {
+      throw new ListenerFailedException(failure);
+    }
+    for (int i = 0; i < matcher.matchedCount; i++) {
+      int slot = matcher.matched[i];
+      EventListener<? super T> listener = accounts.getAt(slot);
+      if (listener != null) {
+        // Slot of an account never changes, so its records always go to the same lane
+        lanes.get(slot % lanes.size()).buffer.offer(new Delivery<T>(record, slot, listener));
+      }
+    }
+  }
+
+  /**
+   * Matches records against watched accounts and remembers the matched slots for {@link #dispatch(Pageable)}. The
+   * stream calls the filter and then its listener for each record on one thread at a time.
+   */
+  private final class Matcher extends RecordFilter {
+    private final long[] key = new long[AccountKeyMap.KEY_LONGS];
+    private final int[] matched = new int[ACCOUNT_FIELDS.size()];
+    private int matchedCount;
+
+    Matcher() {
+      super(Collections.<String, Set<String>>emptyMap());
+    }
+
+    @Override
+    public boolean matches(JsonObject record) {
+      matchedCount = 0;
+      for (String field : ACCOUNT_FIELDS) {
+        JsonElement value = record.get(field);
+        if (value != null && value.isJsonPrimitive()) {
+          match(value.getAsString());
+        }
+      }
+      return matchedCount > 0;
+    }
+
+    @Override
+    boolean matches(Reader json) {
+      matchedCount = 0;
+      JsonReader reader = new JsonReader(json);
+      try {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if (ACCOUNT_FIELDS.contains(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+            match(reader.nextString());
+          } else {
+            reader.skipValue();
+          }
+        }
+      } catch (IOException e) {
+        // Malformed records do not match
+        return false;
+      } catch (IllegalStateException e) {
+        return false;
+      }
+      return matchedCount > 0;
+    }
+
+    private void match(String accountId) {
+      if (!AccountKeyMap.decodeAccountId(accountId, key)) {
+        return;
+      }
+      int slot = accounts.find(key);
+      if (slot < 0 || accounts.getAt(slot) == null) {
+        return;
+      }
+      for (int i = 0; i < matchedCount; i++) {
+        if (matched[i] == slot) {
+          return;
+        }
+      }
+      matched[matchedCount++] = slot;
+    }
+  }
+
+  private synchronized void failed(RuntimeException e) {
+    if (failure == null) {
+      failure = e;
+    }
+    close();
+  }
+
+  private static final class Delivery<T> {
+    final T record;
+    final int slot;
+    final EventListener<? super T> listener;
+
+    Delivery(T record, int slot, EventListener<? super T> listener) {
+      this.record = record;
+      this.slot = slot;
+      this.listener = listener;
+    }
+  }
+
+  // Delivery thread with its queue
+  private final class Lane implements Runnable {
+    // How often an idle lane checks whether the watcher has been closed
+    private static final long IDLE_CHECK_INTERVAL = 100;
+
+    private final StreamBuffer<Delivery<T>> buffer;
+
+    Lane(int capacity) {
+      this.buffer = new StreamBuffer<Delivery<T>>(capacity, OverflowPolicy.BLOCK);
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!buffer.isClosed()) {
+          Delivery<T> delivery = buffer.poll(IDLE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+          // Skip records of accounts unwatched or rewatched with another listener since they were matched
+          if (delivery == null || accounts.getAt(delivery.slot) != delivery.listener) {
+            continue;
+          }
+          try {
+            delivery.listener.onEvent(delivery.record);
+          } catch (RuntimeException e) {
+            failed(e);
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
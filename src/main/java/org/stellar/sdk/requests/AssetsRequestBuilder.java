@@ -1,5 +1,7 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
@@ -9,6 +11,7 @@ import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.AssetResponse;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 public class AssetsRequestBuilder extends RequestBuilder {
     public AssetsRequestBuilder(OkHttpClient httpClient, HttpUrl serverURI) {
@@ -35,7 +38,103 @@ public class AssetsRequestBuilder extends RequestBuilder {
         return responseHandler.handleResponse(response);
     }
 
+    /**
+     * Requests specific <code>uri</code> asynchronously and returns a future of {@link Page} of {@link AssetResponse}.
+     * @param executor executor used to deserialize the response and complete the future
+     * @return future of {@link Page} of {@link AssetResponse}
+     */
+    public static ListenableFuture<Page<AssetResponse>> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+        TypeToken type = new TypeToken<Page<AssetResponse>>() {};
+        ResponseHandler<Page<AssetResponse>> responseHandler = new ResponseHandler<Page<AssetResponse>>(type);
+
+        Request request = new Request.Builder().get().url(uri).build();
+        return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+    }
+
     public Page<AssetResponse> execute() throws IOException, TooManyRequestsException {
         return this.execute(this.httpClient, this.buildUri());
     }
+
+    /**
+     * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+     * @return future of {@link Page} of {@link AssetResponse}
+     */
+    public ListenableFuture<Page<AssetResponse>> executeAsync() {
+        return this.executeAsync(MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Build and execute request asynchronously.
+     * @param executor executor used to deserialize the response and complete the future
+     * @return future of {@link Page} of {@link AssetResponse}
+     */
+    public ListenableFuture<Page<AssetResponse>> executeAsync(Executor executor) {
+        return this.executeAsync(this.httpClient, this.buildUri(), executor);
+    }
+
+    /**
+     * Requests specific <code>uri</code> and passes records of the returned page to <code>listener</code> one by one
+     * while the response is being read, so only a single {@link AssetResponse} is held in memory at a time.
+     * @param listener {@link EventListener} implementation with {@link AssetResponse} type
+     * @return links of the page, <code>next</code> link points to the following records
+     * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+     * @throws IOException
+     */
+    public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, EventListener<AssetResponse> listener) throws IOException, TooManyRequestsException {
+        return execute(httpClient, uri, null, listener);
+    }
+
+    /**
+     * Requests specific <code>uri</code> and passes records of the returned page matching <code>filter</code> to
+     * <code>listener</code> one by one while the response is being read. Other records are not deserialized.
+     * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+     * @param listener {@link EventListener} implementation with {@link AssetResponse} type
+     * @return links of the page, <code>next</code> link points to the following records
+     * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+     * @throws IOException
+     */
+    public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, RecordFilter filter, EventListener<AssetResponse> listener) throws IOException, TooManyRequestsException {
+        TypeToken type = new TypeToken<AssetResponse>() {};
+        RecordsHandler<AssetResponse> recordsHandler = new RecordsHandler<AssetResponse>(type, filter);
+
+        Request request = new Request.Builder().get().url(uri).build();
+        Response response = httpClient.newCall(request).execute();
+
+        return recordsHandler.handleResponse(response, listener);
+    }
+
+    /**
+     * Build and execute request, passing records to <code>listener</code> one by one while the response is being read.
+     * @param listener {@link EventListener} implementation with {@link AssetResponse} type
+     * @return links of the page, <code>next</code> link points to the following records
+     * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+     * @throws IOException
+     */
+    public Page.Links execute(EventListener<AssetResponse> listener) throws IOException, TooManyRequestsException {
+        return this.execute(null, listener);
+    }
+
+    /**
+     * Build and execute request, passing records matching <code>filter</code> to <code>listener</code> one by one
+     * while the response is being read.
+     * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+     * @param listener {@link EventListener} implementation with {@link AssetResponse} type
+     * @return links of the page, <code>next</code> link points to the following records
+     * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+     * @throws IOException
+     */
+    public Page.Links execute(RecordFilter filter, EventListener<AssetResponse> listener) throws IOException, TooManyRequestsException {
+        return this.execute(this.httpClient, this.buildUri(), filter, listener);
+    }
+
+    /**
+     * Returns all records matching this request, following <code>next</code> links of the pages.
+     * Next pages are requested in the background while records of the current page are consumed.
+     * @param prefetchPages maximum number of pages requested ahead of the page being consumed, at least 1
+     * @return {@link RecordsIterable} of {@link AssetResponse}
+     */
+    public RecordsIterable<AssetResponse> iterate(int prefetchPages) {
+        TypeToken type = new TypeToken<Page<AssetResponse>>() {};
+        return new RecordsIterable<AssetResponse>(this.httpClient, this.buildUri(), type, prefetchPages);
+    }
 }
@@ -0,0 +1,271 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Fetches all records of a collection from a range of ledgers using parallel requests.
+ * <p>Paging tokens of ledgers, transactions, operations and effects start with a 64-bit ID whose upper 32 bits are the
+ * ledger sequence. The range is split into partitions, cursor of each partition is derived from its first ledger and
+ * partitions are paged through concurrently. Records are delivered to the listener in exactly the same order as
+ * sequential paging would return them.</p>
+ * <p>Partitions ahead of the one being delivered keep fetching while the listener drains it. Pages they buffer are
+ * bounded by a budget shared by all partitions, see {@link #setMaxBufferedPages(int)}, so memory usage stays bounded
+ * even with a slow listener.</p>
+ * <p>Created by <code>backfill</code> method of {@link LedgersRequestBuilder}, {@link TransactionsRequestBuilder},
+ * {@link OperationsRequestBuilder} and {@link EffectsRequestBuilder}.</p>
+ * @param <T> type of records
+ */
+public class Backfill<T extends Pageable> {
+  public static final int DEFAULT_MAX_BUFFERED_PAGES = 256;
+
+  private final OkHttpClient httpClient;
+  private final HttpUrl uri;
+  private final TypeToken<Page<T>> type;
+  private final String cursorSuffix;
+  private final long startLedger;
+  private final long endLedger;
+  private int partitions; // 0 means four times the concurrency
+  private int concurrency = 4;
+  private int limit = 200;
+  private int maxBufferedPages = DEFAULT_MAX_BUFFERED_PAGES;
+  // Marks the end of records of a partition, compared by identity
+  private final List<T> endOfPartition = new ArrayList<T>(0);
+
+  /**
+   * @param cursorSuffix suffix of the cursor, ex. <code>-0</code> for effects
+   */
+  Backfill(OkHttpClient httpClient, HttpUrl uri, TypeToken<Page<T>> type, String cursorSuffix, long startLedger, long endLedger) {
+    this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
+    this.uri = checkNotNull(uri, "uri cannot be null");
+    this.type = checkNotNull(type, "type cannot be null");
+    this.cursorSuffix = checkNotNull(cursorSuffix, "cursorSuffix cannot be null");
+    checkArgument(startLedger > 0, "startLedger must be positive");
+    checkArgument(endLedger >= startLedger, "endLedger must not be lower than startLedger");
+    this.startLedger = startLedger;
+    this.endLedger = endLedger;
+  }
+
+  /**
+   * Sets number of partitions the ledger range is split into. Defaults to four times the concurrency.
+   * @param partitions number of partitions
+   * @return Backfill object so you can chain methods.
+   */
+  public Backfill<T> setPartitions(int partitions) {
+    checkArgument(partitions > 0, "partitions must be positive");
+    this.partitions = partitions;
+    return this;
+  }
+
+  /**
+   * Sets maximum number of concurrent requests. Defaults to 4.
+   * @param concurrency maximum number of concurrent requests
+   * @return Backfill object so you can chain methods.
+   */
+  public Backfill<T> setConcurrency(int concurrency) {
+    checkArgument(concurrency > 0, "concurrency must be positive");
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * Sets <code>limit</code> parameter of page requests. Defaults to 200.
+   * @param limit maximum number of records in a page
+   * @return Backfill object so you can chain methods.
+   */
+  public Backfill<T> setLimit(int limit) {
+    checkArgument(limit > 0, "limit must be positive");
+    this.limit = limit;
+    return this;
+  }
+
+  /**
+   * Sets maximum number of pages buffered by all partitions together while waiting for the listener.
+   * Defaults to {@link #DEFAULT_MAX_BUFFERED_PAGES}. The partition being delivered may buffer a page over the budget,
+   * so the listener is never starved.
+   * @param maxBufferedPages maximum number of buffered pages
+   * @return Backfill object so you can chain methods.
+   */
+  public Backfill<T> setMaxBufferedPages(int maxBufferedPages) {
+    checkArgument(maxBufferedPages > 0, "maxBufferedPages must be positive");
+    this.maxBufferedPages = maxBufferedPages;
+    return this;
+  }
+
+  /**
+   * Returns ledger sequence from paging token of ledger, transaction, operation or effect.
+   * @param pagingToken paging token
+   */
+  public static long ledgerOf(String pagingToken) {
+    checkNotNull(pagingToken, "pagingToken cannot be null");
+    int dash = pagingToken.indexOf('-');
+    String id = dash >= 0 ? pagingToken.substring(0, dash) : pagingToken;
+    return Long.parseLong(id) >>> 32;
+  }
+
+  /**
+   * Returns cursor pointing right before the first record of <code>ledger</code>.
+   */
+  String cursorFor(long ledger) {
+    return String.valueOf((ledger << 32) - 1) + cursorSuffix;
+  }
+
+  /**
+   * Fetches all records from the ledger range and passes them to <code>listener</code> in order, on the calling thread.
+   * @param listener listener receiving records
+   * @throws InterruptedException when the calling thread was interrupted
+   * @throws ErrorResponse, TooManyRequestsException or RuntimeException wrapping IOException when a request failed
+   */
+  public void run(EventListener<T> listener) throws InterruptedException {
+    checkNotNull(listener, "listener cannot be null");
+    long ledgers = endLedger - startLedger + 1;
+    int count = (int) Math.min(partitions > 0 ? partitions : concurrency * 4, ledgers);
+    long size = (ledgers + count - 1) / count;
+
+    final List<Partition> all = new ArrayList<Partition>();
+    for (long from = startLedger; from <= endLedger; from += size) {
+      all.add(new Partition(from, Math.min(from + size, endLedger + 1)));
+    }
+
+    final AtomicBoolean cancelled = new AtomicBoolean(false);
+    final PageBudget budget = new PageBudget(maxBufferedPages);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, all.size()));
+    try {
+      // Fixed thread pool runs partitions in submission order
+      for (final Partition partition : all) {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            partition.fetch(cancelled, budget);
+          }
+        });
+      }
+
+      for (Partition partition : all) {
+        budget.setHead(partition);
+        while (true) {
+          List<T> batch = partition.batches.take();
+          if (batch == endOfPartition) {
+            break;
+          }
+          for (T record : batch) {
+            listener.onEvent(record);
+          }
+          budget.release();
+        }
+        if (partition.error != null) {
+          throw partition.error;
+        }
+      }
+    } finally {
+      cancelled.set(true);
+      executor.shutdownNow();
+    }
+  }
+
+  // Pages buffered by all partitions, released once the listener received their records
+  private class PageBudget {
+    private final int max;
+    // Guarded by this
+    private int buffered;
+    private Partition head;
+
+    PageBudget(int max) {
+      this.max = max;
+    }
+
+    synchronized void acquire(Partition partition) throws InterruptedException {
+      // The partition being delivered may always buffer a page when it has none, otherwise partitions ahead of it
+      // could hold the whole budget while the listener waits for it
+      while (buffered >= max && !(partition == head && partition.batches.isEmpty())) {
+        wait();
+      }
+      buffered++;
+    }
+
+    synchronized void release() {
+      buffered--;
+      notifyAll();
+    }
+
+    synchronized void setHead(Partition partition) {
+      head = partition;
+      notifyAll();
+    }
+  }
+
+  private class Partition {
+    private final long fromLedger;
+    private final long toLedger; // exclusive
+    private final LinkedBlockingQueue<List<T>> batches = new LinkedBlockingQueue<List<T>>();
+    private volatile RuntimeException error;
+
+    Partition(long fromLedger, long toLedger) {
+      this.fromLedger = fromLedger;
+      this.toLedger = toLedger;
+    }
+
+    void fetch(AtomicBoolean cancelled, PageBudget budget) {
+      try {
+        ResponseHandler<Page<T>> responseHandler = new ResponseHandler<Page<T>>(type);
+        String cursor = cursorFor(fromLedger);
+        while (!cancelled.get()) {
+          HttpUrl pageUri = uri.newBuilder()
+                  .setQueryParameter("cursor", cursor)
+                  .setQueryParameter("order", RequestBuilder.Order.ASC.getValue())
+                  .setQueryParameter("limit", String.valueOf(limit))
+                  .build();
+          Request request = new Request.Builder().get().url(pageUri).tag(RequestPriority.LOW).build();
+          Response response = httpClient.newCall(request).execute();
+          List<T> records = responseHandler.handleResponse(response).getRecords();
+          if (records == null || records.isEmpty()) {
+            return;
+          }
+
+          List<T> batch = new ArrayList<T>(records.size());
+          for (T record : records) {
+            if (ledgerOf(record.getPagingToken()) >= toLedger) {
+              break;
+            }
+            batch.add(record);
+          }
+          if (!batch.isEmpty()) {
+            // Waits for the listener when partitions buffered the whole budget
+            budget.acquire(this);
+            batches.add(batch);
+          }
+          if (batch.size() < records.size()) {
+            return;
+          }
+          cursor = records.get(records.size() - 1).getPagingToken();
+        }
+      } catch (IOException e) {
+        error = new RuntimeException(e);
+      } catch (RuntimeException e) {
+        error = e;
+      } catch (InterruptedException e) {
+        // Cancelled, batches are not taken anymore
+        Thread.currentThread().interrupt();
+      } finally {
+        batches.add(endOfPartition);
+      }
+    }
+  }
+}
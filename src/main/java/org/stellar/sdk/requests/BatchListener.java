@@ -0,0 +1,15 @@
+package org.stellar.sdk.requests;
+
+import java.util.List;
+
+/**
+ * Receives records of a stream in batches.
+ * @see BatchingListener
+ */
+public interface BatchListener<T> {
+  /**
+   * Called with the next records of the stream, in order.
+   * @param batch records, never empty, owned by the listener
+   */
+  void onBatch(List<T> batch);
+}
@@ -0,0 +1,213 @@
+package org.stellar.sdk.requests;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link EventListener} collecting records into a bounded buffer and passing them to a {@link BatchListener} in
+ * batches, ex. to write them to a database in bulk.
+ * <p>A batch is delivered when it reaches <code>maxBatchSize</code> records or when <code>linger</code> has passed
+ * since its first record arrived. Batches are delivered in order on a dedicated daemon thread, so a slow batch listener
+ * never runs on the thread reading the stream. What happens when the buffer is full depends on
+ * {@link OverflowPolicy}.</p>
+ * <pre>
+ * BatchingListener&lt;OperationResponse&gt; batching = new BatchingListener.Builder&lt;OperationResponse&gt;(batchListener)
+ *         .setMaxBatchSize(500)
+ *         .setLinger(200, TimeUnit.MILLISECONDS)
+ *         .setOverflowPolicy(OverflowPolicy.BLOCK)
+ *         .build();
+ * SSEStream&lt;OperationResponse&gt; stream = server.payments().stream(batching);
+ * </pre>
+ * <p>Close the stream first and then this listener. Records buffered at that moment are still delivered.</p>
+ * <p>When the batch listener throws, delivery stops: the failed batch and the buffered records are not delivered and
+ * the exception is returned by {@link #getFailure()}. Following calls of {@link #onEvent(Object)} throw
+ * {@link ListenerFailedException}, which closes the stream, so a consumer committing after each batch resumes from
+ * the last batch it handled.</p>
+ * @param <T> type of records
+ */
+public class BatchingListener<T> implements EventListener<T>, Closeable {
+  // How often an idle delivery thread checks whether the listener has been closed
+  private static final long IDLE_CHECK_INTERVAL = 100;
+
+  private final StreamBuffer<T> buffer;
+  private final BatchListener<T> batchListener;
+  private final int maxBatchSize;
+  private final long lingerNanos;
+  private volatile RuntimeException failure;
+
+  private BatchingListener(BatchListener<T> batchListener, int bufferSize, OverflowPolicy overflowPolicy,
+                           int maxBatchSize, long lingerNanos) {
+    this.buffer = new StreamBuffer<T>(bufferSize, overflowPolicy);
+    this.batchListener = batchListener;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerNanos = lingerNanos;
+  }
+
+  private void start() {
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        deliver();
+      }
+    }, "stellar-batching-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Adds <code>record</code> to the buffer. Records arriving after {@link #close()} are ignored.
+   * @throws StreamOverflowException when the buffer is full and the policy is
+   *         {@link OverflowPolicy#DISCONNECT_AND_RESUME}
+   * @throws ListenerFailedException when the batch listener has thrown
+   */
+  @Override
+  public void onEvent(T record) {
+    if (failure == null && buffer.offer(record)) {
+      return;
+    }
+    // A failure closes the buffer, also while waiting for space
+    if (failure != null) {
+      throw new ListenerFailedException(failure);
+    }
+  }
+
+  /**
+   * Returns exception thrown by the batch listener, which stopped delivery, or null.
+   */
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Returns number of records dropped because the buffer was full.
+   */
+  public long getDroppedCount() {
+    return buffer.getDroppedCount();
+  }
+
+  /**
+   * Stops accepting records. Buffered records are delivered before the delivery thread stops.
+   */
+  @Override
+  public void close() {
+    buffer.close();
+  }
+
+  private void deliver() {
+    try {
+      while (true) {
+        T first = buffer.poll(IDLE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (buffer.isClosed() && buffer.isEmpty()) {
+            return;
+          }
+          continue;
+        }
+
+        List<T> batch = new ArrayList<T>(Math.min(maxBatchSize, 64));
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+          buffer.drainTo(batch, maxBatchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= maxBatchSize || remaining <= 0 || buffer.isClosed()) {
+            break;
+          }
+          // Wait in slices, so closing does not have to wait for linger
+          T next = buffer.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_CHECK_INTERVAL)), TimeUnit.NANOSECONDS);
+          if (next != null) {
+            batch.add(next);
+          }
+        }
+
+        try {
+          batchListener.onBatch(batch);
+        } catch (RuntimeException e) {
+          failure = e;
+          buffer.close();
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Builds new BatchingListener objects.
+   */
+  public static class Builder<T> {
+    private final BatchListener<T> mBatchListener;
+    private int mBufferSize = 10000;
+    private OverflowPolicy mOverflowPolicy = OverflowPolicy.BLOCK;
+    private int mMaxBatchSize = 100;
+    private long mLingerNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Creates a new BatchingListener builder.
+     * @param batchListener listener receiving batches of records
+     */
+    public Builder(BatchListener<T> batchListener) {
+      mBatchListener = checkNotNull(batchListener, "batchListener cannot be null");
+    }
+
+    /**
+     * Sets maximum number of buffered records. Defaults to 10000.
+     * @param bufferSize buffer capacity
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setBufferSize(int bufferSize) {
+      checkArgument(bufferSize > 0, "bufferSize must be positive");
+      mBufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets what happens when a record arrives and the buffer is full. Defaults to {@link OverflowPolicy#BLOCK}.
+     * @param overflowPolicy overflow policy
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setOverflowPolicy(OverflowPolicy overflowPolicy) {
+      mOverflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets maximum number of records in a batch. Defaults to 100.
+     * @param maxBatchSize maximum batch size
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setMaxBatchSize(int maxBatchSize) {
+      checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+      mMaxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets how long a batch waits for more records after its first record arrived. Defaults to 100 ms.
+     * @param linger maximum waiting time, 0 to deliver records available at the moment right away
+     * @param unit unit of <code>linger</code>
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setLinger(long linger, TimeUnit unit) {
+      checkArgument(linger >= 0, "linger must be non-negative");
+      mLingerNanos = checkNotNull(unit, "unit cannot be null").toNanos(linger);
+      return this;
+    }
+
+    /**
+     * Builds a listener and starts its delivery thread.
+     */
+    public BatchingListener<T> build() {
+      BatchingListener<T> listener = new BatchingListener<T>(mBatchListener, mBufferSize, mOverflowPolicy,
+              mMaxBatchSize, mLingerNanos);
+      listener.start();
+      return listener;
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Durable store of the last committed paging token of named streams and backfills, so consumers can resume where
+ * they stopped after a restart.
+ * <p>Tokens are kept in a small memory-mapped file. {@link #commit(String, String)} only writes to the mapped
+ * memory, the file is synced to disk at most once per <code>flushInterval</code> and when the store is closed, so
+ * committing after every record costs almost nothing. Each name has two copies of its entry protected by a
+ * checksum and written alternately, so an entry torn by a crash falls back to the previous token.</p>
+ * <p>Commit after records have been handled: a restarted consumer then sees every record at least once, records
+ * committed within the last <code>flushInterval</code> before a crash are seen twice.</p>
+ * <pre>
+ * CheckpointStore checkpoints = new CheckpointStore(new File("checkpoints.dat"));
+ * String cursor = checkpoints.get("payments");
+ * server.payments().cursor(cursor != null ? cursor : "now").stream(checkpoints.committing("payments", listener));
+ * </pre>
+ * <p>This class is thread-safe. A file must not be opened by more than one store at a time.</p>
+ */
+public class CheckpointStore implements Closeable {
+  public static final int DEFAULT_CAPACITY = 256;
+  public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+  public static final int MAX_NAME_LENGTH = 100;
+  public static final int MAX_TOKEN_LENGTH = 100;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final int MAGIC = 0x53434b50;
+  private static final int HEADER_SIZE = 16;
+  // sequence, name length, name, token length, token, checksum
+  private static final int COPY_SIZE = 256;
+  private static final int CONTENT_SIZE = 8 + 2 + MAX_NAME_LENGTH + 2 + MAX_TOKEN_LENGTH;
+  private static final int SLOT_SIZE = 2 * COPY_SIZE;
+
+  private final RandomAccessFile file;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final ScheduledExecutorService flusher;
+  // Guarded by this
+  private final Map<String, Entry> entries = new HashMap<String, Entry>();
+  private int nextSlot;
+  private boolean dirty;
+  private boolean closed;
+
+  /**
+   * Opens store in <code>file</code> with default capacity, syncing it to disk every second.
+   * @param file file of the store, created when it does not exist
+   */
+  public CheckpointStore(File file) throws IOException {
+    this(file, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens store in <code>file</code>.
+   * @param file file of the store, created when it does not exist
+   * @param capacity maximum number of names, used only when the file is created
+   * @param flushInterval maximum time between a commit and syncing it to disk
+   * @param unit unit of <code>flushInterval</code>
+   */
+  public CheckpointStore(File file, int capacity, long flushInterval, TimeUnit unit) throws IOException {
+    checkNotNull(file, "file cannot be null");
+    checkArgument(capacity > 0, "capacity must be positive");
+    checkArgument(flushInterval > 0, "flushInterval must be positive");
+    checkNotNull(unit, "unit cannot be null");
+
+    this.file = new RandomAccessFile(file, "rw");
+    try {
+      if (this.file.length() >= HEADER_SIZE) {
+        if (this.file.readInt() != MAGIC) {
+          throw new IOException("Not a checkpoint store: " + file);
+        }
+        capacity = this.file.readInt();
+      }
+      this.capacity = capacity;
+      this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    } catch (IOException e) {
+      this.file.close();
+      throw e;
+    }
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, capacity);
+    load();
+
+    flusher = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stellar-checkpoint-flusher").build());
+    flusher.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        flush();
+      }
+    }, flushInterval, flushInterval, unit);
+  }
+
+  private void load() {
+    byte[] content = new byte[CONTENT_SIZE];
+    for (int slot = 0; slot < capacity; slot++) {
+      for (int copy = 0; copy < 2; copy++) {
+        int offset = HEADER_SIZE + slot * SLOT_SIZE + copy * COPY_SIZE;
+        ByteBuffer view = (ByteBuffer) buffer.duplicate().position(offset);
+        view.get(content);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if ((int) crc.getValue() != view.getInt()) {
+          continue;
+        }
+        ByteBuffer entry = ByteBuffer.wrap(content);
+        long sequence = entry.getLong();
+        String name = readString(entry, MAX_NAME_LENGTH);
+        String token = readString(entry, MAX_TOKEN_LENGTH);
+        if (name == null || token == null) {
+          continue;
+        }
+        Entry current = entries.get(name);
+        if (current == null || current.sequence < sequence) {
+          entries.put(name, new Entry(slot, sequence, token));
+        }
+        nextSlot = slot + 1;
+      }
+    }
+  }
+
+  // Returns null when the length is invalid
+  private static String readString(ByteBuffer entry, int maxLength) {
+    int length = entry.getShort();
+    if (length <= 0 || length > maxLength) {
+      return null;
+    }
+    String value = new String(entry.array(), entry.position(), length, UTF_8);
+    entry.position(entry.position() + maxLength);
+    return value;
+  }
+
+  /**
+   * Returns last committed paging token of <code>name</code>, or null.
+   */
+  public synchronized String get(String name) {
+    checkNotNull(name, "name cannot be null");
+    Entry entry = entries.get(name);
+    return entry != null ? entry.token : null;
+  }
+
+  /**
+   * Commits <code>pagingToken</code> as the last handled token of <code>name</code>. The token is synced to disk
+   * within <code>flushInterval</code>.
+   * @param name name of the stream or backfill, at most {@link #MAX_NAME_LENGTH} bytes in UTF-8
+   * @param pagingToken paging token of the last handled record, at most {@link #MAX_TOKEN_LENGTH} bytes in UTF-8
+   * @throws IllegalStateException when the store is full or closed
+   */
+  public synchronized void commit(String name, String pagingToken) {
+    checkNotNull(name, "name cannot be null");
+    checkNotNull(pagingToken, "pagingToken cannot be null");
+    byte[] nameBytes = name.getBytes(UTF_8);
+    byte[] tokenBytes = pagingToken.getBytes(UTF_8);
+    checkArgument(nameBytes.length > 0 && nameBytes.length <= MAX_NAME_LENGTH, "name must have 1 to 100 bytes");
+    checkArgument(tokenBytes.length > 0 && tokenBytes.length <= MAX_TOKEN_LENGTH, "pagingToken must have 1 to 100 bytes");
+    if (closed) {
+      throw new IllegalStateException("CheckpointStore has been closed.");
+    }
+
+    Entry entry = entries.get(name);
+    if (entry == null) {
+      if (nextSlot >= capacity) {
+        throw new IllegalStateException("CheckpointStore is full (" + capacity + " names).");
+      }
+      entry = new Entry(nextSlot++, 0, null);
+      entries.put(name, entry);
+    } else if (pagingToken.equals(entry.token)) {
+      return;
+    }
+    entry.sequence++;
+    entry.token = pagingToken;
+
+    ByteBuffer content = ByteBuffer.allocate(CONTENT_SIZE);
+    content.putLong(entry.sequence);
+    content.putShort((short) nameBytes.length).put(nameBytes).position(8 + 2 + MAX_NAME_LENGTH);
+    content.putShort((short) tokenBytes.length).put(tokenBytes);
+    CRC32 crc = new CRC32();
+    crc.update(content.array());
+    // The copy not holding the previous token
+    int offset = HEADER_SIZE + entry.slot * SLOT_SIZE + (int) (entry.sequence & 1) * COPY_SIZE;
+    ByteBuffer view = (ByteBuffer) buffer.duplicate().position(offset);
+    view.put(content.array()).putInt((int) crc.getValue());
+    dirty = true;
+  }
+
+  /**
+   * Returns {@link EventListener} passing records to <code>listener</code> and committing paging token of each
+   * record after the listener returns.
+   * @param name name of the stream or backfill
+   * @param listener listener handling records
+   */
+  public <T extends Pageable> EventListener<T> committing(final String name, final EventListener<T> listener) {
+    checkNotNull(name, "name cannot be null");
+    checkNotNull(listener, "listener cannot be null");
+    return new EventListener<T>() {
+      @Override
+      public void onEvent(T record) {
+        listener.onEvent(record);
+        String pagingToken = record.getPagingToken();
+        if (pagingToken != null) {
+          commit(name, pagingToken);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns {@link BatchListener} passing batches to <code>listener</code> and committing paging token of the last
+   * record of each batch after the listener returns.
+   * <p>Once <code>listener</code> has thrown, the returned listener rethrows its exception and later batches are
+   * neither passed nor committed, so the committed token never moves past a failed batch. Use it with
+   * {@link BatchingListener}, which stops delivery at the failure.</p>
+   * @param name name of the stream or backfill
+   * @param listener listener handling batches
+   */
+  public <T extends Pageable> BatchListener<T> committing(final String name, final BatchListener<T> listener) {
+    checkNotNull(name, "name cannot be null");
+    checkNotNull(listener, "listener cannot be null");
+    return new BatchListener<T>() {
+      private volatile RuntimeException failure;
+
+      @Override
+      public void onBatch(List<T> records) {
+        if (failure != null) {
+          throw new ListenerFailedException(failure);
+        }
+        try {
+          listener.onBatch(records);
+        } catch (RuntimeException e) {
+          failure = e;
+          throw e;
+        }
+        for (int i = records.size() - 1; i >= 0; i--) {
+          String pagingToken = records.get(i).getPagingToken();
+          if (pagingToken != null) {
+            commit(name, pagingToken);
+            return;
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Syncs committed tokens to disk now.
+   */
+  public void flush() {
+    synchronized (this) {
+      if (!dirty) {
+        return;
+      }
+      dirty = false;
+    }
+    // Commits may write while syncing, a torn entry is detected by its checksum
+    buffer.force();
+  }
+
+  /**
+   * Syncs committed tokens to disk and closes the file.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      dirty = true;
+    }
+    flusher.shutdown();
+    flush();
+    file.close();
+  }
+
+  private static final class Entry {
+    final int slot;
+    long sequence;
+    String token;
+
+    Entry(int slot, long sequence, String token) {
+      this.slot = slot;
+      this.sequence = sequence;
+      this.token = token;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.stellar.sdk.requests;
+
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transactions, operations and effects of one ledger, ordered by paging token.
+ * @see LedgerBatcher
+ */
+public final class LedgerBatch {
+  private final long sequence;
+  private final LedgerResponse ledger;
+  private final List<TransactionResponse> transactions;
+  private final List<OperationResponse> operations;
+  private final List<EffectResponse> effects;
+
+  LedgerBatch(long sequence, LedgerResponse ledger, List<TransactionResponse> transactions,
+              List<OperationResponse> operations, List<EffectResponse> effects) {
+    this.sequence = sequence;
+    this.ledger = ledger;
+    this.transactions = Collections.unmodifiableList(transactions);
+    this.operations = Collections.unmodifiableList(operations);
+    this.effects = Collections.unmodifiableList(effects);
+  }
+
+  /**
+   * Returns ledger sequence.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Returns the ledger, or null when it was not received from the ledgers stream.
+   */
+  public LedgerResponse getLedger() {
+    return ledger;
+  }
+
+  public List<TransactionResponse> getTransactions() {
+    return transactions;
+  }
+
+  public List<OperationResponse> getOperations() {
+    return operations;
+  }
+
+  public List<EffectResponse> getEffects() {
+    return effects;
+  }
+
+  /**
+   * Returns true when the batch has no records.
+   */
+  public boolean isEmpty() {
+    return transactions.isEmpty() && operations.isEmpty() && effects.isEmpty();
+  }
+}
@@ -0,0 +1,13 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Receives records grouped by ledger.
+ * @see LedgerBatcher
+ */
+public interface LedgerBatchListener {
+  /**
+   * Called with records of the next closed ledger, in order of ledger sequences.
+   * @param batch records of the ledger
+   */
+  void onLedger(LedgerBatch batch);
+}
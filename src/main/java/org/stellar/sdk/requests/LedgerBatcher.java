@@ -0,0 +1,328 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Pageable;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Groups records of transaction, operation and effect streams by ledger and passes one batch per closed ledger to a
+ * {@link LedgerBatchListener}, so downstream jobs can commit once per ledger instead of once per record.
+ * <p>The ledger of a record is read from its paging token. Records of the ledgers stream passed to
+ * {@link #ledgers()} signal that a ledger has been closed. A closed ledger is complete when every input stream in
+ * use has either delivered a record from a later ledger, delivered as many records as the ledger's transaction or
+ * operation count, or when <code>closeDelay</code> has passed since the ledger was closed, whichever happens first.
+ * Batches are passed in order of ledger sequences on a dedicated daemon thread; ledgers without records are passed
+ * too.</p>
+ * <pre>
+ * LedgerBatcher batcher = new LedgerBatcher.Builder(listener).build();
+ * server.transactions().cursor("now").stream(batcher.transactions());
+ * server.operations().cursor("now").stream(batcher.operations());
+ * server.ledgers().cursor("now").stream(batcher.ledgers());
+ * </pre>
+ * <p>Obtain the listeners of all inputs before opening the streams. Records arriving after the batch of their ledger
+ * has been passed are dropped and counted in {@link #getLateCount()}.</p>
+ * <p>When the listener throws, the batcher stops without passing later ledgers, so a listener committing once per
+ * ledger resumes from the last ledger it committed. {@link #getFailure()} returns the exception and the input
+ * listeners throw {@link ListenerFailedException}, which closes their streams.</p>
+ */
+public class LedgerBatcher implements Closeable {
+  // How often ledgers waiting for closeDelay are checked
+  private static final long CHECK_INTERVAL = 100;
+
+  private final LedgerBatchListener listener;
+  private final long closeDelayNanos;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stellar-ledger-batcher").build());
+  private final Runnable emitTask = new Runnable() {
+    @Override
+    public void run() {
+      emitReady();
+    }
+  };
+  // Guarded by this
+  private final TreeMap<Long, Entry> entries = new TreeMap<Long, Entry>();
+  private final Input<TransactionResponse> transactions = new Input<TransactionResponse>();
+  private final Input<OperationResponse> operations = new Input<OperationResponse>();
+  private final Input<EffectResponse> effects = new Input<EffectResponse>();
+  private long lastEmitted = -1;
+  private long lateCount;
+  private boolean closed;
+  private volatile RuntimeException failure;
+
+  private LedgerBatcher(LedgerBatchListener listener, long closeDelayNanos) {
+    this.listener = listener;
+    this.closeDelayNanos = closeDelayNanos;
+  }
+
+  private void start() {
+    executor.scheduleWithFixedDelay(emitTask, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns listener for the ledgers stream, signalling closed ledgers.
+   */
+  public EventListener<LedgerResponse> ledgers() {
+    return new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        closed(ledger);
+      }
+    };
+  }
+
+  /**
+   * Returns listener for a transactions stream.
+   */
+  public synchronized EventListener<TransactionResponse> transactions() {
+    transactions.used = true;
+    return transactions;
+  }
+
+  /**
+   * Returns listener for an operations or payments stream.
+   */
+  public synchronized EventListener<OperationResponse> operations() {
+    operations.used = true;
+    return operations;
+  }
+
+  /**
+   * Returns listener for an effects stream.
+   */
+  public synchronized EventListener<EffectResponse> effects() {
+    effects.used = true;
+    return effects;
+  }
+
+  /**
+   * Returns number of records dropped because the batch of their ledger had already been passed.
+   */
+  public synchronized long getLateCount() {
+    return lateCount;
+  }
+
+  /**
+   * Returns exception thrown by the listener, which stopped the batcher, or null.
+   */
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Stops passing batches. Records of ledgers not passed yet are discarded.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+      entries.clear();
+    }
+    executor.shutdown();
+  }
+
+  private void closed(LedgerResponse ledger) {
+    checkNotFailed();
+    long sequence = ledger.getSequence();
+    synchronized (this) {
+      if (closed || sequence <= lastEmitted) {
+        return;
+      }
+      long now = System.nanoTime();
+      Entry entry = entry(sequence);
+      entry.ledger = ledger;
+      entry.closedAt = now;
+      // Ledgers missed by the ledgers stream are closed too
+      for (Entry earlier : entries.headMap(sequence).values()) {
+        if (earlier.closedAt == 0) {
+          earlier.closedAt = now;
+        }
+      }
+    }
+    emitLater();
+  }
+
+  private <T extends Pageable> void received(Input<T> input, T record) {
+    checkNotFailed();
+    long sequence;
+    try {
+      sequence = Backfill.ledgerOf(record.getPagingToken());
+    } catch (RuntimeException e) {
+      // Not a record of a ledger
+      return;
+    }
+    boolean check;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (sequence <= lastEmitted) {
+        lateCount++;
+        return;
+      }
+      Entry entry = entry(sequence);
+      input.records(entry).add(record);
+      check = sequence > input.lastLedger || entry.closedAt != 0;
+      input.lastLedger = Math.max(input.lastLedger, sequence);
+    }
+    if (check) {
+      emitLater();
+    }
+  }
+
+  private void checkNotFailed() {
+    if (failure != null) {
+      throw new ListenerFailedException(failure);
+    }
+  }
+
+  private Entry entry(long sequence) {
+    Entry entry = entries.get(sequence);
+    if (entry == null) {
+      entry = new Entry();
+      entries.put(sequence, entry);
+    }
+    return entry;
+  }
+
+  private void emitLater() {
+    try {
+      executor.execute(emitTask);
+    } catch (RejectedExecutionException e) {
+      // Closed
+    }
+  }
+
+  // Runs on the executor thread only, so batches are passed in order
+  private void emitReady() {
+    while (true) {
+      LedgerBatch batch;
+      synchronized (this) {
+        batch = pollReady(System.nanoTime());
+      }
+      if (batch == null) {
+        return;
+      }
+      try {
+        listener.onLedger(batch);
+      } catch (RuntimeException e) {
+        failure = e;
+        close();
+        return;
+      }
+    }
+  }
+
+  private LedgerBatch pollReady(long now) {
+    if (closed || entries.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, Entry> first = entries.firstEntry();
+    long sequence = first.getKey();
+    Entry entry = first.getValue();
+    if (entry.closedAt == 0) {
+      return null;
+    }
+    if (now - entry.closedAt < closeDelayNanos) {
+      Integer transactionCount = entry.ledger != null ? entry.ledger.getTransactionCount() : null;
+      Integer operationCount = entry.ledger != null ? entry.ledger.getOperationCount() : null;
+      if (!transactions.isComplete(sequence, entry.transactions, transactionCount)
+              || !operations.isComplete(sequence, entry.operations, operationCount)
+              || !effects.isComplete(sequence, entry.effects, null)) {
+        return null;
+      }
+    }
+    entries.remove(sequence);
+    lastEmitted = sequence;
+    Collections.sort(entry.transactions, PagingTokens.BY_PAGING_TOKEN);
+    Collections.sort(entry.operations, PagingTokens.BY_PAGING_TOKEN);
+    Collections.sort(entry.effects, PagingTokens.BY_PAGING_TOKEN);
+    return new LedgerBatch(sequence, entry.ledger, entry.transactions, entry.operations, entry.effects);
+  }
+
+  private static final class Entry {
+    LedgerResponse ledger;
+    // Time the ledger was closed, 0 while open
+    long closedAt;
+    final List<TransactionResponse> transactions = new ArrayList<TransactionResponse>();
+    final List<OperationResponse> operations = new ArrayList<OperationResponse>();
+    final List<EffectResponse> effects = new ArrayList<EffectResponse>();
+  }
+
+  // Input stream, state guarded by the batcher
+  private final class Input<T extends Pageable> implements EventListener<T> {
+    boolean used;
+    long lastLedger = -1;
+
+    @Override
+    public void onEvent(T record) {
+      received(this, record);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> records(Entry entry) {
+      if (this == transactions) {
+        return (List<T>) entry.transactions;
+      }
+      return (List<T>) (this == operations ? entry.operations : entry.effects);
+    }
+
+    boolean isComplete(long sequence, List<?> records, Integer expectedCount) {
+      return !used || lastLedger > sequence || (expectedCount != null && records.size() >= expectedCount);
+    }
+  }
+
+  /**
+   * Builds new LedgerBatcher objects.
+   */
+  public static class Builder {
+    private final LedgerBatchListener mListener;
+    private long mCloseDelayNanos = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Creates a new LedgerBatcher builder.
+     * @param listener listener receiving batches
+     */
+    public Builder(LedgerBatchListener listener) {
+      mListener = checkNotNull(listener, "listener cannot be null");
+    }
+
+    /**
+     * Sets maximum time a closed ledger waits for records of input streams. Defaults to 10 seconds.
+     * @param closeDelay maximum waiting time
+     * @param unit unit of <code>closeDelay</code>
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setCloseDelay(long closeDelay, TimeUnit unit) {
+      checkArgument(closeDelay >= 0, "closeDelay must be non-negative");
+      mCloseDelayNanos = checkNotNull(unit, "unit cannot be null").toNanos(closeDelay);
+      return this;
+    }
+
+    /**
+     * Builds a batcher and starts its delivery thread.
+     */
+    public LedgerBatcher build() {
+      LedgerBatcher batcher = new LedgerBatcher(mListener, mCloseDelayNanos);
+      batcher.start();
+      return batcher;
+    }
+  }
+}
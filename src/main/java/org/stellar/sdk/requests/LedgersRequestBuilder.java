@@ -1,23 +1,21 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
-import org.glassfish.jersey.media.sse.EventSource;
-import org.glassfish.jersey.media.sse.InboundEvent;
-import org.glassfish.jersey.media.sse.SseFeature;
-import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LazyResponse;
 import org.stellar.sdk.responses.LedgerResponse;
 import org.stellar.sdk.responses.Page;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.WebTarget;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Builds requests connected to ledgers.
@@ -53,6 +51,38 @@ public class LedgersRequestBuilder extends RequestBuilder {
     return this.ledger(this.buildUri());
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link LedgerResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   */
+  public ListenableFuture<LedgerResponse> ledgerAsync(HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<LedgerResponse>() {};
+    ResponseHandler<LedgerResponse> responseHandler = new ResponseHandler<LedgerResponse>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
+  /**
+   * Requests <code>GET /ledgers/{ledgerSeq}</code> asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @see <a href="https://www.stellar.org/developers/horizon/reference/ledgers-single.html">Ledger Details</a>
+   * @param ledgerSeq Ledger to fetch
+   */
+  public ListenableFuture<LedgerResponse> ledgerAsync(long ledgerSeq) {
+    return this.ledgerAsync(ledgerSeq, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Requests <code>GET /ledgers/{ledgerSeq}</code> asynchronously.
+   * @see <a href="https://www.stellar.org/developers/horizon/reference/ledgers-single.html">Ledger Details</a>
+   * @param ledgerSeq Ledger to fetch
+   * @param executor executor used to deserialize the response and complete the future
+   */
+  public ListenableFuture<LedgerResponse> ledgerAsync(long ledgerSeq, Executor executor) {
+    this.setSegments("ledgers", String.valueOf(ledgerSeq));
+    return this.ledgerAsync(this.buildUri(), executor);
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link Page} of {@link LedgerResponse}.
    * This method is helpful for getting the next set of results.
@@ -70,6 +100,19 @@ public class LedgersRequestBuilder extends RequestBuilder {
     return responseHandler.handleResponse(response);
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link Page} of {@link LedgerResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link LedgerResponse}
+   */
+  public static ListenableFuture<Page<LedgerResponse>> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<Page<LedgerResponse>>() {};
+    ResponseHandler<Page<LedgerResponse>> responseHandler = new ResponseHandler<Page<LedgerResponse>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
   /**
    * Allows to stream SSE events from horizon.
    * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
@@ -78,23 +121,60 @@ public class LedgersRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
-   */
-  public EventSource stream(final EventListener<LedgerResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri().uri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        LedgerResponse ledger = GsonSingleton.getInstance().fromJson(data, LedgerResponse.class);
-        listener.onEvent(ledger);
-      }
-    };
-    return eventSource;
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<LedgerResponse> stream(final EventListener<LedgerResponse> listener) {
+    return this.stream(null, listener);
+  }
+
+  /**
+   * Allows to stream SSE events from horizon, passing only events matching <code>filter</code>.
+   * Events that do not match are skipped without being deserialized.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<LedgerResponse> stream(final RecordFilter filter, final EventListener<LedgerResponse> listener) {
+    return this.stream(filter, listener, null);
+  }
+
+  /**
+   * Allows to stream SSE events from horizon, passing only events matching <code>filter</code> and reporting
+   * connection state changes to <code>lifecycleListener</code>.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @param lifecycleListener listener of connection state changes, can be null
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<LedgerResponse> stream(RecordFilter filter, EventListener<LedgerResponse> listener, StreamLifecycleListener lifecycleListener) {
+    TypeToken type = new TypeToken<LedgerResponse>() {};
+    return new SSEStream<LedgerResponse>(this.httpClient, this.buildUri(), type, filter, listener, lifecycleListener).open();
+  }
+
+  /**
+   * Subscribes to SSE events from horizon through <code>hub</code>, sharing a single connection with other
+   * subscribers of the same stream.
+   * @param hub hub managing shared streams
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return {@link StreamHub.Subscription} object, so you can <code>close()</code> it when not needed anymore
+   */
+  public StreamHub.Subscription subscribe(StreamHub hub, EventListener<LedgerResponse> listener) {
+    checkNotNull(hub, "hub cannot be null");
+    TypeToken type = new TypeToken<LedgerResponse>() {};
+    return hub.subscribe(this.httpClient, this.buildUri(), type, listener);
+  }
+
+  /**
+   * Returns {@link StreamPublisher} of SSE events from horizon with demand-driven flow control. The stream is
+   * opened when the publisher is subscribed to.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param bufferSize maximum number of records buffered until requested by the subscriber
+   * @param overflowPolicy what happens when a record arrives and the buffer is full
+   * @return {@link StreamPublisher} of {@link LedgerResponse}
+   */
+  public StreamPublisher<LedgerResponse> publisher(RecordFilter filter, int bufferSize, OverflowPolicy overflowPolicy) {
+    TypeToken type = new TypeToken<LedgerResponse>() {};
+    return new StreamPublisher<LedgerResponse>(this.httpClient, this.buildUri(), type, filter, bufferSize, overflowPolicy);
   }
 
   /**
@@ -107,6 +187,127 @@ public class LedgersRequestBuilder extends RequestBuilder {
     return this.execute(this.httpClient, this.buildUri());
   }
 
+  /**
+   * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @return future of {@link Page} of {@link LedgerResponse}
+   */
+  public ListenableFuture<Page<LedgerResponse>> executeAsync() {
+    return this.executeAsync(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Build and execute request asynchronously.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link LedgerResponse}
+   */
+  public ListenableFuture<Page<LedgerResponse>> executeAsync(Executor executor) {
+    return this.executeAsync(this.httpClient, this.buildUri(), executor);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page to <code>listener</code> one by one
+   * while the response is being read, so only a single {@link LedgerResponse} is held in memory at a time.
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, EventListener<LedgerResponse> listener) throws IOException, TooManyRequestsException {
+    return execute(httpClient, uri, null, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page matching <code>filter</code> to
+   * <code>listener</code> one by one while the response is being read. Other records are not deserialized.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, RecordFilter filter, EventListener<LedgerResponse> listener) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<LedgerResponse>() {};
+    RecordsHandler<LedgerResponse> recordsHandler = new RecordsHandler<LedgerResponse>(type, filter);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return recordsHandler.handleResponse(response, listener);
+  }
+
+  /**
+   * Build and execute request, passing records to <code>listener</code> one by one while the response is being read.
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(EventListener<LedgerResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(null, listener);
+  }
+
+  /**
+   * Build and execute request, passing records matching <code>filter</code> to <code>listener</code> one by one
+   * while the response is being read.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(RecordFilter filter, EventListener<LedgerResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(this.httpClient, this.buildUri(), filter, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and returns {@link Page} of {@link LazyResponse}s of {@link LedgerResponse}.
+   * Records are kept as raw JSON and their fields are parsed on first access.
+   * @return {@link Page} of {@link LazyResponse}s of {@link LedgerResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page<LazyResponse<LedgerResponse>> executeLazy(OkHttpClient httpClient, HttpUrl uri) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<Page<LazyResponse<LedgerResponse>>>() {};
+    ResponseHandler<Page<LazyResponse<LedgerResponse>>> responseHandler = new ResponseHandler<Page<LazyResponse<LedgerResponse>>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return responseHandler.handleResponse(response);
+  }
+
+  /**
+   * Build and execute request, keeping records as raw JSON parsed on demand.
+   * @return {@link Page} of {@link LazyResponse}s of {@link LedgerResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page<LazyResponse<LedgerResponse>> executeLazy() throws IOException, TooManyRequestsException {
+    return this.executeLazy(this.httpClient, this.buildUri());
+  }
+
+  /**
+   * Returns all records matching this request, following <code>next</code> links of the pages.
+   * Next pages are requested in the background while records of the current page are consumed.
+   * @param prefetchPages maximum number of pages requested ahead of the page being consumed, at least 1
+   * @return {@link RecordsIterable} of {@link LedgerResponse}
+   */
+  public RecordsIterable<LedgerResponse> iterate(int prefetchPages) {
+    TypeToken type = new TypeToken<Page<LedgerResponse>>() {};
+    return new RecordsIterable<LedgerResponse>(this.httpClient, this.buildUri(), type, prefetchPages);
+  }
+
+  /**
+   * Returns {@link Backfill} fetching ledgers from ledgers <code>startLedger</code> to <code>endLedger</code>
+   * (inclusive) with parallel requests. Cursor and order set in this builder are ignored.
+   * @param startLedger first ledger of the range
+   * @param endLedger last ledger of the range
+   */
+  public Backfill<LedgerResponse> backfill(long startLedger, long endLedger) {
+    TypeToken type = new TypeToken<Page<LedgerResponse>>() {};
+    return new Backfill<LedgerResponse>(this.httpClient, this.buildUri(), type, "", startLedger, endLedger);
+  }
+
   @Override
   public LedgersRequestBuilder cursor(String token) {
     super.cursor(token);
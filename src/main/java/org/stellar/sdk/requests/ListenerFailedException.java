@@ -0,0 +1,12 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Thrown to the input of a stage like {@link BatchingListener} or {@link LedgerBatcher} that has stopped because its
+ * listener threw, the listener's exception is the cause. An {@link SSEStream} whose listener throws it reports it to
+ * {@link StreamLifecycleListener#onFailure(SSEStream, Throwable)} and closes instead of resuming.
+ */
+public class ListenerFailedException extends RuntimeException {
+  public ListenerFailedException(Throwable cause) {
+    super("Listener failed: " + cause.getMessage(), cause);
+  }
+}
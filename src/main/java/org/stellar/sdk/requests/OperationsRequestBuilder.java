@@ -1,5 +1,7 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
@@ -7,10 +9,12 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.LazyResponse;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.operations.OperationResponse;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -48,6 +52,38 @@ public class OperationsRequestBuilder extends RequestBuilder {
     return this.operation(this.buildUri());
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link OperationResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   */
+  public ListenableFuture<OperationResponse> operationAsync(HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    ResponseHandler<OperationResponse> responseHandler = new ResponseHandler<OperationResponse>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
+  /**
+   * Requests <code>GET /operations/{operationId}</code> asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @see <a href="https://www.stellar.org/developers/horizon/reference/operations-single.html">Operation Details</a>
+   * @param operationId Operation to fetch
+   */
+  public ListenableFuture<OperationResponse> operationAsync(long operationId) {
+    return this.operationAsync(operationId, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Requests <code>GET /operations/{operationId}</code> asynchronously.
+   * @see <a href="https://www.stellar.org/developers/horizon/reference/operations-single.html">Operation Details</a>
+   * @param operationId Operation to fetch
+   * @param executor executor used to deserialize the response and complete the future
+   */
+  public ListenableFuture<OperationResponse> operationAsync(long operationId, Executor executor) {
+    this.setSegments("operation", String.valueOf(operationId));
+    return this.operationAsync(this.buildUri(), executor);
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/operations</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/operations-for-account.html">Operations for Account</a>
@@ -97,6 +133,19 @@ public class OperationsRequestBuilder extends RequestBuilder {
     return responseHandler.handleResponse(response);
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link Page} of {@link OperationResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link OperationResponse}
+   */
+  public static ListenableFuture<Page<OperationResponse>> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    ResponseHandler<Page<OperationResponse>> responseHandler = new ResponseHandler<Page<OperationResponse>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
   /**
    * Build and execute request.
    * @return {@link Page} of {@link OperationResponse}
@@ -107,6 +156,139 @@ public class OperationsRequestBuilder extends RequestBuilder {
     return this.execute(this.httpClient, this.buildUri());
   }
 
+  /**
+   * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @return future of {@link Page} of {@link OperationResponse}
+   */
+  public ListenableFuture<Page<OperationResponse>> executeAsync() {
+    return this.executeAsync(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Build and execute request asynchronously.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link OperationResponse}
+   */
+  public ListenableFuture<Page<OperationResponse>> executeAsync(Executor executor) {
+    return this.executeAsync(this.httpClient, this.buildUri(), executor);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page to <code>listener</code> one by one
+   * while the response is being read, so only a single {@link OperationResponse} is held in memory at a time.
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    return execute(httpClient, uri, null, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page matching <code>filter</code> to
+   * <code>listener</code> one by one while the response is being read. Other records are not deserialized.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, RecordFilter filter, EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    RecordsHandler<OperationResponse> recordsHandler = new RecordsHandler<OperationResponse>(type, filter);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return recordsHandler.handleResponse(response, listener);
+  }
+
+  /**
+   * Build and execute request, passing records to <code>listener</code> one by one while the response is being read.
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(null, listener);
+  }
+
+  /**
+   * Build and execute request, passing records matching <code>filter</code> to <code>listener</code> one by one
+   * while the response is being read.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(RecordFilter filter, EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(this.httpClient, this.buildUri(), filter, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and returns {@link Page} of {@link LazyResponse}s of {@link OperationResponse}.
+   * Records are kept as raw JSON and their fields are parsed on first access.
+   * @return {@link Page} of {@link LazyResponse}s of {@link OperationResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page<LazyResponse<OperationResponse>> executeLazy(OkHttpClient httpClient, HttpUrl uri) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<Page<LazyResponse<OperationResponse>>>() {};
+    ResponseHandler<Page<LazyResponse<OperationResponse>>> responseHandler = new ResponseHandler<Page<LazyResponse<OperationResponse>>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return responseHandler.handleResponse(response);
+  }
+
+  /**
+   * Build and execute request, keeping records as raw JSON parsed on demand.
+   * @return {@link Page} of {@link LazyResponse}s of {@link OperationResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page<LazyResponse<OperationResponse>> executeLazy() throws IOException, TooManyRequestsException {
+    return this.executeLazy(this.httpClient, this.buildUri());
+  }
+
+  /**
+   * Returns all records matching this request, following <code>next</code> links of the pages.
+   * Next pages are requested in the background while records of the current page are consumed.
+   * @param prefetchPages maximum number of pages requested ahead of the page being consumed, at least 1
+   * @return {@link RecordsIterable} of {@link OperationResponse}
+   */
+  public RecordsIterable<OperationResponse> iterate(int prefetchPages) {
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    return new RecordsIterable<OperationResponse>(this.httpClient, this.buildUri(), type, prefetchPages);
+  }
+
+  /**
+   * Returns {@link Backfill} fetching operations from ledgers <code>startLedger</code> to <code>endLedger</code>
+   * (inclusive) with parallel requests. Cursor and order set in this builder are ignored.
+   * @param startLedger first ledger of the range
+   * @param endLedger last ledger of the range
+   */
+  public Backfill<OperationResponse> backfill(long startLedger, long endLedger) {
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    return new Backfill<OperationResponse>(this.httpClient, this.buildUri(), type, "", startLedger, endLedger);
+  }
+
+  /**
+   * Returns {@link AccountWatcher} matching records of this stream against watched accounts. Use it on the global
+   * stream, without <code>forAccount</code>, instead of a stream per account.
+   * @param maxAccounts maximum number of distinct accounts watched over the life of the watcher
+   * @return {@link AccountWatcher} of {@link OperationResponse}, so you can <code>close()</code> it when not needed anymore
+   */
+  public AccountWatcher<OperationResponse> watcher(int maxAccounts) {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    return new AccountWatcher<OperationResponse>(this.httpClient, this.buildUri(), type, maxAccounts,
+            AccountWatcher.DEFAULT_LANES, AccountWatcher.DEFAULT_LANE_CAPACITY).open();
+  }
+
   @Override
   public OperationsRequestBuilder cursor(String token) {
     super.cursor(token);
@@ -1,5 +1,7 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
@@ -11,6 +13,7 @@ import org.stellar.sdk.AssetTypeCreditAlphaNum;
 import org.stellar.sdk.responses.OrderBookResponse;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 /**
  * Builds requests connected to order book.
@@ -50,10 +53,40 @@ public class OrderBookRequestBuilder extends RequestBuilder {
     return responseHandler.handleResponse(response);
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link OrderBookResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link OrderBookResponse}
+   */
+  public static ListenableFuture<OrderBookResponse> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<OrderBookResponse>() {};
+    ResponseHandler<OrderBookResponse> responseHandler = new ResponseHandler<OrderBookResponse>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
   public OrderBookResponse execute() throws IOException, TooManyRequestsException {
     return this.execute(this.httpClient, this.buildUri());
   }
 
+  /**
+   * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @return future of {@link OrderBookResponse}
+   */
+  public ListenableFuture<OrderBookResponse> executeAsync() {
+    return this.executeAsync(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Build and execute request asynchronously.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link OrderBookResponse}
+   */
+  public ListenableFuture<OrderBookResponse> executeAsync(Executor executor) {
+    return this.executeAsync(this.httpClient, this.buildUri(), executor);
+  }
+
   @Override
   public RequestBuilder cursor(String cursor) {
     throw new RuntimeException("Not implemented yet.");
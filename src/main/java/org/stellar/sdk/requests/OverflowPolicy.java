@@ -0,0 +1,25 @@
+package org.stellar.sdk.requests;
+
+/**
+ * What a buffered stream does when a record arrives and its buffer is full.
+ * @see BatchingListener
+ * @see StreamPublisher
+ */
+public enum OverflowPolicy {
+  /**
+   * Blocks the thread reading the stream until there is room in the buffer. The server is slowed down through TCP
+   * flow control and no records are lost.
+   */
+  BLOCK,
+  /**
+   * Drops the oldest buffered record to make room for the new one.
+   */
+  DROP_OLDEST,
+  /**
+   * Rejects the record with {@link StreamOverflowException}, which makes {@link SSEStream} drop the connection and
+   * resume from the last accepted record after a backoff, backfilling what was missed. No records are lost and the
+   * connection is not held while the consumer catches up. Only effective for listeners passed to
+   * <code>stream</code> methods of request builders.
+   */
+  DISCONNECT_AND_RESUME
+}
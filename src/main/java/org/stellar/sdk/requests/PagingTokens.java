@@ -0,0 +1,74 @@
+package org.stellar.sdk.requests;
+
+import org.stellar.sdk.responses.Pageable;
+
+import java.util.Comparator;
+
+/**
+ * Compares paging tokens of records.
+ * <p>Tokens of ledgers, transactions, operations and effects are a 64-bit ID, optionally followed by <code>-</code>
+ * and an index, and are ordered numerically. Other tokens, ex. of assets, have no known order.</p>
+ */
+final class PagingTokens {
+  /**
+   * Orders records by paging token, records with tokens of unknown order are considered equal.
+   */
+  static final Comparator<Pageable> BY_PAGING_TOKEN = new Comparator<Pageable>() {
+    @Override
+    public int compare(Pageable a, Pageable b) {
+      int comparison = PagingTokens.compare(a.getPagingToken(), b.getPagingToken());
+      return comparison == Integer.MIN_VALUE ? 0 : comparison;
+    }
+  };
+
+  private PagingTokens() {}
+
+  /**
+   * Returns true when <code>token</code> comes after <code>last</code> in ascending order. When the order of tokens is
+   * not known, any token other than <code>last</code> is considered to come after it.
+   * @param token token to check
+   * @param last last seen token, can be null
+   */
+  static boolean isAfter(String token, String last) {
+    if (last == null || token == null) {
+      return true;
+    }
+    int comparison = compare(token, last);
+    return comparison == Integer.MIN_VALUE ? !token.equals(last) : comparison > 0;
+  }
+
+  /**
+   * Compares numeric tokens, returns <code>Integer.MIN_VALUE</code> when one of them is not numeric.
+   */
+  static int compare(String a, String b) {
+    int dashA = a.indexOf('-');
+    int dashB = b.indexOf('-');
+    long idA = parse(a, 0, dashA >= 0 ? dashA : a.length());
+    long idB = parse(b, 0, dashB >= 0 ? dashB : b.length());
+    long indexA = dashA >= 0 ? parse(a, dashA + 1, a.length()) : 0;
+    long indexB = dashB >= 0 ? parse(b, dashB + 1, b.length()) : 0;
+    if (idA < 0 || idB < 0 || indexA < 0 || indexB < 0) {
+      return Integer.MIN_VALUE;
+    }
+    if (idA != idB) {
+      return idA < idB ? -1 : 1;
+    }
+    return indexA < indexB ? -1 : (indexA == indexB ? 0 : 1);
+  }
+
+  // Returns -1 when not a non-negative number
+  private static long parse(String token, int start, int end) {
+    if (start >= end) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      char c = token.charAt(i);
+      if (c < '0' || c > '9' || value > (Long.MAX_VALUE - (c - '0')) / 10) {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+}
@@ -0,0 +1,268 @@
+package org.stellar.sdk.requests;
+
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link EventListener} processing records on several threads while keeping records with the same key in order.
+ * <p>Records are partitioned by the hash of a key, ex. source account or offer ID, onto <code>lanes</code>
+ * single-threaded lanes. Records of one key are always processed by the same lane, in the order they arrived;
+ * records of different keys may be processed concurrently. When a lane falls behind, {@link #onEvent(Pageable)} waits
+ * for it, so a stream is not read faster than records are processed.</p>
+ * <p>{@link #getCommittedToken()} returns paging token of the last record such that it and all records before it
+ * have been processed. Resuming from it after a crash may repeat some records, but never skips any.</p>
+ * <p>When the handler throws, the dispatcher stops: the failed record is not marked processed, so the committed token
+ * stays before it, lanes stop taking records and {@link #getFailure()} returns the exception. Following calls of
+ * {@link #onEvent(Pageable)} throw {@link ListenerFailedException}, which closes the stream.</p>
+ * <pre>
+ * PartitionedDispatcher&lt;OperationResponse&gt; dispatcher = new PartitionedDispatcher.Builder&lt;OperationResponse&gt;(
+ *     handler, new PartitionedDispatcher.KeyExtractor&lt;OperationResponse&gt;() {
+ *       public Object getKey(OperationResponse operation) {
+ *         return operation.getSourceAccount().getAccountId();
+ *       }
+ *     }).setLanes(8).build();
+ * SSEStream&lt;OperationResponse&gt; stream = server.payments().stream(dispatcher);
+ * </pre>
+ * <p>Records can also be passed from {@link RecordsIterable} or a page by calling {@link #onEvent(Pageable)} from one
+ * thread. Close the stream first and then this dispatcher.</p>
+ * @param <T> type of records
+ */
+public class PartitionedDispatcher<T extends Pageable> implements EventListener<T>, Closeable {
+  // How often an idle lane checks whether the dispatcher has been closed
+  private static final long IDLE_CHECK_INTERVAL = 100;
+
+  private final EventListener<? super T> handler;
+  private final KeyExtractor<? super T> keyExtractor;
+  private final List<StreamBuffer<Pending<T>>> lanes;
+  // Records in arrival order, guarded by itself
+  private final ArrayDeque<Pending<T>> pending = new ArrayDeque<Pending<T>>();
+  private volatile String committedToken;
+  private volatile RuntimeException failure;
+
+  private PartitionedDispatcher(EventListener<? super T> handler, KeyExtractor<? super T> keyExtractor, int lanesCount,
+                                int laneCapacity, String committedToken) {
+    this.handler = handler;
+    this.keyExtractor = keyExtractor;
+    this.lanes = new ArrayList<StreamBuffer<Pending<T>>>(lanesCount);
+    for (int i = 0; i < lanesCount; i++) {
+      lanes.add(new StreamBuffer<Pending<T>>(laneCapacity, OverflowPolicy.BLOCK));
+    }
+    this.committedToken = committedToken;
+  }
+
+  private void start() {
+    for (int i = 0; i < lanes.size(); i++) {
+      final StreamBuffer<Pending<T>> lane = lanes.get(i);
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          process(lane);
+        }
+      }, "stellar-partitioned-dispatcher-" + i);
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Passes <code>record</code> to the lane of its key, waiting while the lane is full. Records arriving after
+   * {@link #close()} are ignored. Must not be called concurrently.
+   * @throws ListenerFailedException when the handler has thrown
+   */
+  @Override
+  public void onEvent(T record) {
+    if (failure != null) {
+      throw new ListenerFailedException(failure);
+    }
+    Object key = keyExtractor.getKey(record);
+    int hash = key != null ? key.hashCode() : 0;
+    // Spread the bits, hash codes of strings differing in the last characters are close
+    hash ^= (hash >>> 16);
+    StreamBuffer<Pending<T>> lane = lanes.get((hash & Integer.MAX_VALUE) % lanes.size());
+    if (lane.isClosed()) {
+      return;
+    }
+    Pending<T> entry = new Pending<T>(record);
+    synchronized (pending) {
+      pending.add(entry);
+    }
+    // When closed while waiting for space, the record stays pending and the committed token never passes it
+    if (!lane.offer(entry) && failure != null) {
+      throw new ListenerFailedException(failure);
+    }
+  }
+
+  /**
+   * Returns paging token of the last record processed together with all records before it, or the initial token
+   * when there is none.
+   */
+  public String getCommittedToken() {
+    return committedToken;
+  }
+
+  /**
+   * Returns exception thrown by the handler, which stopped the dispatcher, or null.
+   */
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Returns number of records passed to this dispatcher and not processed yet.
+   */
+  public int getPendingCount() {
+    synchronized (pending) {
+      return pending.size();
+    }
+  }
+
+  /**
+   * Stops accepting records. Records waiting in lanes are still processed.
+   */
+  @Override
+  public void close() {
+    for (StreamBuffer<Pending<T>> lane : lanes) {
+      lane.close();
+    }
+  }
+
+  private void process(StreamBuffer<Pending<T>> lane) {
+    try {
+      while (failure == null) {
+        Pending<T> entry = lane.poll(IDLE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        if (entry == null) {
+          if (lane.isClosed() && lane.isEmpty()) {
+            return;
+          }
+          continue;
+        }
+        try {
+          handler.onEvent(entry.record);
+        } catch (RuntimeException e) {
+          failed(e);
+          return;
+        }
+        completed(entry);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Stops all lanes, the failed record stays pending so the committed token never passes it
+  private synchronized void failed(RuntimeException e) {
+    if (failure == null) {
+      failure = e;
+    }
+    close();
+  }
+
+  // Advances the committed token over the processed prefix of records
+  private void completed(Pending<T> entry) {
+    synchronized (pending) {
+      entry.done = true;
+      String token = null;
+      while (!pending.isEmpty() && pending.peek().done) {
+        String pagingToken = pending.poll().record.getPagingToken();
+        if (pagingToken != null) {
+          token = pagingToken;
+        }
+      }
+      if (token != null) {
+        committedToken = token;
+      }
+    }
+  }
+
+  /**
+   * Returns key of a record, records with equal keys are processed in order.
+   */
+  public interface KeyExtractor<T> {
+    /**
+     * Returns key of <code>record</code>, can be null.
+     */
+    Object getKey(T record);
+  }
+
+  private static final class Pending<T> {
+    final T record;
+    // Guarded by the pending queue
+    boolean done;
+
+    Pending(T record) {
+      this.record = record;
+    }
+  }
+
+  /**
+   * Builds new PartitionedDispatcher objects.
+   */
+  public static class Builder<T extends Pageable> {
+    private final EventListener<? super T> mHandler;
+    private final KeyExtractor<? super T> mKeyExtractor;
+    private int mLanes = Runtime.getRuntime().availableProcessors();
+    private int mLaneCapacity = 1024;
+    private String mCommittedToken;
+
+    /**
+     * Creates a new PartitionedDispatcher builder.
+     * @param handler listener processing records, called concurrently for records of different lanes
+     * @param keyExtractor extractor of keys used to partition records
+     */
+    public Builder(EventListener<? super T> handler, KeyExtractor<? super T> keyExtractor) {
+      mHandler = checkNotNull(handler, "handler cannot be null");
+      mKeyExtractor = checkNotNull(keyExtractor, "keyExtractor cannot be null");
+    }
+
+    /**
+     * Sets number of lanes processing records. Defaults to the number of available processors.
+     * @param lanes number of lanes
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setLanes(int lanes) {
+      checkArgument(lanes > 0, "lanes must be positive");
+      mLanes = lanes;
+      return this;
+    }
+
+    /**
+     * Sets maximum number of records waiting for each lane. Defaults to 1024.
+     * @param laneCapacity lane capacity
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setLaneCapacity(int laneCapacity) {
+      checkArgument(laneCapacity > 0, "laneCapacity must be positive");
+      mLaneCapacity = laneCapacity;
+      return this;
+    }
+
+    /**
+     * Sets token returned by {@link #getCommittedToken()} until a record is processed, ex. the cursor the stream
+     * starts from.
+     * @param committedToken initial committed token
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setCommittedToken(String committedToken) {
+      mCommittedToken = committedToken;
+      return this;
+    }
+
+    /**
+     * Builds a dispatcher and starts its lanes.
+     */
+    public PartitionedDispatcher<T> build() {
+      PartitionedDispatcher<T> dispatcher = new PartitionedDispatcher<T>(mHandler, mKeyExtractor, mLanes,
+              mLaneCapacity, mCommittedToken);
+      dispatcher.start();
+      return dispatcher;
+    }
+  }
+}
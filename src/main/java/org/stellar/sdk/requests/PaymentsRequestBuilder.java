@@ -1,24 +1,20 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
-import org.glassfish.jersey.media.sse.EventSource;
-import org.glassfish.jersey.media.sse.InboundEvent;
-import org.glassfish.jersey.media.sse.SseFeature;
 import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LazyResponse;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.operations.OperationResponse;
 
 import java.io.IOException;
-
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.WebTarget;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -79,6 +75,19 @@ public class PaymentsRequestBuilder extends RequestBuilder {
     return responseHandler.handleResponse(response);
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link Page} of {@link OperationResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link OperationResponse}
+   */
+  public static ListenableFuture<Page<OperationResponse>> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    ResponseHandler<Page<OperationResponse>> responseHandler = new ResponseHandler<Page<OperationResponse>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
   /**
    * Allows to stream SSE events from horizon.
    * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
@@ -87,23 +96,72 @@ public class PaymentsRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link OperationResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
-   */
-  public EventSource stream(final EventListener<OperationResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri().uri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        OperationResponse payment = GsonSingleton.getInstance().fromJson(data, OperationResponse.class);
-        listener.onEvent(payment);
-      }
-    };
-    return eventSource;
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<OperationResponse> stream(final EventListener<OperationResponse> listener) {
+    return this.stream(null, listener);
+  }
+
+  /**
+   * Allows to stream SSE events from horizon, passing only events matching <code>filter</code>.
+   * Events that do not match are skipped without being deserialized.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<OperationResponse> stream(final RecordFilter filter, final EventListener<OperationResponse> listener) {
+    return this.stream(filter, listener, null);
+  }
+
+  /**
+   * Allows to stream SSE events from horizon, passing only events matching <code>filter</code> and reporting
+   * connection state changes to <code>lifecycleListener</code>.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @param lifecycleListener listener of connection state changes, can be null
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<OperationResponse> stream(RecordFilter filter, EventListener<OperationResponse> listener, StreamLifecycleListener lifecycleListener) {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    return new SSEStream<OperationResponse>(this.httpClient, this.buildUri(), type, filter, listener, lifecycleListener).open();
+  }
+
+  /**
+   * Subscribes to SSE events from horizon through <code>hub</code>, sharing a single connection with other
+   * subscribers of the same stream.
+   * @param hub hub managing shared streams
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return {@link StreamHub.Subscription} object, so you can <code>close()</code> it when not needed anymore
+   */
+  public StreamHub.Subscription subscribe(StreamHub hub, EventListener<OperationResponse> listener) {
+    checkNotNull(hub, "hub cannot be null");
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    return hub.subscribe(this.httpClient, this.buildUri(), type, listener);
+  }
+
+  /**
+   * Returns {@link StreamPublisher} of SSE events from horizon with demand-driven flow control. The stream is
+   * opened when the publisher is subscribed to.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param bufferSize maximum number of records buffered until requested by the subscriber
+   * @param overflowPolicy what happens when a record arrives and the buffer is full
+   * @return {@link StreamPublisher} of {@link OperationResponse}
+   */
+  public StreamPublisher<OperationResponse> publisher(RecordFilter filter, int bufferSize, OverflowPolicy overflowPolicy) {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    return new StreamPublisher<OperationResponse>(this.httpClient, this.buildUri(), type, filter, bufferSize, overflowPolicy);
+  }
+
+  /**
+   * Returns {@link AccountWatcher} matching records of this stream against watched accounts. Use it on the global
+   * stream, without <code>forAccount</code>, instead of a stream per account.
+   * @param maxAccounts maximum number of distinct accounts watched over the life of the watcher
+   * @return {@link AccountWatcher} of {@link OperationResponse}, so you can <code>close()</code> it when not needed anymore
+   */
+  public AccountWatcher<OperationResponse> watcher(int maxAccounts) {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    return new AccountWatcher<OperationResponse>(this.httpClient, this.buildUri(), type, maxAccounts,
+            AccountWatcher.DEFAULT_LANES, AccountWatcher.DEFAULT_LANE_CAPACITY).open();
   }
 
   /**
@@ -116,6 +174,116 @@ public class PaymentsRequestBuilder extends RequestBuilder {
     return this.execute(this.httpClient, this.buildUri());
   }
 
+  /**
+   * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @return future of {@link Page} of {@link OperationResponse}
+   */
+  public ListenableFuture<Page<OperationResponse>> executeAsync() {
+    return this.executeAsync(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Build and execute request asynchronously.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link OperationResponse}
+   */
+  public ListenableFuture<Page<OperationResponse>> executeAsync(Executor executor) {
+    return this.executeAsync(this.httpClient, this.buildUri(), executor);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page to <code>listener</code> one by one
+   * while the response is being read, so only a single {@link OperationResponse} is held in memory at a time.
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    return execute(httpClient, uri, null, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page matching <code>filter</code> to
+   * <code>listener</code> one by one while the response is being read. Other records are not deserialized.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, RecordFilter filter, EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<OperationResponse>() {};
+    RecordsHandler<OperationResponse> recordsHandler = new RecordsHandler<OperationResponse>(type, filter);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return recordsHandler.handleResponse(response, listener);
+  }
+
+  /**
+   * Build and execute request, passing records to <code>listener</code> one by one while the response is being read.
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(null, listener);
+  }
+
+  /**
+   * Build and execute request, passing records matching <code>filter</code> to <code>listener</code> one by one
+   * while the response is being read.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(RecordFilter filter, EventListener<OperationResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(this.httpClient, this.buildUri(), filter, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and returns {@link Page} of {@link LazyResponse}s of {@link OperationResponse}.
+   * Records are kept as raw JSON and their fields are parsed on first access.
+   * @return {@link Page} of {@link LazyResponse}s of {@link OperationResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page<LazyResponse<OperationResponse>> executeLazy(OkHttpClient httpClient, HttpUrl uri) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<Page<LazyResponse<OperationResponse>>>() {};
+    ResponseHandler<Page<LazyResponse<OperationResponse>>> responseHandler = new ResponseHandler<Page<LazyResponse<OperationResponse>>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return responseHandler.handleResponse(response);
+  }
+
+  /**
+   * Build and execute request, keeping records as raw JSON parsed on demand.
+   * @return {@link Page} of {@link LazyResponse}s of {@link OperationResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page<LazyResponse<OperationResponse>> executeLazy() throws IOException, TooManyRequestsException {
+    return this.executeLazy(this.httpClient, this.buildUri());
+  }
+
+  /**
+   * Returns all records matching this request, following <code>next</code> links of the pages.
+   * Next pages are requested in the background while records of the current page are consumed.
+   * @param prefetchPages maximum number of pages requested ahead of the page being consumed, at least 1
+   * @return {@link RecordsIterable} of {@link OperationResponse}
+   */
+  public RecordsIterable<OperationResponse> iterate(int prefetchPages) {
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    return new RecordsIterable<OperationResponse>(this.httpClient, this.buildUri(), type, prefetchPages);
+  }
+
   @Override
   public PaymentsRequestBuilder cursor(String token) {
     super.cursor(token);
@@ -0,0 +1,303 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * OkHttp interceptor scheduling requests to Horizon within its rate limits.
+ * <p>Requests wait in a queue ordered by {@link RequestPriority} until three conditions hold:</p>
+ * <ul>
+ *   <li>a token bucket matched to the <code>X-Ratelimit-Limit</code> and <code>X-Ratelimit-Remaining</code> headers
+ *   of the last response has a token, it is refilled at <code>limit</code> requests per hour,</li>
+ *   <li>fewer requests than the concurrency limit are in flight. The limit grows by one per window of successful
+ *   requests and is halved on <code>429 Too Many Requests</code> or reduced when latency rises well above the
+ *   average (AIMD),</li>
+ *   <li>the delay requested by the <code>Retry-After</code> header of the last 429 response has passed.</li>
+ * </ul>
+ * <p>Requests answered with 429 are retried transparently after the advertised delay, up to <code>maxRetries</code>
+ * times; the last 429 response is returned to the caller. Streams (<code>Accept: text/event-stream</code>) bypass
+ * the limiter.</p>
+ * <p>Requests sent with <code>enqueue</code> wait on OkHttp dispatcher threads. Priorities apply only to calls the
+ * dispatcher has started, so keep <code>maxRequests</code> and <code>maxRequestsPerHost</code> of the dispatcher
+ * well above <code>maxConcurrency</code>, otherwise waiting low priority calls can hold every dispatcher slot while
+ * high priority ones wait outside the limiter. Used by {@link org.stellar.sdk.Server} by default, with such a
+ * dispatcher.</p>
+ */
+public class RateLimiter implements Interceptor {
+  public static final int DEFAULT_INITIAL_CONCURRENCY = 8;
+  public static final int DEFAULT_MAX_CONCURRENCY = 32;
+  public static final int DEFAULT_MAX_RETRIES = 3;
+
+  // Retry-After used when the header is missing or invalid
+  private static final long DEFAULT_RETRY_AFTER = TimeUnit.SECONDS.toNanos(1);
+  // Latency above this multiple of the average one is a sign of congestion
+  private static final double LATENCY_TOLERANCE = 3;
+  // Weight of a new sample in the average latency
+  private static final double LATENCY_SMOOTHING = 0.05;
+  private static final double LATENCY_DECREASE = 0.9;
+  private static final long ONE_HOUR = TimeUnit.HOURS.toNanos(1);
+
+  private final int maxConcurrency;
+  private final int maxRetries;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  // Guarded by lock
+  private final PriorityQueue<Waiter> waiters = new PriorityQueue<Waiter>();
+  private long nextWaiterId;
+  private double concurrencyLimit;
+  private int inFlight;
+  // Token bucket, unlimited until the first response with rate limit headers
+  private double tokens = Double.POSITIVE_INFINITY;
+  private double tokensPerNano;
+  private double maxTokens;
+  private long refilledAt = System.nanoTime();
+  private long pausedUntil = System.nanoTime();
+  private double averageLatency;
+
+  /**
+   * Creates limiter with default limits.
+   */
+  public RateLimiter() {
+    this(DEFAULT_INITIAL_CONCURRENCY, DEFAULT_MAX_CONCURRENCY, DEFAULT_MAX_RETRIES);
+  }
+
+  /**
+   * @param initialConcurrency initial number of concurrent requests
+   * @param maxConcurrency maximum number of concurrent requests
+   * @param maxRetries maximum number of retries of a request answered with 429
+   */
+  public RateLimiter(int initialConcurrency, int maxConcurrency, int maxRetries) {
+    checkArgument(initialConcurrency > 0, "initialConcurrency must be positive");
+    checkArgument(maxConcurrency >= initialConcurrency, "maxConcurrency must not be lower than initialConcurrency");
+    checkArgument(maxRetries >= 0, "maxRetries must be non-negative");
+    this.concurrencyLimit = initialConcurrency;
+    this.maxConcurrency = maxConcurrency;
+    this.maxRetries = maxRetries;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if ("text/event-stream".equals(request.header("Accept"))) {
+      return chain.proceed(request);
+    }
+    RequestPriority priority = priorityOf(request);
+    for (int attempt = 0; ; attempt++) {
+      acquire(priority);
+      long start = System.nanoTime();
+      Response response;
+      try {
+        response = chain.proceed(request);
+      } catch (IOException e) {
+        release(start, false);
+        throw e;
+      } catch (RuntimeException e) {
+        release(start, false);
+        throw e;
+      }
+      boolean tooManyRequests = response.code() == 429;
+      // Waiters woken by release must see the new limits
+      updateBucket(response);
+      if (tooManyRequests) {
+        pause(retryAfter(response));
+      }
+      release(start, tooManyRequests);
+      if (!tooManyRequests || attempt >= maxRetries) {
+        return response;
+      }
+      response.close();
+    }
+  }
+
+  /**
+   * Returns priority of <code>request</code>, its tag when it is a {@link RequestPriority}.
+   */
+  static RequestPriority priorityOf(Request request) {
+    Object tag = request.tag();
+    if (tag instanceof RequestPriority) {
+      return (RequestPriority) tag;
+    }
+    return "POST".equals(request.method()) ? RequestPriority.HIGH : RequestPriority.NORMAL;
+  }
+
+  /**
+   * Returns current limit of concurrent requests.
+   */
+  public int getConcurrencyLimit() {
+    lock.lock();
+    try {
+      return (int) concurrencyLimit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns number of requests in flight.
+   */
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns number of requests waiting to be sent.
+   */
+  public int getQueueLength() {
+    lock.lock();
+    try {
+      return waiters.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void acquire(RequestPriority priority) throws IOException {
+    lock.lock();
+    try {
+      Waiter waiter = new Waiter(priority, nextWaiterId++);
+      waiters.add(waiter);
+      try {
+        while (true) {
+          long now = System.nanoTime();
+          refill(now);
+          long wait = 0;
+          if (waiters.peek() == waiter && inFlight < (int) concurrencyLimit) {
+            if (pausedUntil - now > 0) {
+              wait = pausedUntil - now;
+            } else if (tokens < 1) {
+              wait = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            } else {
+              tokens--;
+              inFlight++;
+              return;
+            }
+          }
+          if (wait > 0) {
+            changed.awaitNanos(wait);
+          } else {
+            changed.await();
+          }
+        }
+      } finally {
+        waiters.remove(waiter);
+        // Next waiter may proceed
+        changed.signalAll();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for rate limit.");
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long start, boolean tooManyRequests) {
+    long latency = System.nanoTime() - start;
+    lock.lock();
+    try {
+      inFlight--;
+      if (tooManyRequests) {
+        concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+      } else if (averageLatency > 0 && latency > averageLatency * LATENCY_TOLERANCE) {
+        concurrencyLimit = Math.max(1, concurrencyLimit * LATENCY_DECREASE);
+      } else {
+        concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+      }
+      averageLatency = averageLatency > 0 ? averageLatency + (latency - averageLatency) * LATENCY_SMOOTHING : latency;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Guarded by lock
+  private void refill(long now) {
+    if (tokensPerNano > 0) {
+      tokens = Math.min(maxTokens, tokens + (now - refilledAt) * tokensPerNano);
+    }
+    refilledAt = now;
+  }
+
+  private void updateBucket(Response response) {
+    int limit;
+    int remaining;
+    try {
+      limit = Integer.parseInt(response.header("X-Ratelimit-Limit"));
+      remaining = Integer.parseInt(response.header("X-Ratelimit-Remaining"));
+    } catch (NumberFormatException e) {
+      // Missing or invalid headers, ex. rate limiting is disabled
+      return;
+    }
+    if (limit <= 0) {
+      return;
+    }
+    lock.lock();
+    try {
+      refill(System.nanoTime());
+      maxTokens = limit;
+      tokensPerNano = (double) limit / ONE_HOUR;
+      // Responses of concurrent requests may arrive out of order, the lowest remaining count is the most recent
+      tokens = Math.min(tokens, Math.max(0, remaining));
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static long retryAfter(Response response) {
+    String retryAfter = response.header("Retry-After");
+    if (retryAfter != null) {
+      try {
+        return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+      } catch (NumberFormatException e) {
+        // HTTP dates are not used by Horizon
+      }
+    }
+    return DEFAULT_RETRY_AFTER;
+  }
+
+  private void pause(long delay) {
+    lock.lock();
+    try {
+      long until = System.nanoTime() + delay;
+      if (until - pausedUntil > 0) {
+        pausedUntil = until;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static final class Waiter implements Comparable<Waiter> {
+    final RequestPriority priority;
+    final long id;
+
+    Waiter(RequestPriority priority, long id) {
+      this.priority = priority;
+      this.id = id;
+    }
+
+    @Override
+    public int compareTo(Waiter other) {
+      if (priority != other.priority) {
+        return priority.compareTo(other.priority);
+      }
+      return id < other.id ? -1 : (id == other.id ? 0 : 1);
+    }
+  }
+}
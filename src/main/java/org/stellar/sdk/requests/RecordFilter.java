@@ -0,0 +1,143 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Predicate over raw top-level fields of a record, ex. <code>type_i</code>, <code>source_account</code>,
+ * <code>account</code>, <code>asset_code</code> or <code>paging_token</code>.
+ * <p>Filters are checked before a record is deserialized, so records that do not match are skipped without
+ * creating response objects or decoding {@link org.stellar.sdk.KeyPair}s. Values are compared with the raw JSON
+ * value as a string, numbers included. Missing and <code>null</code> fields never match.</p>
+ * <pre>
+ * RecordFilter filter = RecordFilter.typeIn(1, 2).and(RecordFilter.fieldIn("to", accountId));
+ * </pre>
+ * <p>Filters are immutable and can be shared between threads.</p>
+ */
+public class RecordFilter {
+  // All conditions must match, every condition is a set of accepted values
+  private final Map<String, Set<String>> conditions;
+
+  RecordFilter(Map<String, Set<String>> conditions) {
+    this.conditions = conditions;
+  }
+
+  /**
+   * Accepts records with <code>field</code> equal to one of <code>values</code>.
+   * @param field name of a top-level field
+   * @param values accepted values
+   */
+  public static RecordFilter fieldIn(String field, String... values) {
+    checkNotNull(field, "field cannot be null");
+    checkNotNull(values, "values cannot be null");
+    checkArgument(values.length > 0, "values cannot be empty");
+    Map<String, Set<String>> conditions = new HashMap<String, Set<String>>();
+    conditions.put(field, Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(values))));
+    return new RecordFilter(Collections.unmodifiableMap(conditions));
+  }
+
+  /**
+   * Accepts operations or effects of one of <code>types</code> (<code>type_i</code> field).
+   * @param types accepted types
+   */
+  public static RecordFilter typeIn(int... types) {
+    checkNotNull(types, "types cannot be null");
+    String[] values = new String[types.length];
+    for (int i = 0; i < types.length; i++) {
+      values[i] = String.valueOf(types[i]);
+    }
+    return fieldIn("type_i", values);
+  }
+
+  /**
+   * Returns filter accepting records matching both this and <code>other</code> filter.
+   * @param other other filter
+   */
+  public RecordFilter and(RecordFilter other) {
+    checkNotNull(other, "other cannot be null");
+    Map<String, Set<String>> merged = new HashMap<String, Set<String>>(conditions);
+    for (Map.Entry<String, Set<String>> condition : other.conditions.entrySet()) {
+      Set<String> values = merged.get(condition.getKey());
+      if (values == null) {
+        merged.put(condition.getKey(), condition.getValue());
+      } else {
+        Set<String> intersection = new HashSet<String>(values);
+        intersection.retainAll(condition.getValue());
+        merged.put(condition.getKey(), Collections.unmodifiableSet(intersection));
+      }
+    }
+    return new RecordFilter(Collections.unmodifiableMap(merged));
+  }
+
+  /**
+   * Returns true when <code>record</code> matches this filter.
+   * @param record JSON object of the record
+   */
+  public boolean matches(JsonObject record) {
+    for (Map.Entry<String, Set<String>> condition : conditions.entrySet()) {
+      JsonElement value = record.get(condition.getKey());
+      if (value == null || !value.isJsonPrimitive() || !condition.getValue().contains(value.getAsString())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true when JSON object in <code>json</code> matches this filter. Only top-level names and values of
+   * filtered fields are read, other values are skipped.
+   * @param json JSON object of the record
+   */
+  boolean matches(String json) {
+    return matches(new StringReader(json));
+  }
+
+  /**
+   * Returns true when JSON object read from <code>json</code> matches this filter.
+   * @param json reader of the JSON object of the record
+   */
+  boolean matches(Reader json) {
+    JsonReader reader = new JsonReader(json);
+    int matched = 0;
+    try {
+      reader.beginObject();
+      while (reader.hasNext() && matched < conditions.size()) {
+        Set<String> values = conditions.get(reader.nextName());
+        if (values == null) {
+          reader.skipValue();
+          continue;
+        }
+        JsonToken token = reader.peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER && token != JsonToken.BOOLEAN) {
+          return false;
+        }
+        String value = token == JsonToken.BOOLEAN ? String.valueOf(reader.nextBoolean()) : reader.nextString();
+        if (!values.contains(value)) {
+          return false;
+        }
+        matched++;
+      }
+    } catch (IOException e) {
+      // Malformed record is rejected when deserialized
+      return true;
+    } catch (IllegalStateException e) {
+      return true;
+    }
+    return matched == conditions.size();
+  }
+}
@@ -0,0 +1,62 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import okhttp3.Response;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+
+/**
+ * Handles page responses record by record. Records are passed to the listener while the response body is still
+ * being read, so memory used by a request does not grow with the page size.
+ * @param <T> type of records
+ * @see ResponseHandler
+ */
+public class RecordsHandler<T> {
+  private final TypeToken<T> recordType;
+  private final RecordFilter filter;
+
+  /**
+   * @param recordType type of the records, ex. <code>new TypeToken&lt;OperationResponse&gt;() {}</code>
+   */
+  public RecordsHandler(TypeToken<T> recordType) {
+    this(recordType, null);
+  }
+
+  /**
+   * @param recordType type of the records, ex. <code>new TypeToken&lt;OperationResponse&gt;() {}</code>
+   * @param filter only records matching the filter are deserialized and passed to the listener, can be null
+   */
+  public RecordsHandler(TypeToken<T> recordType, RecordFilter filter) {
+    this.recordType = recordType;
+    this.filter = filter;
+  }
+
+  /**
+   * Passes records of the page in <code>response</code> to <code>listener</code> in order.
+   * If the listener throws, the response is closed and the exception is rethrown.
+   * @return links of the page
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links handleResponse(final Response response, EventListener<? super T> listener) throws IOException, TooManyRequestsException {
+    try {
+      // Too Many Requests
+      if (response.code() == 429) {
+        int retryAfter = Integer.parseInt(response.header("Retry-After"));
+        throw new TooManyRequestsException(retryAfter);
+      }
+
+      // Other errors
+      if (response.code() >= 300) {
+        throw new ErrorResponse(response.code(), response.body().string());
+      }
+
+      return Page.read(new JsonReader(response.body().charStream()), recordType, filter, listener);
+    } finally {
+      response.close();
+    }
+  }
+}
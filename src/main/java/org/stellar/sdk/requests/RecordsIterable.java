@@ -0,0 +1,163 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.stellar.sdk.responses.Page;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Iterates over records of all pages of a collection by following <code>_links.next</code>.
+ * <p>While records of the current page are consumed, up to <code>prefetchPages</code> next pages are requested in the
+ * background using OkHttp dispatcher, so iterating over a long history is not slowed down by request latency.
+ * Iteration ends when an empty page is returned.</p>
+ * <p>Each call to {@link #iterator()} starts from the first page. Iterators are not thread-safe. Request errors are
+ * thrown from {@link Iterator#hasNext()} as unchecked exceptions ({@link ErrorResponse},
+ * {@link TooManyRequestsException} or <code>RuntimeException</code> wrapping <code>IOException</code>).</p>
+ * @param <T> type of records
+ */
+public class RecordsIterable<T> implements Iterable<T> {
+  private final OkHttpClient httpClient;
+  private final HttpUrl uri;
+  private final TypeToken<Page<T>> type;
+  private final int prefetchPages;
+
+  /**
+   * @param httpClient client used to send requests
+   * @param uri first page to request
+   * @param type type of the page, ex. <code>new TypeToken&lt;Page&lt;OperationResponse&gt;&gt;() {}</code>
+   * @param prefetchPages maximum number of pages requested ahead of the page being consumed, at least 1
+   */
+  public RecordsIterable(OkHttpClient httpClient, HttpUrl uri, TypeToken<Page<T>> type, int prefetchPages) {
+    this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
+    this.uri = checkNotNull(uri, "uri cannot be null");
+    this.type = checkNotNull(type, "type cannot be null");
+    checkArgument(prefetchPages >= 1, "prefetchPages must be at least 1");
+    this.prefetchPages = prefetchPages;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new RecordsIterator();
+  }
+
+  private class RecordsIterator implements Iterator<T> {
+    private final ResponseHandler<Page<T>> responseHandler = new ResponseHandler<Page<T>>(type);
+    // Requested pages not taken by the consumer yet, guarded by this
+    private final LinkedList<ListenableFuture<Page<T>>> pages = new LinkedList<ListenableFuture<Page<T>>>();
+    private ListenableFuture<Page<T>> lastRequested;
+    private boolean lastRequestedFollowed;
+    private boolean noMorePages;
+    private Iterator<T> current;
+
+    RecordsIterator() {
+      synchronized (this) {
+        request(uri);
+      }
+    }
+
+    // Must be called holding the lock
+    private void request(HttpUrl pageUri) {
+      Request request = new Request.Builder().get().url(pageUri).tag(RequestPriority.LOW).build();
+      ListenableFuture<Page<T>> page = responseHandler.handleResponseAsync(httpClient.newCall(request), MoreExecutors.directExecutor());
+      lastRequested = page;
+      lastRequestedFollowed = false;
+      pages.add(page);
+      page.addListener(new Runnable() {
+        @Override
+        public void run() {
+          requestNextIfAllowed();
+        }
+      }, MoreExecutors.directExecutor());
+    }
+
+    private synchronized void requestNextIfAllowed() {
+      if (noMorePages || lastRequestedFollowed || !lastRequested.isDone() || pages.size() >= prefetchPages) {
+        return;
+      }
+      lastRequestedFollowed = true;
+      Page<T> page;
+      try {
+        page = Uninterruptibles.getUninterruptibly(lastRequested);
+      } catch (ExecutionException e) {
+        // Error will be thrown to the consumer
+        noMorePages = true;
+        return;
+      }
+      if (page.getRecords() == null || page.getRecords().isEmpty()
+              || page.getLinks() == null || page.getLinks().getNext() == null) {
+        noMorePages = true;
+        return;
+      }
+      HttpUrl next = HttpUrl.parse(page.getLinks().getNext().getHref());
+      if (next == null) {
+        noMorePages = true;
+        return;
+      }
+      request(next);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (current == null || !current.hasNext()) {
+        ListenableFuture<Page<T>> future;
+        synchronized (this) {
+          future = pages.poll();
+          if (future == null) {
+            // Listener of the last consumed page may not have run yet
+            requestNextIfAllowed();
+            future = pages.poll();
+          }
+        }
+        if (future == null) {
+          return false;
+        }
+        requestNextIfAllowed();
+
+        Page<T> page;
+        try {
+          page = Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+          synchronized (this) {
+            noMorePages = true;
+            pages.clear();
+          }
+          if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+          }
+          throw new RuntimeException(e.getCause());
+        }
+        if (page.getRecords() == null || page.getRecords().isEmpty()) {
+          return false;
+        }
+        current = page.getRecords().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
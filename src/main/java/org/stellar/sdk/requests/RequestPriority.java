@@ -0,0 +1,12 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Priority of a request waiting in {@link RateLimiter}. Set it as the tag of an OkHttp request to override the
+ * default: transaction submissions are {@link #HIGH}, paging through history by {@link Backfill} and
+ * {@link RecordsIterable} is {@link #LOW}, other requests are {@link #NORMAL}.
+ */
+public enum RequestPriority {
+  HIGH,
+  NORMAL,
+  LOW
+}
@@ -0,0 +1,388 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.hash.Hashing;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * OkHttp interceptor caching responses of Horizon resources that never change once they exist.
+ * <p>Only successful <code>GET</code> responses of these paths are cached:</p>
+ * <ul>
+ *   <li><code>/ledgers/{sequence}</code>, <code>/transactions/{hash}</code>, <code>/operations/{id}</code>,</li>
+ *   <li>their <code>transactions</code>, <code>operations</code>, <code>payments</code> and <code>effects</code>
+ *   collections, except empty pages which may belong to a ledger that is not closed yet.</li>
+ * </ul>
+ * <p>Mutable resources like accounts, offers and order books always go to the server, a short reuse window for
+ * them is provided by {@link SingleFlight#setFreshness(long, java.util.concurrent.TimeUnit)}.</p>
+ * <p>Raw response bytes are kept in an LRU bounded by their total size, so every caller deserializes its own
+ * objects. Entries evicted from memory can be spilled to files in a directory, bounded by their total size too.
+ * Disk errors only cost cache misses. Used by {@link org.stellar.sdk.Server} by default, without spilling.</p>
+ */
+public class ResponseCache implements Interceptor {
+  public static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String SPILL_SUFFIX = ".cache";
+  // Approximate memory used by an entry besides its key, headers and body
+  private static final int ENTRY_OVERHEAD = 128;
+  private static final Pattern NUMBER = Pattern.compile("\\d+");
+  private static final Pattern HASH = Pattern.compile("[0-9a-fA-F]{64}");
+
+  private final long maxSize;
+  private final File spillDirectory;
+  private final long maxSpillSize;
+  // Access ordered, guarded by itself
+  private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+  private long size;
+  // Sizes of spilled entries, access ordered, guarded by itself
+  private final LinkedHashMap<String, Long> spilled = new LinkedHashMap<String, Long>(16, 0.75f, true);
+  private long spillSize;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * Creates cache of {@link #DEFAULT_MAX_SIZE} bytes kept in memory.
+   */
+  public ResponseCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates cache kept in memory.
+   * @param maxSize maximum total size of cached responses in bytes
+   */
+  public ResponseCache(long maxSize) {
+    checkArgument(maxSize > 0, "maxSize must be positive");
+    this.maxSize = maxSize;
+    this.spillDirectory = null;
+    this.maxSpillSize = 0;
+  }
+
+  /**
+   * Creates cache spilling entries evicted from memory to <code>spillDirectory</code>. Files left in the directory
+   * by a previous cache are deleted.
+   * @param maxSize maximum total size of responses kept in memory in bytes
+   * @param spillDirectory existing directory used only by this cache
+   * @param maxSpillSize maximum total size of spilled responses in bytes
+   */
+  public ResponseCache(long maxSize, File spillDirectory, long maxSpillSize) {
+    checkArgument(maxSize > 0, "maxSize must be positive");
+    checkNotNull(spillDirectory, "spillDirectory cannot be null");
+    checkArgument(spillDirectory.isDirectory(), "spillDirectory must be an existing directory");
+    checkArgument(maxSpillSize > 0, "maxSpillSize must be positive");
+    this.maxSize = maxSize;
+    this.spillDirectory = spillDirectory;
+    this.maxSpillSize = maxSpillSize;
+    File[] files = spillDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (file.getName().endsWith(SPILL_SUFFIX)) {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (!"GET".equals(request.method()) || "text/event-stream".equals(request.header("Accept")) ||
+            !isImmutable(request.url())) {
+      return chain.proceed(request);
+    }
+
+    String key = request.url().toString();
+    Entry entry = get(key);
+    if (entry != null) {
+      hitCount.incrementAndGet();
+      return entry.toResponse(request);
+    }
+    missCount.incrementAndGet();
+
+    Response response = chain.proceed(request);
+    if (response.code() != 200) {
+      return response;
+    }
+    byte[] body;
+    try {
+      body = response.body().bytes();
+    } finally {
+      response.close();
+    }
+    entry = new Entry(key, response.headers(), body);
+    // Empty pages may belong to a ledger that is not closed yet
+    if (!isCollection(request.url()) || !isEmptyPage(body)) {
+      put(entry);
+    }
+    return entry.toResponse(request);
+  }
+
+  /**
+   * Returns true when resource at <code>url</code> never changes once it exists.
+   */
+  static boolean isImmutable(HttpUrl url) {
+    List<String> segments = segments(url);
+    int n = segments.size();
+    if (n >= 2 && isResource(segments.get(n - 2), segments.get(n - 1))) {
+      return true;
+    }
+    return isCollection(url);
+  }
+
+  private static boolean isCollection(HttpUrl url) {
+    List<String> segments = segments(url);
+    int n = segments.size();
+    if (n < 3 || !isResource(segments.get(n - 3), segments.get(n - 2))) {
+      return false;
+    }
+    String collection = segments.get(n - 1);
+    return collection.equals("transactions") || collection.equals("operations") ||
+            collection.equals("payments") || collection.equals("effects");
+  }
+
+  private static boolean isResource(String type, String id) {
+    if (type.equals("ledgers") || type.equals("operations")) {
+      return NUMBER.matcher(id).matches();
+    }
+    return type.equals("transactions") && HASH.matcher(id).matches();
+  }
+
+  private static List<String> segments(HttpUrl url) {
+    List<String> segments = url.pathSegments();
+    if (!segments.isEmpty() && segments.get(segments.size() - 1).isEmpty()) {
+      return segments.subList(0, segments.size() - 1);
+    }
+    return segments;
+  }
+
+  /**
+   * Returns true when <code>body</code> is a page without records. Scans for <code>"records": []</code> instead of
+   * parsing the page.
+   */
+  static boolean isEmptyPage(byte[] body) {
+    byte[] name = "\"records\"".getBytes(UTF_8);
+    outer:
+    for (int i = 0; i <= body.length - name.length; i++) {
+      for (int j = 0; j < name.length; j++) {
+        if (body[i + j] != name[j]) {
+          continue outer;
+        }
+      }
+      int k = skipWhitespace(body, i + name.length);
+      if (k < body.length && body[k] == ':') {
+        k = skipWhitespace(body, k + 1);
+        if (k < body.length && body[k] == '[') {
+          k = skipWhitespace(body, k + 1);
+          return k < body.length && body[k] == ']';
+        }
+      }
+    }
+    return false;
+  }
+
+  private static int skipWhitespace(byte[] body, int i) {
+    while (i < body.length && (body[i] == ' ' || body[i] == '\n' || body[i] == '\r' || body[i] == '\t')) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns number of requests answered from the cache.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns number of cacheable requests sent to the server.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns total size of responses kept in memory in bytes.
+   */
+  public long getSize() {
+    synchronized (memory) {
+      return size;
+    }
+  }
+
+  /**
+   * Returns total size of spilled responses in bytes.
+   */
+  public long getSpillSize() {
+    synchronized (spilled) {
+      return spillSize;
+    }
+  }
+
+  private Entry get(String key) {
+    synchronized (memory) {
+      Entry entry = memory.get(key);
+      if (entry != null) {
+        return entry;
+      }
+    }
+    if (spillDirectory == null) {
+      return null;
+    }
+    Entry entry = unspill(key);
+    if (entry != null) {
+      put(entry);
+    }
+    return entry;
+  }
+
+  private void put(Entry entry) {
+    if (entry.weight > maxSize) {
+      return;
+    }
+    List<Entry> evicted = new ArrayList<Entry>();
+    synchronized (memory) {
+      Entry previous = memory.put(entry.key, entry);
+      size += entry.weight - (previous != null ? previous.weight : 0);
+      Iterator<Entry> eldest = memory.values().iterator();
+      while (size > maxSize) {
+        Entry e = eldest.next();
+        eldest.remove();
+        size -= e.weight;
+        evicted.add(e);
+      }
+    }
+    if (spillDirectory != null) {
+      for (Entry e : evicted) {
+        spill(e);
+      }
+    }
+  }
+
+  private void spill(Entry entry) {
+    synchronized (spilled) {
+      File file = file(entry.key);
+      long length;
+      try {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+          Headers headers = entry.headers;
+          out.writeInt(headers.size());
+          for (int i = 0; i < headers.size(); i++) {
+            out.writeUTF(headers.name(i));
+            out.writeUTF(headers.value(i));
+          }
+          out.writeInt(entry.body.length);
+          out.write(entry.body);
+        } finally {
+          out.close();
+        }
+        length = file.length();
+      } catch (IOException e) {
+        file.delete();
+        return;
+      }
+      Long previous = spilled.put(entry.key, length);
+      spillSize += length - (previous != null ? previous : 0);
+      Iterator<Map.Entry<String, Long>> eldest = spilled.entrySet().iterator();
+      while (spillSize > maxSpillSize) {
+        Map.Entry<String, Long> e = eldest.next();
+        eldest.remove();
+        spillSize -= e.getValue();
+        file(e.getKey()).delete();
+      }
+    }
+  }
+
+  // Moves spilled entry back to memory
+  private Entry unspill(String key) {
+    synchronized (spilled) {
+      Long length = spilled.remove(key);
+      if (length == null) {
+        return null;
+      }
+      spillSize -= length;
+      File file = file(key);
+      try {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+          Headers.Builder headers = new Headers.Builder();
+          int count = in.readInt();
+          for (int i = 0; i < count; i++) {
+            headers.add(in.readUTF(), in.readUTF());
+          }
+          byte[] body = new byte[in.readInt()];
+          in.readFully(body);
+          return new Entry(key, headers.build(), body);
+        } finally {
+          in.close();
+        }
+      } catch (IOException e) {
+        return null;
+      } finally {
+        file.delete();
+      }
+    }
+  }
+
+  private File file(String key) {
+    return new File(spillDirectory, Hashing.sha256().hashString(key, UTF_8).toString() + SPILL_SUFFIX);
+  }
+
+  private static final class Entry {
+    final String key;
+    final Headers headers;
+    final byte[] body;
+    final long weight;
+
+    Entry(String key, Headers headers, byte[] body) {
+      this.key = key;
+      this.headers = headers;
+      this.body = body;
+      long weight = ENTRY_OVERHEAD + 2 * key.length() + body.length;
+      for (int i = 0; i < headers.size(); i++) {
+        weight += 2 * (headers.name(i).length() + headers.value(i).length());
+      }
+      this.weight = weight;
+    }
+
+    Response toResponse(Request request) {
+      String contentType = headers.get("Content-Type");
+      return new Response.Builder()
+              .request(request)
+              .protocol(Protocol.HTTP_1_1)
+              .code(200)
+              .message("OK")
+              .headers(headers)
+              .body(ResponseBody.create(contentType != null ? MediaType.parse(contentType) : null, body))
+              .build();
+    }
+  }
+}
@@ -1,12 +1,19 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.gson.reflect.TypeToken;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import org.stellar.sdk.responses.GsonSingleton;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 public class ResponseHandler<T> {
 
@@ -25,26 +32,81 @@ public class ResponseHandler<T> {
 
   public T handleResponse(final Response response) throws IOException, TooManyRequestsException {
     try {
-      // Too Many Requests
-      if (response.code() == 429) {
-        int retryAfter = Integer.parseInt(response.header("Retry-After"));
-        throw new TooManyRequestsException(retryAfter);
-      }
+      return convert(response);
+    } finally {
+      response.close();
+    }
+  }
+
+  /**
+   * Converts <code>response</code> to the handled type, the response is closed by the caller. Throws
+   * {@link TooManyRequestsException} or {@link ErrorResponse} for error statuses, override to accept them.
+   * @param response response to convert
+   */
+  protected T convert(Response response) throws IOException {
+    // Too Many Requests
+    if (response.code() == 429) {
+      int retryAfter = Integer.parseInt(response.header("Retry-After"));
+      throw new TooManyRequestsException(retryAfter);
+    }
+
+    // Other errors
+    if (response.code() >= 300) {
+      throw new ErrorResponse(response.code(), response.body().string());
+    }
 
-      String content = response.body().string();
+    // Records are deserialized while the body is read, without copying it into a String
+    T object = GsonSingleton.getInstance().fromJson(response.body().charStream(), type.getType());
+    if (object instanceof org.stellar.sdk.responses.Response) {
+      ((org.stellar.sdk.responses.Response) object).setHeaders(response.headers());
+    }
+    return object;
+  }
+
+  /**
+   * Enqueues <code>call</code> in OkHttp dispatcher and returns a future of the handled response.
+   * No thread is blocked while the request is in flight. Number of concurrent requests is limited by
+   * {@link okhttp3.Dispatcher} of the <code>OkHttpClient</code> that created the call.
+   * Cancelling the returned future cancels the call.
+   * @param call call to enqueue
+   * @param executor executor used to read and deserialize the response body and to complete the future
+   */
+  public ListenableFuture<T> handleResponseAsync(final Call call, final Executor executor) {
+    final SettableFuture<T> future = SettableFuture.create();
+    future.addListener(new Runnable() {
+      @Override
+      public void run() {
+        if (future.isCancelled()) {
+          call.cancel();
+        }
+      }
+    }, MoreExecutors.directExecutor());
 
-      // Other errors
-      if (response.code() >= 300) {
-        throw new ErrorResponse(response.code(), content);
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        future.setException(e);
       }
 
-      T object = GsonSingleton.getInstance().fromJson(content, type.getType());
-      if (object instanceof org.stellar.sdk.responses.Response) {
-        ((org.stellar.sdk.responses.Response) object).setHeaders(response.headers());
+      @Override
+      public void onResponse(Call call, final Response response) {
+        try {
+          executor.execute(new Runnable() {
+            @Override
+            public void run() {
+              try {
+                future.set(handleResponse(response));
+              } catch (Throwable e) {
+                future.setException(e);
+              }
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          response.close();
+          future.setException(e);
+        }
       }
-      return object;
-    } finally {
-      response.close();
-    }
+    });
+    return future;
   }
 }
@@ -0,0 +1,420 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Server-Sent Events stream of Horizon records.
+ * <p>Streams use the connection pool and interceptors of the request builder's {@link OkHttpClient}, but run on a
+ * {@link Dispatcher} shared by all streams, so open streams never hold calls or threads of the client's
+ * dispatcher. Events are parsed straight from the response body and their data is
+ * deserialized without building intermediate strings.</p>
+ * <p>The stream remembers paging token of the last processed record. When the connection is lost, it waits with
+ * jittered exponential backoff starting at the delay requested by the server (<code>retry</code> field, 500 ms by
+ * default), pages through the matching REST endpoint from that token to catch up and only then reconnects the live
+ * stream from where the backfill ended. Records with a token not after the last processed one are dropped, so
+ * every record is delivered once and in order.</p>
+ * <p>Every open stream occupies a thread of the stream dispatcher, which is not limited, so streams never wait for
+ * each other.</p>
+ * <p>Records are delivered to the listener one at a time on a dispatcher thread. The last processed token is updated
+ * after the listener returns, so if the listener throws, the stream resumes and the record is delivered again. When it
+ * throws {@link ListenerFailedException} the stream is closed instead.</p>
+ * @param <T> type of records
+ */
+public class SSEStream<T extends Pageable> implements Closeable {
+  static final long DEFAULT_RECONNECT_DELAY = 500;
+  static final long MAX_RECONNECT_DELAY = 60000;
+  static final int BACKFILL_LIMIT = 200;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final ByteString DATA = ByteString.encodeUtf8("data:");
+  private static final ByteString ID = ByteString.encodeUtf8("id:");
+  private static final ByteString RETRY = ByteString.encodeUtf8("retry:");
+  // Sent by Horizon when the stream is opened
+  private static final ByteString HELLO = ByteString.encodeUtf8("\"hello\"\n");
+
+  private static final Random random = new Random();
+  private static final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stellar-sse-reconnect").build());
+  static final Dispatcher DISPATCHER = newDispatcher();
+
+  private final OkHttpClient httpClient;
+  private final HttpUrl uri;
+  private final TypeToken<T> type;
+  private final RecordFilter filter;
+  private final EventListener<? super T> listener;
+  private final StreamLifecycleListener lifecycleListener;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private volatile Call call;
+  private volatile String lastEventId;
+  private volatile long reconnectDelay = DEFAULT_RECONNECT_DELAY;
+  // Failures since the stream was last open, guarded by the callback chain (one call in flight at a time)
+  private volatile int failures;
+
+  /**
+   * @param httpClient client used to send requests
+   * @param uri streamed endpoint
+   * @param type type of the records, ex. <code>new TypeToken&lt;OperationResponse&gt;() {}</code>
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>, can be null
+   * @param listener listener receiving records
+   * @param lifecycleListener listener of connection state changes, can be null
+   */
+  SSEStream(OkHttpClient httpClient, HttpUrl uri, TypeToken<T> type, RecordFilter filter,
+            EventListener<? super T> listener, StreamLifecycleListener lifecycleListener) {
+    checkNotNull(httpClient, "httpClient cannot be null");
+    // Streams stay idle between ledgers, new client shares connection pool and interceptors with httpClient
+    this.httpClient = httpClient.newBuilder().dispatcher(DISPATCHER).readTimeout(0, TimeUnit.MILLISECONDS).build();
+    this.uri = checkNotNull(uri, "uri cannot be null");
+    this.type = checkNotNull(type, "type cannot be null");
+    this.filter = filter;
+    this.listener = checkNotNull(listener, "listener cannot be null");
+    this.lifecycleListener = lifecycleListener;
+  }
+
+  /**
+   * Connects the stream. Called once, by the request builder.
+   */
+  SSEStream<T> open() {
+    connect();
+    return this;
+  }
+
+  /**
+   * Returns streamed endpoint.
+   */
+  public HttpUrl getUri() {
+    return uri;
+  }
+
+  /**
+   * Returns paging token of the last processed record, or null. Records skipped by the filter count as processed.
+   */
+  public String getLastEventId() {
+    return lastEventId;
+  }
+
+  /**
+   * Returns true when the stream has been closed.
+   */
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  /**
+   * Closes the connection and stops reconnecting. No events are delivered after this method returns, except for
+   * an event that is being delivered at the moment.
+   */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    Call current = call;
+    if (current != null) {
+      current.cancel();
+    }
+    if (lifecycleListener != null) {
+      lifecycleListener.onClosed(this);
+    }
+  }
+
+  private static Dispatcher newDispatcher() {
+    ExecutorService executor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stellar-sse-%d").build());
+    // Each stream holds its call for as long as it is open
+    Dispatcher dispatcher = new Dispatcher(executor);
+    dispatcher.setMaxRequests(Integer.MAX_VALUE);
+    dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+    return dispatcher;
+  }
+
+  private void connect() {
+    Request.Builder request = new Request.Builder().get().header("Accept", "text/event-stream");
+    String eventId = lastEventId;
+    if (eventId != null) {
+      request.url(uri.newBuilder().setQueryParameter("cursor", eventId).build()).header("Last-Event-ID", eventId);
+    } else {
+      request.url(uri);
+    }
+    Call newCall = newCall(request.build());
+    if (newCall == null) {
+      return;
+    }
+    newCall.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        failed(e);
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        try {
+          read(response);
+          failed(new EOFException("Stream closed by server"));
+        } catch (IOException e) {
+          failed(e);
+        } catch (RuntimeException e) {
+          failed(e);
+        } finally {
+          response.close();
+        }
+      }
+    });
+  }
+
+  /**
+   * Pages through the REST endpoint from <code>cursor</code>, then connects the stream.
+   */
+  private void backfill(final String cursor) {
+    HttpUrl pageUri = uri.newBuilder()
+            .setQueryParameter("cursor", cursor)
+            .setQueryParameter("order", RequestBuilder.Order.ASC.getValue())
+            .setQueryParameter("limit", String.valueOf(BACKFILL_LIMIT))
+            .build();
+    Call newCall = newCall(new Request.Builder().get().url(pageUri).build());
+    if (newCall == null) {
+      return;
+    }
+    newCall.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        failed(e);
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        try {
+          Page.Links links = new RecordsHandler<T>(type, filter).handleResponse(response, new EventListener<T>() {
+            @Override
+            public void onEvent(T record) {
+              deliver(record, record.getPagingToken());
+            }
+          });
+          // Next link of an empty page points to the requested cursor
+          String next = nextCursor(links);
+          if (next == null || next.equals(cursor)) {
+            connect();
+            return;
+          }
+          if (PagingTokens.isAfter(next, lastEventId)) {
+            // Records skipped by the filter
+            lastEventId = next;
+          }
+          backfill(next);
+        } catch (IOException e) {
+          failed(e);
+        } catch (RuntimeException e) {
+          failed(e);
+        }
+      }
+    });
+  }
+
+  private String nextCursor(Page.Links links) {
+    if (links == null || links.getNext() == null) {
+      return null;
+    }
+    HttpUrl next = uri.resolve(links.getNext().getHref());
+    return next != null ? next.queryParameter("cursor") : null;
+  }
+
+  // Returns null when the stream has been closed
+  private Call newCall(Request request) {
+    Call newCall = httpClient.newCall(request);
+    call = newCall;
+    // close() cancels the call it sees, check again in case it ran before the assignment
+    if (closed.get()) {
+      newCall.cancel();
+      return null;
+    }
+    return newCall;
+  }
+
+  private void read(Response response) throws IOException {
+    // Too Many Requests
+    if (response.code() == 429) {
+      String retryAfter = response.header("Retry-After");
+      throw new TooManyRequestsException(retryAfter != null ? Integer.parseInt(retryAfter) : 0);
+    }
+
+    // Other errors
+    if (response.code() >= 300) {
+      throw new ErrorResponse(response.code(), response.body().string());
+    }
+
+    failures = 0;
+    if (lifecycleListener != null) {
+      lifecycleListener.onOpen(this);
+    }
+    readEvents(response.body().source());
+  }
+
+  private void readEvents(BufferedSource source) throws IOException {
+    Buffer data = new Buffer();
+    String eventId = null;
+    while (!closed.get()) {
+      long newline = source.indexOf((byte) '\n');
+      if (newline < 0) {
+        return;
+      }
+      long length = newline;
+      if (length > 0 && source.buffer().getByte(length - 1) == '\r') {
+        length--;
+      }
+
+      if (length == 0) {
+        // Empty line dispatches the event
+        if (data.size() > 0) {
+          dispatch(data, eventId);
+        }
+        eventId = null;
+      } else if (source.rangeEquals(0, DATA)) {
+        long start = valueStart(source, DATA.size(), length);
+        source.skip(start);
+        source.read(data, length - start);
+        data.writeByte('\n');
+        source.skip(newline - length);
+      } else if (source.rangeEquals(0, ID)) {
+        long start = valueStart(source, ID.size(), length);
+        source.skip(start);
+        eventId = source.readUtf8(length - start);
+        source.skip(newline - length);
+      } else if (source.rangeEquals(0, RETRY)) {
+        long start = valueStart(source, RETRY.size(), length);
+        source.skip(start);
+        String retry = source.readUtf8(length - start);
+        source.skip(newline - length);
+        try {
+          reconnectDelay = Long.parseLong(retry);
+        } catch (NumberFormatException e) {
+          // Ignored as required by the specification
+        }
+      } else {
+        // Comments, event names and unknown fields
+        source.skip(length);
+      }
+      source.skip(1);
+    }
+  }
+
+  // Value starts after the field name and an optional space
+  private static long valueStart(BufferedSource source, long nameLength, long lineLength) {
+    if (nameLength < lineLength && source.buffer().getByte(nameLength) == ' ') {
+      return nameLength + 1;
+    }
+    return nameLength;
+  }
+
+  private void dispatch(Buffer data, String eventId) throws IOException {
+    try {
+      if (data.size() == HELLO.size() && data.rangeEquals(0, HELLO)) {
+        return;
+      }
+      if (eventId != null && !PagingTokens.isAfter(eventId, lastEventId)) {
+        // Already delivered by backfill
+        return;
+      }
+      if (filter != null && !filter.matches(new InputStreamReader(data.clone().inputStream(), UTF_8))) {
+        if (eventId != null) {
+          lastEventId = eventId;
+        }
+        return;
+      }
+      T record = GsonSingleton.getInstance().fromJson(new InputStreamReader(data.inputStream(), UTF_8), type.getType());
+      deliver(record, eventId != null ? eventId : record.getPagingToken());
+    } finally {
+      data.clear();
+    }
+  }
+
+  private void deliver(T record, String pagingToken) {
+    if (closed.get() || (pagingToken != null && !PagingTokens.isAfter(pagingToken, lastEventId))) {
+      return;
+    }
+    listener.onEvent(record);
+    if (pagingToken != null) {
+      lastEventId = pagingToken;
+    }
+  }
+
+  private void failed(Throwable error) {
+    if (closed.get()) {
+      // Cancelled by close()
+      return;
+    }
+    if (lifecycleListener != null) {
+      lifecycleListener.onFailure(this, error);
+    }
+    if (error instanceof ListenerFailedException) {
+      // A stage behind the listener has stopped, resuming would fail again
+      close();
+      return;
+    }
+    if (error instanceof ErrorResponse) {
+      int code = ((ErrorResponse) error).getCode();
+      if (code >= 400 && code < 500) {
+        close();
+        return;
+      }
+    }
+    long delay = backoff(reconnectDelay, failures++);
+    if (error instanceof TooManyRequestsException) {
+      delay = Math.max(delay, TimeUnit.SECONDS.toMillis(((TooManyRequestsException) error).getRetryAfter()));
+    }
+    reconnectScheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        if (closed.get()) {
+          return;
+        }
+        String cursor = lastEventId;
+        if (cursor != null) {
+          backfill(cursor);
+        } else {
+          connect();
+        }
+      }
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns random delay between half and full of <code>baseDelay</code> doubled <code>failures</code> times,
+   * capped at {@link #MAX_RECONNECT_DELAY}, so streams dropped together do not reconnect together.
+   */
+  static long backoff(long baseDelay, int failures) {
+    long max = Math.max(1, baseDelay);
+    for (int i = 0; i < failures && max < MAX_RECONNECT_DELAY; i++) {
+      max *= 2;
+    }
+    max = Math.min(max, MAX_RECONNECT_DELAY);
+    return max / 2 + random.nextInt((int) (max - max / 2) + 1);
+  }
+}
@@ -0,0 +1,193 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * OkHttp interceptor coalescing identical concurrent <code>GET</code> requests.
+ * <p>The first request for a URL is sent to the server, requests for the same URL made while it is in flight wait
+ * for it and receive a copy of its response. Only the response body is shared, every caller deserializes its own
+ * objects so mutable responses like {@link org.stellar.sdk.responses.AccountResponse} are never shared between
+ * threads. When nobody waits for a request its response is passed through without buffering.</p>
+ * <p>With a freshness window set, a response is also reused by requests made within the window after it was
+ * received, errors are not reused. The window is empty by default: a reused account response may hold a stale sequence number.</p>
+ * <p>Requests sent with <code>enqueue</code> wait on OkHttp dispatcher threads. Streams
+ * (<code>Accept: text/event-stream</code>) are never coalesced. Used by {@link org.stellar.sdk.Server} by default.</p>
+ */
+public class SingleFlight implements Interceptor {
+  private volatile long freshness;
+  // Guarded by itself
+  private final Map<String, Flight> flights = new HashMap<String, Flight>();
+  // Completed flights kept for the freshness window, in completion order. Guarded by flights
+  private final ArrayDeque<Flight> fresh = new ArrayDeque<Flight>();
+
+  /**
+   * Sets how long a response is reused by later requests for the same URL. Zero, the default, shares responses
+   * only between concurrent requests.
+   * @param duration freshness window, non-negative
+   * @param unit unit of <code>duration</code>
+   */
+  public void setFreshness(long duration, TimeUnit unit) {
+    checkArgument(duration >= 0, "duration must be non-negative");
+    checkNotNull(unit, "unit cannot be null");
+    this.freshness = unit.toNanos(duration);
+  }
+
+  /**
+   * Returns freshness window in milliseconds.
+   */
+  public long getFreshness() {
+    return TimeUnit.NANOSECONDS.toMillis(freshness);
+  }
+
+  /**
+   * Returns number of requests in flight or responses within the freshness window.
+   */
+  public int getFlightCount() {
+    synchronized (flights) {
+      return flights.size();
+    }
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (!"GET".equals(request.method()) || "text/event-stream".equals(request.header("Accept"))) {
+      return chain.proceed(request);
+    }
+
+    String key = request.url().toString();
+    Flight flight;
+    boolean leader = false;
+    synchronized (flights) {
+      expire(System.nanoTime());
+      flight = flights.get(key);
+      if (flight == null) {
+        flight = new Flight(key);
+        flights.put(key, flight);
+        leader = true;
+      } else {
+        flight.followers++;
+      }
+    }
+
+    if (leader) {
+      return lead(chain, flight);
+    }
+    return follow(request, flight);
+  }
+
+  private Response lead(Chain chain, Flight flight) throws IOException {
+    Response response;
+    try {
+      response = chain.proceed(chain.request());
+    } catch (IOException e) {
+      fail(flight, e);
+      throw e;
+    } catch (RuntimeException e) {
+      fail(flight, e);
+      throw e;
+    }
+
+    synchronized (flights) {
+      if (flight.followers == 0 && freshness == 0) {
+        // Nobody to share with, the body is streamed to the caller
+        flights.remove(flight.key);
+        return response;
+      }
+    }
+
+    byte[] body;
+    MediaType contentType = response.body().contentType();
+    try {
+      body = response.body().bytes();
+    } catch (IOException e) {
+      fail(flight, e);
+      throw e;
+    } finally {
+      response.close();
+    }
+    Response shared = response.newBuilder().body(null).build();
+    flight.contentType = contentType;
+    flight.body = body;
+    synchronized (flights) {
+      // Errors are shared only with concurrent requests
+      if (freshness > 0 && response.isSuccessful()) {
+        flight.expiresAt = System.nanoTime() + freshness;
+        fresh.add(flight);
+      } else {
+        flights.remove(flight.key);
+      }
+    }
+    flight.result.set(shared);
+    return copy(shared, shared.request(), flight);
+  }
+
+  private Response follow(Request request, Flight flight) throws IOException {
+    Response shared;
+    try {
+      shared = flight.result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for coalesced request.");
+    } catch (ExecutionException e) {
+      throw new IOException("Coalesced request failed: " + e.getCause().getMessage(), e.getCause());
+    }
+    return copy(shared, request, flight);
+  }
+
+  private void fail(Flight flight, Throwable e) {
+    synchronized (flights) {
+      flights.remove(flight.key);
+    }
+    flight.result.setException(e);
+  }
+
+  // Guarded by flights
+  private void expire(long now) {
+    while (!fresh.isEmpty() && fresh.peek().expiresAt - now <= 0) {
+      Flight flight = fresh.poll();
+      if (flights.get(flight.key) == flight) {
+        flights.remove(flight.key);
+      }
+    }
+  }
+
+  private static Response copy(Response shared, Request request, Flight flight) {
+    return shared.newBuilder()
+            .request(request)
+            .body(ResponseBody.create(flight.contentType, flight.body))
+            .build();
+  }
+
+  private static final class Flight {
+    final String key;
+    final SettableFuture<Response> result = SettableFuture.create();
+    // Guarded by flights
+    int followers;
+    long expiresAt;
+    // Published by result
+    MediaType contentType;
+    byte[] body;
+
+    Flight(String key) {
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package org.stellar.sdk.requests;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Bounded buffer between a stream and a slower consumer, applying {@link OverflowPolicy} when full.
+ * @param <T> type of records
+ */
+final class StreamBuffer<T> {
+  // How often a blocked producer checks whether the buffer has been closed
+  private static final long BLOCK_CHECK_INTERVAL = 100;
+
+  private final ArrayBlockingQueue<T> queue;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile boolean closed;
+
+  StreamBuffer(int capacity, OverflowPolicy overflowPolicy) {
+    checkArgument(capacity > 0, "capacity must be positive");
+    this.queue = new ArrayBlockingQueue<T>(capacity);
+    this.capacity = capacity;
+    this.overflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+  }
+
+  /**
+   * Adds <code>record</code> to the buffer.
+   * @return false when the buffer has been closed and the record was not added
+   * @throws StreamOverflowException when the buffer is full and the policy is
+   *         {@link OverflowPolicy#DISCONNECT_AND_RESUME}
+   */
+  boolean offer(T record) {
+    checkNotNull(record, "record cannot be null");
+    if (closed) {
+      return false;
+    }
+    switch (overflowPolicy) {
+      case BLOCK:
+        try {
+          while (!queue.offer(record, BLOCK_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+            if (closed) {
+              return false;
+            }
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        }
+        return true;
+      case DROP_OLDEST:
+        while (!queue.offer(record)) {
+          if (queue.poll() != null) {
+            dropped.incrementAndGet();
+          }
+        }
+        return true;
+      default:
+        if (!queue.offer(record)) {
+          throw new StreamOverflowException(capacity);
+        }
+        return true;
+    }
+  }
+
+  T poll() {
+    return queue.poll();
+  }
+
+  T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return queue.poll(timeout, unit);
+  }
+
+  int drainTo(Collection<? super T> records, int maxRecords) {
+    return queue.drainTo(records, maxRecords);
+  }
+
+  boolean isEmpty() {
+    return queue.isEmpty();
+  }
+
+  long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops accepting records. Buffered records can still be polled.
+   */
+  void close() {
+    closed = true;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+}
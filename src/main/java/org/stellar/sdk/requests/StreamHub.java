@@ -0,0 +1,331 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Shares Horizon streams between subscribers.
+ * <p>Subscriptions to the same stream URL (compared after sorting query parameters) use a single upstream
+ * {@link SSEStream}: every event is read and deserialized once and then passed to all subscribers. The upstream
+ * stream is opened with the first subscription and closed when the last one is closed. A subscriber joining a stream
+ * that is already open receives records from that moment on.</p>
+ * <p>Each subscriber has its own queue of <code>queueCapacity</code> records drained in order on the hub executor,
+ * so a slow listener does not delay the upstream stream or other subscribers. When the queue of a subscriber is
+ * full, its oldest record is dropped and counted in {@link Subscription#getDroppedCount()}.</p>
+ * <p>When the server rejects the stream with a client error the upstream stream closes itself, its subscriptions
+ * are closed after delivering queued records and report the error in {@link Subscription#getFailure()}. The next
+ * subscription to the same URL opens a new stream.</p>
+ * <p>When a listener throws, its subscription is closed with the exception in {@link Subscription#getFailure()}
+ * and its queued records are discarded, other subscribers of the stream are not affected.</p>
+ * <pre>
+ * StreamHub hub = new StreamHub();
+ * StreamHub.Subscription subscription = server.payments().forAccount(account).subscribe(hub, listener);
+ * </pre>
+ * <p>This class is thread-safe.</p>
+ */
+public class StreamHub implements Closeable {
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final int queueCapacity;
+  private final Executor executor;
+  // Guarded by this
+  private final Map<String, Channel<?>> channels = new HashMap<String, Channel<?>>();
+  private boolean closed;
+
+  /**
+   * Creates hub with default queue capacity delivering records on daemon threads.
+   */
+  public StreamHub() {
+    this(DEFAULT_QUEUE_CAPACITY, Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stellar-stream-hub-%d").build()));
+  }
+
+  /**
+   * @param queueCapacity maximum number of records waiting for each subscriber
+   * @param executor executor running listeners of subscribers, a subscriber uses at most one thread at a time
+   */
+  public StreamHub(int queueCapacity, Executor executor) {
+    checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+    this.queueCapacity = queueCapacity;
+    this.executor = checkNotNull(executor, "executor cannot be null");
+  }
+
+  /**
+   * Returns stream key, the URL with query parameters sorted by name.
+   */
+  static String normalize(HttpUrl uri) {
+    List<String> names = new ArrayList<String>(uri.queryParameterNames());
+    Collections.sort(names);
+    HttpUrl.Builder builder = uri.newBuilder().query(null).fragment(null);
+    for (String name : names) {
+      for (String value : uri.queryParameterValues(name)) {
+        builder.addQueryParameter(name, value);
+      }
+    }
+    return builder.build().toString();
+  }
+
+  /**
+   * Subscribes <code>listener</code> to records of stream at <code>uri</code>. Used by request builders.
+   */
+  <T extends Pageable> Subscription subscribe(OkHttpClient httpClient, HttpUrl uri, TypeToken<T> type, EventListener<? super T> listener) {
+    checkNotNull(listener, "listener cannot be null");
+    String key = normalize(uri);
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("StreamHub has been closed.");
+      }
+      @SuppressWarnings("unchecked")
+      Channel<T> channel = (Channel<T>) channels.get(key);
+      boolean open = channel == null;
+      if (open) {
+        channel = new Channel<T>(key);
+        channels.put(key, channel);
+      }
+      Subscriber<T> subscriber = new Subscriber<T>(channel, listener);
+      channel.subscribers.add(subscriber);
+      if (open) {
+        channel.stream = new SSEStream<T>(httpClient, uri, type, null, channel, channel).open();
+      }
+      return subscriber;
+    }
+  }
+
+  /**
+   * Returns number of open upstream streams.
+   */
+  public synchronized int getStreamsCount() {
+    return channels.size();
+  }
+
+  /**
+   * Closes all upstream streams and subscriptions.
+   */
+  @Override
+  public void close() {
+    List<Channel<?>> all;
+    synchronized (this) {
+      closed = true;
+      all = new ArrayList<Channel<?>>(channels.values());
+      channels.clear();
+    }
+    for (Channel<?> channel : all) {
+      for (Subscriber<?> subscriber : channel.subscribers) {
+        subscriber.stop();
+      }
+      channel.stream.close();
+    }
+  }
+
+  private synchronized void remove(Channel<?> channel) {
+    if (channels.get(channel.key) == channel) {
+      channels.remove(channel.key);
+    }
+  }
+
+  private void unsubscribe(Subscriber<?> subscriber) {
+    SSEStream<?> stream = null;
+    synchronized (this) {
+      Channel<?> channel = subscriber.channel;
+      if (!channel.subscribers.remove(subscriber)) {
+        return;
+      }
+      if (channel.subscribers.isEmpty() && channels.get(channel.key) == channel) {
+        channels.remove(channel.key);
+        stream = channel.stream;
+      }
+    }
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  /**
+   * Subscription to a stream of {@link StreamHub}. Closing it stops delivery of records to the listener.
+   */
+  public interface Subscription extends Closeable {
+    /**
+     * Returns number of records dropped because the queue of this subscriber was full.
+     */
+    long getDroppedCount();
+
+    /**
+     * Returns upstream stream shared by subscribers of the same URL.
+     */
+    SSEStream<?> getStream();
+
+    /**
+     * Returns true when this subscription was closed or its upstream stream has closed itself.
+     */
+    boolean isClosed();
+
+    /**
+     * Returns exception thrown by the listener, which closed this subscription, or the last failure of the upstream
+     * stream when it has closed itself, ex. {@link ErrorResponse} with code 404, or null.
+     */
+    Throwable getFailure();
+
+    /**
+     * Stops delivery of records. The upstream stream is closed when this is its last subscription.
+     */
+    @Override
+    void close();
+  }
+
+  // Upstream stream passing records to subscribers
+  private final class Channel<T extends Pageable> implements EventListener<T>, StreamLifecycleListener {
+    private final String key;
+    private final List<Subscriber<T>> subscribers = new CopyOnWriteArrayList<Subscriber<T>>();
+    private volatile SSEStream<T> stream;
+    private volatile Throwable failure;
+
+    Channel(String key) {
+      this.key = key;
+    }
+
+    @Override
+    public void onEvent(T record) {
+      for (Subscriber<T> subscriber : subscribers) {
+        subscriber.offer(record);
+      }
+    }
+
+    @Override
+    public void onOpen(SSEStream<?> stream) {
+      failure = null;
+    }
+
+    @Override
+    public void onFailure(SSEStream<?> stream, Throwable error) {
+      failure = error;
+    }
+
+    @Override
+    public void onClosed(SSEStream<?> stream) {
+      // Closed by the hub or by the stream itself after a client error, next subscription opens a new stream
+      remove(this);
+      for (Subscriber<T> subscriber : subscribers) {
+        subscriber.upstreamClosed(failure);
+      }
+    }
+  }
+
+  private final class Subscriber<T extends Pageable> implements Subscription, Runnable {
+    private final Channel<T> channel;
+    private final EventListener<? super T> listener;
+    // Guarded by this
+    private final ArrayDeque<T> queue = new ArrayDeque<T>();
+    private boolean draining;
+    private boolean stopped;
+    private boolean upstreamClosed;
+    private Throwable failure;
+    private long dropped;
+
+    Subscriber(Channel<T> channel, EventListener<? super T> listener) {
+      this.channel = channel;
+      this.listener = listener;
+    }
+
+    void offer(T record) {
+      synchronized (this) {
+        if (stopped) {
+          return;
+        }
+        if (queue.size() >= queueCapacity) {
+          queue.poll();
+          dropped++;
+        }
+        queue.add(record);
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      executor.execute(this);
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        T record;
+        synchronized (this) {
+          record = stopped ? null : queue.poll();
+          if (record == null) {
+            draining = false;
+            return;
+          }
+        }
+        try {
+          listener.onEvent(record);
+        } catch (RuntimeException e) {
+          failed(e);
+          unsubscribe(this);
+          return;
+        }
+      }
+    }
+
+    private synchronized void failed(RuntimeException e) {
+      stop();
+      draining = false;
+      failure = e;
+    }
+
+    synchronized void stop() {
+      stopped = true;
+      queue.clear();
+    }
+
+    // Queued records are still delivered
+    synchronized void upstreamClosed(Throwable failure) {
+      if (!stopped) {
+        this.upstreamClosed = true;
+        this.failure = failure;
+      }
+    }
+
+    @Override
+    public synchronized boolean isClosed() {
+      return stopped || upstreamClosed;
+    }
+
+    @Override
+    public synchronized Throwable getFailure() {
+      return failure;
+    }
+
+    @Override
+    public synchronized long getDroppedCount() {
+      return dropped;
+    }
+
+    @Override
+    public SSEStream<?> getStream() {
+      return channel.stream;
+    }
+
+    @Override
+    public void close() {
+      stop();
+      unsubscribe(this);
+    }
+  }
+}
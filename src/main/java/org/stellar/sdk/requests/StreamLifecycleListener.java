@@ -0,0 +1,29 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Receives connection state changes of an {@link SSEStream}.
+ * Methods are called on OkHttp dispatcher threads and should return quickly.
+ */
+public interface StreamLifecycleListener {
+  /**
+   * Called every time the stream is connected, including reconnections.
+   * @param stream connected stream
+   */
+  void onOpen(SSEStream<?> stream);
+
+  /**
+   * Called when connecting failed or an open connection was lost. The stream reconnects afterwards, unless the
+   * server rejected the request with a client error (4xx other than 429) or the listener threw
+   * {@link ListenerFailedException}, in which case the stream is closed.
+   * @param stream failed stream
+   * @param error cause of the failure, ex. {@link ErrorResponse}, {@link TooManyRequestsException},
+   *              <code>IOException</code> or an exception thrown by the event listener
+   */
+  void onFailure(SSEStream<?> stream, Throwable error);
+
+  /**
+   * Called once, when the stream is closed.
+   * @param stream closed stream
+   */
+  void onClosed(SSEStream<?> stream);
+}
@@ -0,0 +1,11 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Thrown when a record does not fit in the buffer of a stream using {@link OverflowPolicy#DISCONNECT_AND_RESUME}.
+ * Reported to {@link StreamLifecycleListener#onFailure(SSEStream, Throwable)} before the stream resumes.
+ */
+public class StreamOverflowException extends RuntimeException {
+  public StreamOverflowException(int capacity) {
+    super("Stream buffer of " + capacity + " records is full.");
+  }
+}
@@ -0,0 +1,212 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.stellar.sdk.responses.Pageable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Publishes records of a stream to a single subscriber with demand-driven flow control.
+ * <p>The stream is opened when the subscriber subscribes. Records are buffered until the subscriber requests them
+ * with {@link Subscription#request(long)}; when the buffer is full, {@link OverflowPolicy} applies. With
+ * {@link OverflowPolicy#BLOCK} the connection is not read until there is demand again. Records are passed to
+ * {@link Subscriber#onNext(Object)} one at a time, on the thread reading the stream or the one calling
+ * <code>request</code>.</p>
+ * <p>{@link Subscriber} and {@link Subscription} follow the Reactive Streams contract, so adapting them to
+ * <code>org.reactivestreams</code> or <code>java.util.concurrent.Flow</code> takes a few lines. The stream never
+ * completes; {@link Subscriber#onError(Throwable)} is called when the server rejects the request.</p>
+ * @param <T> type of records
+ */
+public class StreamPublisher<T extends Pageable> {
+  private final OkHttpClient httpClient;
+  private final HttpUrl uri;
+  private final TypeToken<T> type;
+  private final RecordFilter filter;
+  private final int bufferSize;
+  private final OverflowPolicy overflowPolicy;
+  private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+  StreamPublisher(OkHttpClient httpClient, HttpUrl uri, TypeToken<T> type, RecordFilter filter, int bufferSize,
+                  OverflowPolicy overflowPolicy) {
+    checkArgument(bufferSize > 0, "bufferSize must be positive");
+    this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
+    this.uri = checkNotNull(uri, "uri cannot be null");
+    this.type = checkNotNull(type, "type cannot be null");
+    this.filter = filter;
+    this.bufferSize = bufferSize;
+    this.overflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+  }
+
+  /**
+   * Subscribes <code>subscriber</code> and opens the stream. Only one subscriber is supported, others receive
+   * <code>IllegalStateException</code> in {@link Subscriber#onError(Throwable)}.
+   * @param subscriber subscriber receiving records
+   */
+  public void subscribe(Subscriber<? super T> subscriber) {
+    checkNotNull(subscriber, "subscriber cannot be null");
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(new Subscription() {
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+      });
+      subscriber.onError(new IllegalStateException("StreamPublisher allows only one subscriber."));
+      return;
+    }
+    Delivery delivery = new Delivery(subscriber);
+    subscriber.onSubscribe(delivery);
+    delivery.open();
+  }
+
+  /**
+   * Receives records from {@link StreamPublisher}.
+   */
+  public interface Subscriber<T> {
+    /**
+     * Called once, before any other method.
+     * @param subscription subscription used to request records and cancel
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Called with the next record, never more times than requested.
+     */
+    void onNext(T record);
+
+    /**
+     * Called once when the stream has failed permanently. No other methods are called afterwards.
+     */
+    void onError(Throwable error);
+
+    /**
+     * Called once when no more records will be published. No other methods are called afterwards.
+     */
+    void onComplete();
+  }
+
+  /**
+   * Link between {@link StreamPublisher} and its {@link Subscriber}.
+   */
+  public interface Subscription {
+    /**
+     * Requests <code>n</code> more records. Non-positive values fail the subscription.
+     */
+    void request(long n);
+
+    /**
+     * Stops publishing and closes the stream.
+     */
+    void cancel();
+  }
+
+  private final class Delivery implements Subscription, EventListener<T>, StreamLifecycleListener {
+    private final Subscriber<? super T> subscriber;
+    private final StreamBuffer<T> buffer = new StreamBuffer<T>(bufferSize, overflowPolicy);
+    private final AtomicLong demand = new AtomicLong();
+    // Number of drain requests, only the caller changing it from 0 drains
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable lastFailure;
+    private volatile Throwable error;
+    private volatile SSEStream<T> stream;
+
+    Delivery(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    void open() {
+      if (!cancelled) {
+        stream = new SSEStream<T>(httpClient, uri, type, filter, this, this).open();
+        if (cancelled) {
+          stream.close();
+        }
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        error = new IllegalArgumentException("Number of requested records must be positive (Reactive Streams rule 3.9).");
+      } else {
+        long current;
+        long next;
+        do {
+          current = demand.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!demand.compareAndSet(current, next));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      buffer.close();
+      SSEStream<T> current = stream;
+      if (current != null) {
+        current.close();
+      }
+    }
+
+    @Override
+    public void onEvent(T record) {
+      buffer.offer(record);
+      drain();
+    }
+
+    @Override
+    public void onOpen(SSEStream<?> stream) {}
+
+    @Override
+    public void onFailure(SSEStream<?> stream, Throwable failure) {
+      lastFailure = failure;
+    }
+
+    @Override
+    public void onClosed(SSEStream<?> stream) {
+      if (!cancelled) {
+        // Closed by the stream itself after the server rejected the request
+        error = lastFailure;
+        drain();
+      }
+    }
+
+    private void drain() {
+      if (pending.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        while (!cancelled && demand.get() > 0) {
+          T record = buffer.poll();
+          if (record == null) {
+            break;
+          }
+          demand.decrementAndGet();
+          try {
+            subscriber.onNext(record);
+          } catch (RuntimeException e) {
+            // Subscribers must not throw (Reactive Streams rule 2.13)
+            cancel();
+          }
+        }
+        Throwable failure = error;
+        if (!cancelled && failure != null && (buffer.isEmpty() || failure instanceof IllegalArgumentException)) {
+          cancel();
+          subscriber.onError(failure);
+        }
+        missed = pending.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
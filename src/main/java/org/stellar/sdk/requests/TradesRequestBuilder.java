@@ -1,5 +1,7 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
@@ -12,6 +14,7 @@ import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.TradeResponse;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 /**
  * Builds requests connected to trades.
@@ -50,10 +53,40 @@ public class TradesRequestBuilder extends RequestBuilder {
         return responseHandler.handleResponse(response);
     }
 
+    /**
+     * Requests specific <code>uri</code> asynchronously and returns a future of {@link TradeResponse}.
+     * @param executor executor used to deserialize the response and complete the future
+     * @return future of {@link TradeResponse}
+     */
+    public static ListenableFuture<TradeResponse> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+        TypeToken type = new TypeToken<TradeResponse>() {};
+        ResponseHandler<TradeResponse> responseHandler = new ResponseHandler<TradeResponse>(type);
+
+        Request request = new Request.Builder().get().url(uri).build();
+        return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+    }
+
     public TradeResponse execute() throws IOException, TooManyRequestsException {
         return this.execute(this.httpClient, this.buildUri());
     }
 
+    /**
+     * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+     * @return future of {@link TradeResponse}
+     */
+    public ListenableFuture<TradeResponse> executeAsync() {
+        return this.executeAsync(MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Build and execute request asynchronously.
+     * @param executor executor used to deserialize the response and complete the future
+     * @return future of {@link TradeResponse}
+     */
+    public ListenableFuture<TradeResponse> executeAsync(Executor executor) {
+        return this.executeAsync(this.httpClient, this.buildUri(), executor);
+    }
+
     public TradesRequestBuilder offerId(String offerId) {
         uriBuilder.setQueryParameter("offer_id", offerId);
         return this;
@@ -0,0 +1,46 @@
+package org.stellar.sdk.requests;
+
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transaction with its operations and effects, ordered by paging token.
+ * @see TransactionJoiner
+ */
+public final class TransactionBundle {
+  private final TransactionResponse transaction;
+  private final List<OperationResponse> operations;
+  private final List<EffectResponse> effects;
+  private final boolean complete;
+
+  TransactionBundle(TransactionResponse transaction, List<OperationResponse> operations, List<EffectResponse> effects,
+                    boolean complete) {
+    this.transaction = transaction;
+    this.operations = Collections.unmodifiableList(operations);
+    this.effects = Collections.unmodifiableList(effects);
+    this.complete = complete;
+  }
+
+  public TransactionResponse getTransaction() {
+    return transaction;
+  }
+
+  public List<OperationResponse> getOperations() {
+    return operations;
+  }
+
+  public List<EffectResponse> getEffects() {
+    return effects;
+  }
+
+  /**
+   * Returns false when records were missing from the streams and fetching them from Horizon failed.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+}
@@ -0,0 +1,13 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Receives transactions joined with their operations and effects.
+ * @see TransactionJoiner
+ */
+public interface TransactionBundleListener {
+  /**
+   * Called with the next transaction, in order of paging tokens.
+   * @param bundle transaction with its operations and effects
+   */
+  void onBundle(TransactionBundle bundle);
+}
@@ -0,0 +1,444 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.stellar.sdk.responses.Link;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.Pageable;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Joins records of transactions, operations and effects streams into {@link TransactionBundle}s.
+ * <p>IDs of operations and effects start with the ID of their transaction, so records are matched by paging token and
+ * kept in a reorder buffer until their transaction is complete: all its operations have arrived (compared with its
+ * operation count) and the effects stream has moved past it. Bundles are passed in order of paging tokens on a
+ * dedicated daemon thread.</p>
+ * <p>When more than <code>maxPending</code> transactions wait in the buffer, or the oldest one has waited longer than
+ * <code>maxDelay</code>, the oldest transaction is completed by fetching the operations and effects of its whole
+ * ledger from its <code>ledger</code> link. Records of the last fetched ledger are reused for its following
+ * transactions, so a lagging input costs one paged request per ledger rather than per transaction. Only the inputs in
+ * use are fetched.</p>
+ * <pre>
+ * TransactionJoiner joiner = new TransactionJoiner.Builder(server.getHttpClient(), listener).build();
+ * server.transactions().cursor(cursor).stream(joiner.transactions());
+ * server.operations().cursor(cursor).stream(joiner.operations());
+ * server.effects().cursor(cursor).stream(joiner.effects());
+ * </pre>
+ * <p>The transactions input is required. Obtain the listeners of all inputs before opening the streams. Operations
+ * and effects whose transaction was already passed or never arrives are dropped and counted in
+ * {@link #getDroppedCount()}.</p>
+ * <p>When the listener throws, the joiner stops without passing later bundles and {@link #getFailure()} returns the
+ * exception. The input listeners then throw {@link ListenerFailedException}, which closes their streams, so a
+ * consumer resumes from the last bundle it committed.</p>
+ */
+public class TransactionJoiner implements Closeable {
+  // How often the oldest transaction is checked for maxDelay
+  private static final long CHECK_INTERVAL = 100;
+  private static final int FETCH_LIMIT = 200;
+  // Lower 12 bits of operation IDs are the index of the operation in its transaction
+  private static final long OPERATION_INDEX_MASK = 0xfff;
+
+  private final OkHttpClient httpClient;
+  private final TransactionBundleListener listener;
+  private final int maxPending;
+  private final long maxDelayNanos;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stellar-transaction-joiner").build());
+  private final Runnable emitTask = new Runnable() {
+    @Override
+    public void run() {
+      emitReady();
+    }
+  };
+  // Guarded by this
+  private final TreeMap<Long, Entry> entries = new TreeMap<Long, Entry>();
+  private final Input<TransactionResponse> transactions = new Input<TransactionResponse>();
+  private final Input<OperationResponse> operations = new Input<OperationResponse>();
+  private final Input<EffectResponse> effects = new Input<EffectResponse>();
+  private long lastEmitted = -1;
+  private long droppedCount;
+  private boolean closed;
+  private volatile RuntimeException failure;
+  // Used by the executor thread only
+  private final LedgerRecords<OperationResponse> ledgerOperations = new LedgerRecords<OperationResponse>("operations") {
+    @Override
+    Page<OperationResponse> fetch(HttpUrl uri) throws IOException {
+      return OperationsRequestBuilder.execute(httpClient, uri);
+    }
+  };
+  private final LedgerRecords<EffectResponse> ledgerEffects = new LedgerRecords<EffectResponse>("effects") {
+    @Override
+    Page<EffectResponse> fetch(HttpUrl uri) throws IOException {
+      return EffectsRequestBuilder.execute(httpClient, uri);
+    }
+  };
+
+  private TransactionJoiner(OkHttpClient httpClient, TransactionBundleListener listener, int maxPending,
+                            long maxDelayNanos) {
+    this.httpClient = httpClient;
+    this.listener = listener;
+    this.maxPending = maxPending;
+    this.maxDelayNanos = maxDelayNanos;
+  }
+
+  private void start() {
+    executor.scheduleWithFixedDelay(emitTask, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns listener for the transactions stream.
+   */
+  public synchronized EventListener<TransactionResponse> transactions() {
+    transactions.used = true;
+    return transactions;
+  }
+
+  /**
+   * Returns listener for the operations stream.
+   */
+  public synchronized EventListener<OperationResponse> operations() {
+    operations.used = true;
+    return operations;
+  }
+
+  /**
+   * Returns listener for the effects stream.
+   */
+  public synchronized EventListener<EffectResponse> effects() {
+    effects.used = true;
+    return effects;
+  }
+
+  /**
+   * Returns number of operations and effects dropped because their transaction was already passed or never arrived.
+   */
+  public synchronized long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * Returns exception thrown by the listener, which stopped the joiner, or null.
+   */
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Stops passing bundles. Transactions waiting in the buffer are discarded.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+      entries.clear();
+    }
+    executor.shutdown();
+  }
+
+  /**
+   * Returns ID of the transaction of a transaction, operation or effect, or -1.
+   */
+  static long transactionIdOf(String pagingToken) {
+    if (pagingToken == null) {
+      return -1;
+    }
+    int dash = pagingToken.indexOf('-');
+    try {
+      long id = Long.parseLong(dash >= 0 ? pagingToken.substring(0, dash) : pagingToken);
+      return id & ~OPERATION_INDEX_MASK;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private <T extends Pageable> void received(Input<T> input, T record) {
+    if (failure != null) {
+      throw new ListenerFailedException(failure);
+    }
+    long id = transactionIdOf(record.getPagingToken());
+    if (id < 0) {
+      return;
+    }
+    boolean check;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (id <= lastEmitted) {
+        if (input != transactions) {
+          droppedCount++;
+        }
+        return;
+      }
+      Entry entry = entries.get(id);
+      if (entry == null) {
+        entry = new Entry(System.nanoTime());
+        entries.put(id, entry);
+      }
+      if (input == transactions) {
+        entry.transaction = (TransactionResponse) record;
+      } else if (input == operations) {
+        entry.operations.add((OperationResponse) record);
+      } else {
+        entry.effects.add((EffectResponse) record);
+      }
+      check = id > input.lastId || entries.size() > maxPending || id == entries.firstKey();
+      input.lastId = Math.max(input.lastId, id);
+    }
+    if (check) {
+      try {
+        executor.execute(emitTask);
+      } catch (RejectedExecutionException e) {
+        // Closed
+      }
+    }
+  }
+
+  // Runs on the executor thread only, so bundles are passed in order
+  private void emitReady() {
+    while (true) {
+      long id;
+      Entry entry;
+      boolean forced;
+      synchronized (this) {
+        if (closed || entries.isEmpty()) {
+          return;
+        }
+        Map.Entry<Long, Entry> first = entries.firstEntry();
+        id = first.getKey();
+        entry = first.getValue();
+        forced = entries.size() > maxPending || System.nanoTime() - entry.receivedAt >= maxDelayNanos;
+        if (entry.transaction == null) {
+          if (!forced && transactions.lastId <= id) {
+            return;
+          }
+          // Transaction is not coming
+          entries.remove(id);
+          lastEmitted = id;
+          droppedCount += entry.operations.size() + entry.effects.size();
+          continue;
+        }
+        if (!forced && !isComplete(id, entry)) {
+          return;
+        }
+        entries.remove(id);
+        lastEmitted = id;
+      }
+
+      TransactionBundle bundle = complete(id, entry);
+      try {
+        listener.onBundle(bundle);
+      } catch (RuntimeException e) {
+        failure = e;
+        close();
+        return;
+      }
+    }
+  }
+
+  // Guarded by this
+  private boolean isComplete(long id, Entry entry) {
+    Integer operationCount = entry.transaction.getOperationCount();
+    boolean operationsComplete = !operations.used || operations.lastId > id
+            || (operationCount != null && entry.operations.size() >= operationCount);
+    return operationsComplete && (!effects.used || effects.lastId > id);
+  }
+
+  // Fetches missing records of a removed entry
+  private TransactionBundle complete(long id, Entry entry) {
+    boolean complete = true;
+    boolean fetchOperations;
+    boolean fetchEffects;
+    synchronized (this) {
+      fetchOperations = !isOperationsComplete(id, entry);
+      fetchEffects = effects.used && effects.lastId <= id;
+    }
+    TransactionResponse.Links links = entry.transaction.getLinks();
+    Link ledger = links != null ? links.getLedger() : null;
+    try {
+      if (fetchOperations) {
+        List<OperationResponse> fetched = ledgerOperations.of(id, ledger);
+        entry.operations.clear();
+        entry.operations.addAll(fetched);
+      }
+      if (fetchEffects) {
+        List<EffectResponse> fetched = ledgerEffects.of(id, ledger);
+        entry.effects.clear();
+        entry.effects.addAll(fetched);
+      }
+    } catch (IOException e) {
+      complete = false;
+    } catch (RuntimeException e) {
+      complete = false;
+    }
+    Collections.sort(entry.operations, PagingTokens.BY_PAGING_TOKEN);
+    Collections.sort(entry.effects, PagingTokens.BY_PAGING_TOKEN);
+    return new TransactionBundle(entry.transaction, entry.operations, entry.effects, complete);
+  }
+
+  private boolean isOperationsComplete(long id, Entry entry) {
+    Integer operationCount = entry.transaction.getOperationCount();
+    return !operations.used || (operationCount != null && entry.operations.size() >= operationCount)
+            || (operationCount == null && operations.lastId > id);
+  }
+
+  // Returns URI of the first page of a collection of the ledger link, ex. /ledgers/{sequence}/operations
+  private static HttpUrl pageUri(Link ledger, String collection) throws IOException {
+    if (ledger == null) {
+      throw new IOException("Transaction has no link to fetch missing records.");
+    }
+    String href = ledger.getHref();
+    int template = href.indexOf('{');
+    HttpUrl uri = HttpUrl.parse(template >= 0 ? href.substring(0, template) : href);
+    if (uri == null) {
+      throw new IOException("Invalid link: " + href);
+    }
+    return uri.newBuilder()
+            .addPathSegment(collection)
+            .setQueryParameter("order", RequestBuilder.Order.ASC.getValue())
+            .setQueryParameter("limit", String.valueOf(FETCH_LIMIT))
+            .build();
+  }
+
+  // Adds records of a page, returns URI of the next page or null
+  private static <T extends Pageable> HttpUrl nextPage(HttpUrl uri, List<T> records, List<T> fetched) {
+    fetched.addAll(records);
+    if (records.size() < FETCH_LIMIT) {
+      return null;
+    }
+    return uri.newBuilder().setQueryParameter("cursor", records.get(records.size() - 1).getPagingToken()).build();
+  }
+
+  // Records of the last fetched ledger, grouped by transaction ID
+  private abstract static class LedgerRecords<T extends Pageable> {
+    private final String collection;
+    private long sequence = -1;
+    private final Map<Long, List<T>> byTransaction = new HashMap<Long, List<T>>();
+
+    LedgerRecords(String collection) {
+      this.collection = collection;
+    }
+
+    abstract Page<T> fetch(HttpUrl uri) throws IOException;
+
+    List<T> of(long transactionId, Link ledger) throws IOException {
+      long ledgerSequence = transactionId >>> 32;
+      if (ledgerSequence != sequence) {
+        sequence = -1;
+        byTransaction.clear();
+        List<T> fetched = new ArrayList<T>();
+        HttpUrl uri = pageUri(ledger, collection);
+        while (uri != null) {
+          uri = nextPage(uri, fetch(uri).getRecords(), fetched);
+        }
+        for (T record : fetched) {
+          long id = transactionIdOf(record.getPagingToken());
+          List<T> records = byTransaction.get(id);
+          if (records == null) {
+            records = new ArrayList<T>();
+            byTransaction.put(id, records);
+          }
+          records.add(record);
+        }
+        sequence = ledgerSequence;
+      }
+      List<T> records = byTransaction.get(transactionId);
+      return records != null ? records : Collections.<T>emptyList();
+    }
+  }
+
+  private static final class Entry {
+    final long receivedAt;
+    TransactionResponse transaction;
+    final List<OperationResponse> operations = new ArrayList<OperationResponse>();
+    final List<EffectResponse> effects = new ArrayList<EffectResponse>();
+
+    Entry(long receivedAt) {
+      this.receivedAt = receivedAt;
+    }
+  }
+
+  // Input stream, state guarded by the joiner
+  private final class Input<T extends Pageable> implements EventListener<T> {
+    boolean used;
+    // ID of the transaction of the last record
+    long lastId = -1;
+
+    @Override
+    public void onEvent(T record) {
+      received(this, record);
+    }
+  }
+
+  /**
+   * Builds new TransactionJoiner objects.
+   */
+  public static class Builder {
+    private final OkHttpClient mHttpClient;
+    private final TransactionBundleListener mListener;
+    private int mMaxPending = 1000;
+    private long mMaxDelayNanos = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Creates a new TransactionJoiner builder.
+     * @param httpClient client used to fetch missing records, ex. {@link org.stellar.sdk.Server#getHttpClient()}
+     * @param listener listener receiving bundles
+     */
+    public Builder(OkHttpClient httpClient, TransactionBundleListener listener) {
+      mHttpClient = checkNotNull(httpClient, "httpClient cannot be null");
+      mListener = checkNotNull(listener, "listener cannot be null");
+    }
+
+    /**
+     * Sets maximum number of transactions waiting for their records. Defaults to 1000.
+     * @param maxPending reorder buffer capacity
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxPending(int maxPending) {
+      checkArgument(maxPending > 0, "maxPending must be positive");
+      mMaxPending = maxPending;
+      return this;
+    }
+
+    /**
+     * Sets maximum time a transaction waits for its records before they are fetched. Defaults to 30 seconds.
+     * @param maxDelay maximum waiting time
+     * @param unit unit of <code>maxDelay</code>
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxDelay(long maxDelay, TimeUnit unit) {
+      checkArgument(maxDelay >= 0, "maxDelay must be non-negative");
+      mMaxDelayNanos = checkNotNull(unit, "unit cannot be null").toNanos(maxDelay);
+      return this;
+    }
+
+    /**
+     * Builds a joiner and starts its delivery thread.
+     */
+    public TransactionJoiner build() {
+      TransactionJoiner joiner = new TransactionJoiner(mHttpClient, mListener, mMaxPending, mMaxDelayNanos);
+      joiner.start();
+      return joiner;
+    }
+  }
+}
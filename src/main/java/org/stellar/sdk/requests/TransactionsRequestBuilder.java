@@ -1,24 +1,20 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
-import org.glassfish.jersey.media.sse.EventSource;
-import org.glassfish.jersey.media.sse.InboundEvent;
-import org.glassfish.jersey.media.sse.SseFeature;
 import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LazyResponse;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.TransactionResponse;
 
 import java.io.IOException;
-
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.WebTarget;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -56,6 +52,38 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     return this.transaction(this.buildUri());
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link TransactionResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   */
+  public ListenableFuture<TransactionResponse> transactionAsync(HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<TransactionResponse>() {};
+    ResponseHandler<TransactionResponse> responseHandler = new ResponseHandler<TransactionResponse>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
+  /**
+   * Requests <code>GET /transactions/{transactionId}</code> asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @see <a href="https://www.stellar.org/developers/horizon/reference/transactions-single.html">Transaction Details</a>
+   * @param transactionId Transaction to fetch
+   */
+  public ListenableFuture<TransactionResponse> transactionAsync(String transactionId) {
+    return this.transactionAsync(transactionId, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Requests <code>GET /transactions/{transactionId}</code> asynchronously.
+   * @see <a href="https://www.stellar.org/developers/horizon/reference/transactions-single.html">Transaction Details</a>
+   * @param transactionId Transaction to fetch
+   * @param executor executor used to deserialize the response and complete the future
+   */
+  public ListenableFuture<TransactionResponse> transactionAsync(String transactionId, Executor executor) {
+    this.setSegments("transactions", transactionId);
+    return this.transactionAsync(this.buildUri(), executor);
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/transactions</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/transactions-for-account.html">Transactions for Account</a>
@@ -94,6 +122,19 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     return responseHandler.handleResponse(response);
   }
 
+  /**
+   * Requests specific <code>uri</code> asynchronously and returns a future of {@link Page} of {@link TransactionResponse}.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link TransactionResponse}
+   */
+  public static ListenableFuture<Page<TransactionResponse>> executeAsync(OkHttpClient httpClient, HttpUrl uri, Executor executor) {
+    TypeToken type = new TypeToken<Page<TransactionResponse>>() {};
+    ResponseHandler<Page<TransactionResponse>> responseHandler = new ResponseHandler<Page<TransactionResponse>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    return responseHandler.handleResponseAsync(httpClient.newCall(request), executor);
+  }
+
   /**
    * Allows to stream SSE events from horizon.
    * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
@@ -102,23 +143,60 @@ public class TransactionsRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
-   */
-  public EventSource stream(final EventListener<TransactionResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri().uri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        TransactionResponse transaction = GsonSingleton.getInstance().fromJson(data, TransactionResponse.class);
-        listener.onEvent(transaction);
-      }
-    };
-    return eventSource;
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<TransactionResponse> stream(final EventListener<TransactionResponse> listener) {
+    return this.stream(null, listener);
+  }
+
+  /**
+   * Allows to stream SSE events from horizon, passing only events matching <code>filter</code>.
+   * Events that do not match are skipped without being deserialized.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<TransactionResponse> stream(final RecordFilter filter, final EventListener<TransactionResponse> listener) {
+    return this.stream(filter, listener, null);
+  }
+
+  /**
+   * Allows to stream SSE events from horizon, passing only events matching <code>filter</code> and reporting
+   * connection state changes to <code>lifecycleListener</code>.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @param lifecycleListener listener of connection state changes, can be null
+   * @return {@link SSEStream} object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<TransactionResponse> stream(RecordFilter filter, EventListener<TransactionResponse> listener, StreamLifecycleListener lifecycleListener) {
+    TypeToken type = new TypeToken<TransactionResponse>() {};
+    return new SSEStream<TransactionResponse>(this.httpClient, this.buildUri(), type, filter, listener, lifecycleListener).open();
+  }
+
+  /**
+   * Subscribes to SSE events from horizon through <code>hub</code>, sharing a single connection with other
+   * subscribers of the same stream.
+   * @param hub hub managing shared streams
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return {@link StreamHub.Subscription} object, so you can <code>close()</code> it when not needed anymore
+   */
+  public StreamHub.Subscription subscribe(StreamHub hub, EventListener<TransactionResponse> listener) {
+    checkNotNull(hub, "hub cannot be null");
+    TypeToken type = new TypeToken<TransactionResponse>() {};
+    return hub.subscribe(this.httpClient, this.buildUri(), type, listener);
+  }
+
+  /**
+   * Returns {@link StreamPublisher} of SSE events from horizon with demand-driven flow control. The stream is
+   * opened when the publisher is subscribed to.
+   * @param filter filter of the events, <code>null</code> to pass all of them
+   * @param bufferSize maximum number of records buffered until requested by the subscriber
+   * @param overflowPolicy what happens when a record arrives and the buffer is full
+   * @return {@link StreamPublisher} of {@link TransactionResponse}
+   */
+  public StreamPublisher<TransactionResponse> publisher(RecordFilter filter, int bufferSize, OverflowPolicy overflowPolicy) {
+    TypeToken type = new TypeToken<TransactionResponse>() {};
+    return new StreamPublisher<TransactionResponse>(this.httpClient, this.buildUri(), type, filter, bufferSize, overflowPolicy);
   }
 
   /**
@@ -131,6 +209,127 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     return this.execute(this.httpClient, this.buildUri());
   }
 
+  /**
+   * Build and execute request asynchronously. Response is deserialized on OkHttp dispatcher thread.
+   * @return future of {@link Page} of {@link TransactionResponse}
+   */
+  public ListenableFuture<Page<TransactionResponse>> executeAsync() {
+    return this.executeAsync(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Build and execute request asynchronously.
+   * @param executor executor used to deserialize the response and complete the future
+   * @return future of {@link Page} of {@link TransactionResponse}
+   */
+  public ListenableFuture<Page<TransactionResponse>> executeAsync(Executor executor) {
+    return this.executeAsync(this.httpClient, this.buildUri(), executor);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page to <code>listener</code> one by one
+   * while the response is being read, so only a single {@link TransactionResponse} is held in memory at a time.
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, EventListener<TransactionResponse> listener) throws IOException, TooManyRequestsException {
+    return execute(httpClient, uri, null, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and passes records of the returned page matching <code>filter</code> to
+   * <code>listener</code> one by one while the response is being read. Other records are not deserialized.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page.Links execute(OkHttpClient httpClient, HttpUrl uri, RecordFilter filter, EventListener<TransactionResponse> listener) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<TransactionResponse>() {};
+    RecordsHandler<TransactionResponse> recordsHandler = new RecordsHandler<TransactionResponse>(type, filter);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return recordsHandler.handleResponse(response, listener);
+  }
+
+  /**
+   * Build and execute request, passing records to <code>listener</code> one by one while the response is being read.
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(EventListener<TransactionResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(null, listener);
+  }
+
+  /**
+   * Build and execute request, passing records matching <code>filter</code> to <code>listener</code> one by one
+   * while the response is being read.
+   * @param filter only records matching the filter are deserialized and passed to <code>listener</code>
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return links of the page, <code>next</code> link points to the following records
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page.Links execute(RecordFilter filter, EventListener<TransactionResponse> listener) throws IOException, TooManyRequestsException {
+    return this.execute(this.httpClient, this.buildUri(), filter, listener);
+  }
+
+  /**
+   * Requests specific <code>uri</code> and returns {@link Page} of {@link LazyResponse}s of {@link TransactionResponse}.
+   * Records are kept as raw JSON and their fields are parsed on first access.
+   * @return {@link Page} of {@link LazyResponse}s of {@link TransactionResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public static Page<LazyResponse<TransactionResponse>> executeLazy(OkHttpClient httpClient, HttpUrl uri) throws IOException, TooManyRequestsException {
+    TypeToken type = new TypeToken<Page<LazyResponse<TransactionResponse>>>() {};
+    ResponseHandler<Page<LazyResponse<TransactionResponse>>> responseHandler = new ResponseHandler<Page<LazyResponse<TransactionResponse>>>(type);
+
+    Request request = new Request.Builder().get().url(uri).build();
+    Response response = httpClient.newCall(request).execute();
+
+    return responseHandler.handleResponse(response);
+  }
+
+  /**
+   * Build and execute request, keeping records as raw JSON parsed on demand.
+   * @return {@link Page} of {@link LazyResponse}s of {@link TransactionResponse}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public Page<LazyResponse<TransactionResponse>> executeLazy() throws IOException, TooManyRequestsException {
+    return this.executeLazy(this.httpClient, this.buildUri());
+  }
+
+  /**
+   * Returns all records matching this request, following <code>next</code> links of the pages.
+   * Next pages are requested in the background while records of the current page are consumed.
+   * @param prefetchPages maximum number of pages requested ahead of the page being consumed, at least 1
+   * @return {@link RecordsIterable} of {@link TransactionResponse}
+   */
+  public RecordsIterable<TransactionResponse> iterate(int prefetchPages) {
+    TypeToken type = new TypeToken<Page<TransactionResponse>>() {};
+    return new RecordsIterable<TransactionResponse>(this.httpClient, this.buildUri(), type, prefetchPages);
+  }
+
+  /**
+   * Returns {@link Backfill} fetching transactions from ledgers <code>startLedger</code> to <code>endLedger</code>
+   * (inclusive) with parallel requests. Cursor and order set in this builder are ignored.
+   * @param startLedger first ledger of the range
+   * @param endLedger last ledger of the range
+   */
+  public Backfill<TransactionResponse> backfill(long startLedger, long endLedger) {
+    TypeToken type = new TypeToken<Page<TransactionResponse>>() {};
+    return new Backfill<TransactionResponse>(this.httpClient, this.buildUri(), type, "", startLedger, endLedger);
+  }
+
   @Override
   public TransactionsRequestBuilder cursor(String token) {
     super.cursor(token);
@@ -1,11 +1,16 @@
 package org.stellar.sdk.responses;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -14,7 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * @see org.stellar.sdk.requests.AccountsRequestBuilder
  * @see org.stellar.sdk.Server#accounts()
  */
-public class AccountResponse extends Response implements org.stellar.sdk.TransactionBuilderAccount {
+public class AccountResponse extends Response implements org.stellar.sdk.TransactionBuilderAccount, Pageable {
   @SerializedName("account_id") /* KeyPairTypeAdapter used */
   private KeyPair keypair;
   @SerializedName("sequence")
@@ -23,6 +28,7 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
   private String pagingToken;
   @SerializedName("subentry_count")
   private Integer subentryCount;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("inflation_destination")
   private String inflationDestination;
   @SerializedName("home_domain")
@@ -37,6 +43,8 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
   private Signer[] signers;
   @SerializedName("_links")
   private Links links;
+  // Computed in afterDeserialize
+  private transient Map<Asset, Balance> balancesByAsset;
 
   AccountResponse(KeyPair keypair) {
     this.keypair = keypair;
@@ -95,6 +103,36 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
     return balances;
   }
 
+  /**
+   * Returns balances keyed by asset.
+   */
+  public Map<Asset, Balance> getBalancesByAsset() {
+    if (balancesByAsset == null) {
+      afterDeserialize();
+    }
+    return balancesByAsset;
+  }
+
+  /**
+   * Returns balance of <code>asset</code> or <code>null</code> when the account does not hold it.
+   * @param asset asset of the balance
+   */
+  public Balance getBalance(Asset asset) {
+    return getBalancesByAsset().get(asset);
+  }
+
+  @Override
+  void afterDeserialize() {
+    Map<Asset, Balance> map = new HashMap<Asset, Balance>();
+    if (balances != null) {
+      for (Balance balance : balances) {
+        balance.parse();
+        map.put(balance.getAsset(), balance);
+      }
+    }
+    balancesByAsset = Collections.unmodifiableMap(map);
+  }
+
   public Signer[] getSigners() {
     return signers;
   }
@@ -158,14 +196,20 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
   public static class Balance {
     @SerializedName("asset_type")
     private final String assetType;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("asset_code")
     private final String assetCode;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("asset_issuer")
     private final String assetIssuer;
     @SerializedName("limit")
     private final String limit;
     @SerializedName("balance")
     private final String balance;
+    // Parsed once, in parse()
+    private transient Asset asset;
+    private transient long balanceStroops;
+    private transient Long limitStroops;
 
     Balance(String assetType, String assetCode, String assetIssuer, String balance, String limit) {
       this.assetType = checkNotNull(assetType, "assertType cannot be null");
@@ -173,14 +217,21 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
       this.limit = limit;
       this.assetCode = assetCode;
       this.assetIssuer = assetIssuer;
+      parse();
     }
 
-    public Asset getAsset() {
+    void parse() {
       if (assetType.equals("native")) {
-        return new AssetTypeNative();
+        asset = new AssetTypeNative();
       } else {
-        return Asset.createNonNativeAsset(assetCode, getAssetIssuer());
+        asset = Asset.createNonNativeAsset(assetCode, getAssetIssuer());
       }
+      balanceStroops = Amounts.toStroops(balance);
+      limitStroops = limit != null ? Amounts.toStroops(limit) : null;
+    }
+
+    public Asset getAsset() {
+      return asset;
     }
 
     public String getAssetType() {
@@ -199,6 +250,20 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
       return balance;
     }
 
+    /**
+     * Returns balance in stroops (1 stroop = 0.0000001 of the asset).
+     */
+    public long getBalanceStroops() {
+      return balanceStroops;
+    }
+
+    /**
+     * Returns trustline limit in stroops or <code>null</code> for native balance.
+     */
+    public Long getLimitStroops() {
+      return limitStroops;
+    }
+
     public String getLimit() {
       return limit;
     }
@@ -208,6 +273,7 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
    * Represents account signers.
    */
   public static class Signer {
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("public_key")
     private final String accountId;
     @SerializedName("weight")
@@ -0,0 +1,66 @@
+package org.stellar.sdk.responses;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Parses decimal amounts returned by Horizon into stroops (1 stroop = 0.0000001 of the asset).
+ */
+final class Amounts {
+  private static final int DECIMALS = 7;
+
+  private Amounts() {}
+
+  /**
+   * Parses <code>amount</code>, ex. <code>"10.0000000"</code>, without creating intermediate objects.
+   * @throws NumberFormatException when <code>amount</code> is not a decimal number, has more than 7 significant
+   * fractional digits or does not fit in a 64-bit integer
+   */
+  static long toStroops(String amount) {
+    checkNotNull(amount, "amount cannot be null");
+    int length = amount.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+      negative = amount.charAt(0) == '-';
+      i++;
+    }
+
+    long value = 0;
+    int decimals = -1;
+    boolean digits = false;
+    for (; i < length; i++) {
+      char c = amount.charAt(i);
+      if (c == '.' && decimals < 0) {
+        decimals = 0;
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        throw new NumberFormatException("Invalid amount: " + amount);
+      }
+      digits = true;
+      if (decimals >= DECIMALS) {
+        if (c != '0') {
+          throw new NumberFormatException("Amount has more than " + DECIMALS + " decimal places: " + amount);
+        }
+        continue;
+      }
+      if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+        throw new NumberFormatException("Amount out of range: " + amount);
+      }
+      value = value * 10 + (c - '0');
+      if (decimals >= 0) {
+        decimals++;
+      }
+    }
+    if (!digits) {
+      throw new NumberFormatException("Invalid amount: " + amount);
+    }
+    for (int scale = Math.max(decimals, 0); scale < DECIMALS; scale++) {
+      if (value > Long.MAX_VALUE / 10) {
+        throw new NumberFormatException("Amount out of range: " + amount);
+      }
+      value *= 10;
+    }
+    return negative ? -value : value;
+  }
+}
@@ -7,20 +7,25 @@ import com.google.gson.JsonParseException;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
-import org.stellar.sdk.KeyPair;
 
 import java.lang.reflect.Type;
 
 class AssetDeserializer implements JsonDeserializer<Asset> {
+  private static final Asset NATIVE = new AssetTypeNative();
+  // Assets are immutable, so records mentioning the same asset share one object
+  private static final InternTable<Asset> assets = new InternTable<Asset>(1024);
+
   @Override
   public Asset deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
     String type = json.getAsJsonObject().get("asset_type").getAsString();
     if (type.equals("native")) {
-      return new AssetTypeNative();
+      return NATIVE;
     } else {
       String code = json.getAsJsonObject().get("asset_code").getAsString();
       String issuer = json.getAsJsonObject().get("asset_issuer").getAsString();
-      return Asset.createNonNativeAsset(code, KeyPair.fromAccountId(issuer));
+      String key = code + ":" + issuer;
+      Asset asset = assets.get(key);
+      return asset != null ? asset : assets.put(key, Asset.createNonNativeAsset(code, KeyPairTypeAdapter.fromAccountId(issuer)));
     }
   }
 }
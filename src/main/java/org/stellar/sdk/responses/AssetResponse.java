@@ -1,13 +1,16 @@
 package org.stellar.sdk.responses;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import org.stellar.sdk.Asset;
 
-public class AssetResponse extends Response {
+public class AssetResponse extends Response implements Pageable {
     @SerializedName("asset_type")
     private final String assetType;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("asset_code")
     private final String assetCode;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("asset_issuer")
     private final String assetIssuer;
     @SerializedName("paging_token")
@@ -0,0 +1,32 @@
+package org.stellar.sdk.responses;
+
+import org.stellar.sdk.responses.effects.*;
+
+class EffectTypeAdapterFactory extends PolymorphicTypeAdapterFactory<EffectResponse> {
+  EffectTypeAdapterFactory() {
+    super(EffectResponse.class);
+    // Account effects
+    registerSubtype(0, AccountCreatedEffectResponse.class);
+    registerSubtype(1, AccountRemovedEffectResponse.class);
+    registerSubtype(2, AccountCreditedEffectResponse.class);
+    registerSubtype(3, AccountDebitedEffectResponse.class);
+    registerSubtype(4, AccountThresholdsUpdatedEffectResponse.class);
+    registerSubtype(5, AccountHomeDomainUpdatedEffectResponse.class);
+    registerSubtype(6, AccountFlagsUpdatedEffectResponse.class);
+    // Signer effects
+    registerSubtype(10, SignerCreatedEffectResponse.class);
+    registerSubtype(11, SignerRemovedEffectResponse.class);
+    registerSubtype(12, SignerUpdatedEffectResponse.class);
+    // Trustline effects
+    registerSubtype(20, TrustlineCreatedEffectResponse.class);
+    registerSubtype(21, TrustlineRemovedEffectResponse.class);
+    registerSubtype(22, TrustlineUpdatedEffectResponse.class);
+    registerSubtype(23, TrustlineAuthorizedEffectResponse.class);
+    registerSubtype(24, TrustlineDeauthorizedEffectResponse.class);
+    // Trading effects
+    registerSubtype(30, OfferCreatedEffectResponse.class);
+    registerSubtype(31, OfferRemovedEffectResponse.class);
+    registerSubtype(32, OfferUpdatedEffectResponse.class);
+    registerSubtype(33, TradeEffectResponse.class);
+  }
+}
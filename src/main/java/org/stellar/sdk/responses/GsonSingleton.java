@@ -2,12 +2,9 @@ package org.stellar.sdk.responses;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.effects.EffectResponse;
-import org.stellar.sdk.responses.operations.OperationResponse;
 
 public class GsonSingleton {
   private static Gson instance = null;
@@ -16,33 +13,16 @@ public class GsonSingleton {
 
   public static Gson getInstance() {
     if (instance == null) {
-      TypeToken accountPageType = new TypeToken<Page<AccountResponse>>() {};
-      TypeToken assetPageType = new TypeToken<Page<AssetResponse>>() {};
-      TypeToken effectPageType = new TypeToken<Page<EffectResponse>>() {};
-      TypeToken ledgerPageType = new TypeToken<Page<LedgerResponse>>() {};
-      TypeToken offerPageType = new TypeToken<Page<OfferResponse>>() {};
-      TypeToken operationPageType = new TypeToken<Page<OperationResponse>>() {};
-      TypeToken pathPageType = new TypeToken<Page<PathResponse>>() {};
-      TypeToken tradePageType = new TypeToken<Page<TradeResponse>>() {};
-      TypeToken tradeAggregationPageType = new TypeToken<Page<TradeAggregationResponse>>() {};
-      TypeToken transactionPageType = new TypeToken<Page<TransactionResponse>>() {};
-
       instance = new GsonBuilder()
+                      .registerTypeAdapter(Link.class, new LinkTypeAdapter().nullSafe())
                       .registerTypeAdapter(Asset.class, new AssetDeserializer())
                       .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
-                      .registerTypeAdapter(OperationResponse.class, new OperationDeserializer())
-                      .registerTypeAdapter(EffectResponse.class, new EffectDeserializer())
-                      .registerTypeAdapter(TransactionResponse.class, new TransactionDeserializer())
-                      .registerTypeAdapter(accountPageType.getType(), new PageDeserializer<AccountResponse>(accountPageType))
-                      .registerTypeAdapter(assetPageType.getType(), new PageDeserializer<AssetResponse>(assetPageType))
-                      .registerTypeAdapter(effectPageType.getType(), new PageDeserializer<AccountResponse>(effectPageType))
-                      .registerTypeAdapter(ledgerPageType.getType(), new PageDeserializer<LedgerResponse>(ledgerPageType))
-                      .registerTypeAdapter(offerPageType.getType(), new PageDeserializer<OfferResponse>(offerPageType))
-                      .registerTypeAdapter(operationPageType.getType(), new PageDeserializer<OperationResponse>(operationPageType))
-                      .registerTypeAdapter(pathPageType.getType(), new PageDeserializer<PathResponse>(pathPageType))
-                      .registerTypeAdapter(tradePageType.getType(), new PageDeserializer<TradeResponse>(tradePageType))
-                      .registerTypeAdapter(tradeAggregationPageType.getType(), new PageDeserializer<TradeAggregationResponse>(tradeAggregationPageType))
-                      .registerTypeAdapter(transactionPageType.getType(), new PageDeserializer<TransactionResponse>(transactionPageType))
+                      .registerTypeAdapterFactory(new OperationTypeAdapterFactory())
+                      .registerTypeAdapterFactory(new EffectTypeAdapterFactory())
+                      .registerTypeAdapterFactory(new PageTypeAdapterFactory())
+                      .registerTypeAdapterFactory(new LazyResponseTypeAdapterFactory())
+                      // Registered last so it wraps adapters created by the factories above
+                      .registerTypeAdapterFactory(new PostDeserializeTypeAdapterFactory())
                       .create();
     }
     return instance;
@@ -0,0 +1,77 @@
+package org.stellar.sdk.responses;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded table of canonical values keyed by strings, used to share repeated identifiers (account IDs, asset codes,
+ * type names, link prefixes) between deserialized responses instead of keeping a copy per record.
+ * <p>The table is direct-mapped: every key has exactly one slot and a new key replaces whatever occupied it, so the
+ * table never holds more than <code>capacity</code> entries and needs no locking. A lookup that misses only costs a
+ * duplicate value. Safe to use from many threads.</p>
+ * @param <V> type of values
+ */
+final class InternTable<V> {
+  /**
+   * Shared table of strings.
+   */
+  static final InternTable<String> STRINGS = new InternTable<String>(8192);
+
+  private final AtomicReferenceArray<Entry<V>> slots;
+  private final int mask;
+
+  /**
+   * @param capacity number of slots, power of two
+   */
+  InternTable(int capacity) {
+    checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1, "capacity must be a power of two");
+    slots = new AtomicReferenceArray<Entry<V>>(capacity);
+    mask = capacity - 1;
+  }
+
+  /**
+   * Returns the canonical copy of <code>value</code> from the shared table, adding it when not present.
+   * @param value string to intern, can be null
+   */
+  static String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    String canonical = STRINGS.get(value);
+    return canonical != null ? canonical : STRINGS.put(value, value);
+  }
+
+  /**
+   * Returns value stored for <code>key</code> or null.
+   */
+  V get(String key) {
+    Entry<V> entry = slots.get(slot(key));
+    return entry != null && entry.key.equals(key) ? entry.value : null;
+  }
+
+  /**
+   * Stores <code>value</code> for <code>key</code>, evicting the entry that occupied its slot.
+   * @return <code>value</code>
+   */
+  V put(String key, V value) {
+    slots.set(slot(key), new Entry<V>(key, value));
+    return value;
+  }
+
+  private int slot(String key) {
+    int hash = key.hashCode();
+    // Spread higher bits, small tables would otherwise only use the lowest ones
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private static final class Entry<V> {
+    final String key;
+    final V value;
+
+    Entry(String key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
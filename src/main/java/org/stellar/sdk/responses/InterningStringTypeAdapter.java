@@ -0,0 +1,38 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads identifier fields of responses (account IDs, asset codes and issuers), replacing short values with their
+ * canonical copy from {@link InternTable#STRINGS}. Applied to single fields with
+ * {@link com.google.gson.annotations.JsonAdapter}, so unique values like hashes and amounts do not evict identifiers
+ * from the table.
+ */
+public class InterningStringTypeAdapter extends TypeAdapter<String> {
+  // Fits account IDs (56)
+  static final int MAX_INTERNED_LENGTH = 64;
+
+  @Override
+  public void write(JsonWriter out, String value) throws IOException {
+    out.value(value);
+  }
+
+  @Override
+  public String read(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    String value = in.nextString();
+    return value.length() <= MAX_INTERNED_LENGTH ? InternTable.intern(value) : value;
+  }
+}
@@ -9,6 +9,9 @@ import org.stellar.sdk.KeyPair;
 import java.io.IOException;
 
 class KeyPairTypeAdapter extends TypeAdapter<KeyPair> {
+  // Public-only key pairs are immutable, so records mentioning the same account share one object
+  private static final InternTable<KeyPair> keyPairs = new InternTable<KeyPair>(2048);
+
   @Override
   public void write(JsonWriter out, KeyPair value) throws IOException {
     // Don't need this.
@@ -16,6 +19,11 @@ class KeyPairTypeAdapter extends TypeAdapter<KeyPair> {
 
   @Override
   public KeyPair read(JsonReader in) throws IOException {
-    return KeyPair.fromAccountId(in.nextString());
+    return fromAccountId(in.nextString());
+  }
+
+  static KeyPair fromAccountId(String accountId) {
+    KeyPair keyPair = keyPairs.get(accountId);
+    return keyPair != null ? keyPair : keyPairs.put(accountId, KeyPair.fromAccountId(accountId));
   }
 }
@@ -0,0 +1,181 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.base.Charsets;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.stellar.sdk.KeyPair;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Response record kept as raw UTF-8 JSON and parsed on demand.
+ * <p>Individual top-level fields and links are read from the raw bytes on first access and cached. The whole
+ * response object is deserialized only when {@link #get()} is called. Memory used by a record that is only
+ * partially read stays close to its size on the wire, which makes this class suitable for keeping long histories.</p>
+ * <p>Request pages of lazy records with a type like
+ * <code>new TypeToken&lt;Page&lt;LazyResponse&lt;TransactionResponse&gt;&gt;&gt;() {}</code> or with
+ * <code>executeLazy</code> methods of request builders. This class is thread-safe.</p>
+ * @param <T> type of the response
+ */
+public class LazyResponse<T> implements Pageable {
+  private static final Object MISSING = new Object();
+
+  private final byte[] json;
+  private final TypeToken<T> type;
+  // Parsed fields, guarded by this
+  private Map<String, Object> fields;
+  private T object;
+
+  /**
+   * @param json JSON object of the response
+   * @param type type of the response, ex. <code>new TypeToken&lt;TransactionResponse&gt;() {}</code>
+   */
+  public LazyResponse(String json, TypeToken<T> type) {
+    this(checkNotNull(json, "json cannot be null").getBytes(Charsets.UTF_8), type);
+  }
+
+  LazyResponse(byte[] json, TypeToken<T> type) {
+    this.json = json;
+    this.type = checkNotNull(type, "type cannot be null");
+  }
+
+  /**
+   * Returns the response object, deserializing it on first call.
+   */
+  public synchronized T get() {
+    if (object == null) {
+      object = GsonSingleton.getInstance().fromJson(new InputStreamReader(new ByteArrayInputStream(json), Charsets.UTF_8), type.getType());
+    }
+    return object;
+  }
+
+  /**
+   * Returns value of a top-level string, number or boolean field as a string, or <code>null</code> when the field is
+   * missing or is not a primitive.
+   * @param field name of the field, ex. <code>hash</code>
+   */
+  public String getString(String field) {
+    checkNotNull(field, "field cannot be null");
+    Object value = cached(field);
+    if (value == null) {
+      try {
+        JsonReader reader = reader();
+        value = MISSING;
+        if (seek(reader, field)) {
+          JsonToken token = reader.peek();
+          if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            value = reader.nextString();
+          } else if (token == JsonToken.BOOLEAN) {
+            value = String.valueOf(reader.nextBoolean());
+          }
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      cache(field, value);
+    }
+    return value == MISSING ? null : (String) value;
+  }
+
+  /**
+   * Returns value of a top-level numeric field, or <code>null</code> when the field is missing.
+   * @param field name of the field, ex. <code>ledger</code>
+   * @throws NumberFormatException when the value is not a 64-bit integer
+   */
+  public Long getLong(String field) {
+    String value = getString(field);
+    return value == null ? null : Long.valueOf(value);
+  }
+
+  /**
+   * Returns account of a top-level field, or <code>null</code> when the field is missing.
+   * @param field name of the field, ex. <code>source_account</code>
+   */
+  public KeyPair getKeyPair(String field) {
+    String key = "account:" + checkNotNull(field, "field cannot be null");
+    Object value = cached(key);
+    if (value == null) {
+      String accountId = getString(field);
+      value = accountId == null ? MISSING : KeyPairTypeAdapter.fromAccountId(accountId);
+      cache(key, value);
+    }
+    return value == MISSING ? null : (KeyPair) value;
+  }
+
+  /**
+   * Returns link from <code>_links</code> object, or <code>null</code> when the link is missing.
+   * @param name name of the link, ex. <code>self</code>
+   */
+  public Link getLink(String name) {
+    String key = "_links:" + checkNotNull(name, "name cannot be null");
+    Object value = cached(key);
+    if (value == null) {
+      try {
+        JsonReader reader = reader();
+        value = MISSING;
+        if (seek(reader, "_links") && reader.peek() == JsonToken.BEGIN_OBJECT && seek(reader, name)
+                && reader.peek() == JsonToken.BEGIN_OBJECT) {
+          value = GsonSingleton.getInstance().getAdapter(Link.class).read(reader);
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      cache(key, value);
+    }
+    return value == MISSING ? null : (Link) value;
+  }
+
+  @Override
+  public String getPagingToken() {
+    return getString("paging_token");
+  }
+
+  /**
+   * Returns size of the raw JSON in bytes.
+   */
+  public int getSize() {
+    return json.length;
+  }
+
+  /**
+   * Returns the raw JSON.
+   */
+  public String toJson() {
+    return new String(json, Charsets.UTF_8);
+  }
+
+  private JsonReader reader() {
+    return new JsonReader(new InputStreamReader(new ByteArrayInputStream(json), Charsets.UTF_8));
+  }
+
+  // Enters the object at the reader position and moves to the value of `name`
+  private static boolean seek(JsonReader reader, String name) throws IOException {
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName().equals(name)) {
+        return true;
+      }
+      reader.skipValue();
+    }
+    return false;
+  }
+
+  private synchronized Object cached(String key) {
+    return fields == null ? null : fields.get(key);
+  }
+
+  private synchronized void cache(String key, Object value) {
+    if (fields == null) {
+      fields = new HashMap<String, Object>(4);
+    }
+    fields.put(key, value);
+  }
+}
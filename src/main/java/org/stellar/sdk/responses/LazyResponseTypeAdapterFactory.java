@@ -0,0 +1,47 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.base.Charsets;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Creates adapters of {@link LazyResponse} keeping records as compact UTF-8 JSON.
+ */
+class LazyResponseTypeAdapterFactory implements TypeAdapterFactory {
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (type.getRawType() != LazyResponse.class) {
+      return null;
+    }
+    Type recordType = Object.class;
+    if (type.getType() instanceof ParameterizedType) {
+      recordType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+    }
+    final TypeToken<Object> recordToken = (TypeToken<Object>) TypeToken.get(recordType);
+    final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+    return (TypeAdapter<T>) new TypeAdapter<LazyResponse<Object>>() {
+      @Override
+      public void write(JsonWriter out, LazyResponse<Object> value) throws IOException {
+        out.jsonValue(value.toJson());
+      }
+
+      @Override
+      public LazyResponse<Object> read(JsonReader in) throws IOException {
+        // JsonElement.toString() writes compact JSON
+        byte[] json = elementAdapter.read(in).toString().getBytes(Charsets.UTF_8);
+        return new LazyResponse<Object>(json, recordToken);
+      }
+    }.nullSafe();
+  }
+}
@@ -1,7 +1,5 @@
 package org.stellar.sdk.responses;
 
-import com.google.gson.annotations.SerializedName;
-
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -9,25 +7,48 @@ import java.net.URISyntaxException;
  * Represents links in responses.
  */
 public class Link {
-  @SerializedName("href")
-  private final String href;
-  @SerializedName("templated")
+  // Server and collection part of href, ex. "https://horizon.stellar.org/operations/", shared between links
+  private final String hrefPrefix;
+  private final String hrefRest;
   private final boolean templated;
 
   Link(String href, boolean templated) {
-    this.href = href;
+    int split = prefixLength(href);
+    this.hrefPrefix = InternTable.intern(href.substring(0, split));
+    this.hrefRest = href.substring(split);
     this.templated = templated;
   }
 
+  /**
+   * Returns length of <code>scheme://host/collection/</code> (or <code>?</code>) part of <code>href</code>, 0 if not found.
+   */
+  private static int prefixLength(String href) {
+    int scheme = href.indexOf("://");
+    if (scheme < 0) {
+      return 0;
+    }
+    int path = href.indexOf('/', scheme + 3);
+    if (path < 0) {
+      return 0;
+    }
+    for (int i = path + 1; i < href.length(); i++) {
+      char c = href.charAt(i);
+      if (c == '/' || c == '?' || c == '{') {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
   public String getHref() {
     // TODO templated
-    return href;
+    return hrefPrefix.isEmpty() ? hrefRest : hrefPrefix + hrefRest;
   }
 
   public URI getUri() {
     // TODO templated
     try {
-      return new URI(href);
+      return new URI(getHref());
     } catch (URISyntaxException e) {
       throw new RuntimeException(e);
     }
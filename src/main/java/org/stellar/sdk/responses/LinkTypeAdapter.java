@@ -0,0 +1,38 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class LinkTypeAdapter extends TypeAdapter<Link> {
+  @Override
+  public void write(JsonWriter out, Link value) throws IOException {
+    out.beginObject();
+    out.name("href").value(value.getHref());
+    if (value.isTemplated()) {
+      out.name("templated").value(true);
+    }
+    out.endObject();
+  }
+
+  @Override
+  public Link read(JsonReader in) throws IOException {
+    String href = null;
+    boolean templated = false;
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      if (name.equals("href")) {
+        href = in.nextString();
+      } else if (name.equals("templated")) {
+        templated = in.nextBoolean();
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return href != null ? new Link(href, templated) : null;
+  }
+}
@@ -4,6 +4,7 @@ import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Price;
 
 /**
  * Represents offer response.
@@ -11,7 +12,7 @@ import org.stellar.sdk.KeyPair;
  * @see org.stellar.sdk.requests.OffersRequestBuilder
  * @see org.stellar.sdk.Server#offers()
  */
-public class OfferResponse extends Response {
+public class OfferResponse extends Response implements Pageable {
   @SerializedName("id")
   private final Long id;
   @SerializedName("paging_token")
@@ -26,8 +27,12 @@ public class OfferResponse extends Response {
   private final String amount;
   @SerializedName("price")
   private final String price;
+  @SerializedName("price_r")
+  private Price priceR;
   @SerializedName("_links")
   private final Links links;
+  // Parsed once, in afterDeserialize
+  private transient long amountStroops;
 
   OfferResponse(Long id, String pagingToken, KeyPair seller, Asset selling, Asset buying, String amount, String price, Links links) {
     this.id = id;
@@ -38,6 +43,17 @@ public class OfferResponse extends Response {
     this.amount = amount;
     this.price = price;
     this.links = links;
+    afterDeserialize();
+  }
+
+  @Override
+  void afterDeserialize() {
+    if (amount != null) {
+      amountStroops = Amounts.toStroops(amount);
+    }
+    if (priceR == null && price != null) {
+      priceR = Price.fromString(price);
+    }
   }
 
   public Long getId() {
@@ -68,6 +84,20 @@ public class OfferResponse extends Response {
     return price;
   }
 
+  /**
+   * Returns amount in stroops (1 stroop = 0.0000001 of the asset).
+   */
+  public long getAmountStroops() {
+    return amountStroops;
+  }
+
+  /**
+   * Returns price as a fraction.
+   */
+  public Price getPriceR() {
+    return priceR;
+  }
+
   public Links getLinks() {
     return links;
   }
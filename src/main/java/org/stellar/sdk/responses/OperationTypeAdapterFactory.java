@@ -0,0 +1,31 @@
+package org.stellar.sdk.responses;
+
+import org.stellar.sdk.responses.operations.AccountMergeOperationResponse;
+import org.stellar.sdk.responses.operations.AllowTrustOperationResponse;
+import org.stellar.sdk.responses.operations.ChangeTrustOperationResponse;
+import org.stellar.sdk.responses.operations.CreateAccountOperationResponse;
+import org.stellar.sdk.responses.operations.CreatePassiveOfferOperationResponse;
+import org.stellar.sdk.responses.operations.InflationOperationResponse;
+import org.stellar.sdk.responses.operations.ManageDataOperationResponse;
+import org.stellar.sdk.responses.operations.ManageOfferOperationResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PathPaymentOperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+import org.stellar.sdk.responses.operations.SetOptionsOperationResponse;
+
+class OperationTypeAdapterFactory extends PolymorphicTypeAdapterFactory<OperationResponse> {
+  OperationTypeAdapterFactory() {
+    super(OperationResponse.class);
+    registerSubtype(0, CreateAccountOperationResponse.class);
+    registerSubtype(1, PaymentOperationResponse.class);
+    registerSubtype(2, PathPaymentOperationResponse.class);
+    registerSubtype(3, ManageOfferOperationResponse.class);
+    registerSubtype(4, CreatePassiveOfferOperationResponse.class);
+    registerSubtype(5, SetOptionsOperationResponse.class);
+    registerSubtype(6, ChangeTrustOperationResponse.class);
+    registerSubtype(7, AllowTrustOperationResponse.class);
+    registerSubtype(8, AccountMergeOperationResponse.class);
+    registerSubtype(9, InflationOperationResponse.class);
+    registerSubtype(10, ManageDataOperationResponse.class);
+  }
+}
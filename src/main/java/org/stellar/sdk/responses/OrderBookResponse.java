@@ -37,6 +37,18 @@ public class OrderBookResponse extends Response {
         return counter;
     }
 
+    @Override
+    void afterDeserialize() {
+        for (Row[] rows : new Row[][] {asks, bids}) {
+            if (rows == null) {
+                continue;
+            }
+            for (Row row : rows) {
+                row.parse();
+            }
+        }
+    }
+
     public Row[] getAsks() {
         return asks;
     }
@@ -55,17 +67,31 @@ public class OrderBookResponse extends Response {
         private final String price;
         @SerializedName("price_r")
         private final Price priceR;
+        // Parsed once, in parse()
+        private transient long amountStroops;
 
         Row(String amount, String price, Price priceR) {
             this.amount = checkNotNull(amount, "amount cannot be null");
             this.price = checkNotNull(price, "price cannot be null");
             this.priceR = checkNotNull(priceR, "priceR cannot be null");
+            parse();
+        }
+
+        void parse() {
+            amountStroops = Amounts.toStroops(amount);
         }
 
         public String getAmount() {
             return amount;
         }
 
+        /**
+         * Returns amount in stroops (1 stroop = 0.0000001 of the asset).
+         */
+        public long getAmountStroops() {
+            return amountStroops;
+        }
+
         public String getPrice() {
             return price;
         }
@@ -1,11 +1,16 @@
 package org.stellar.sdk.responses;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.RecordFilter;
 import org.stellar.sdk.requests.ResponseHandler;
 
 import java.io.IOException;
@@ -22,9 +27,16 @@ public class Page<T> extends Response {
   private ArrayList<T> records;
   @SerializedName("links")
   private Links links;
+  // Set by PageTypeAdapterFactory, generic type of records is erased in getNextPage otherwise
+  private transient TypeToken<Page<T>> type;
 
   Page() {}
 
+  Page(ArrayList<T> records, Links links) {
+    this.records = records;
+    this.links = links;
+  }
+
   public ArrayList<T> getRecords() {
     return records;
   }
@@ -33,6 +45,35 @@ public class Page<T> extends Response {
     return links;
   }
 
+  void setType(TypeToken<Page<T>> type) {
+    this.type = type;
+  }
+
+  /**
+   * Reads page JSON from <code>in</code> without keeping the records. Every record is deserialized and passed to
+   * <code>listener</code> before the next one is read, so only a single record is held in memory at a time.
+   * @param in reader positioned at the page object
+   * @param recordType type of the records, ex. <code>new TypeToken&lt;OperationResponse&gt;() {}</code>
+   * @param listener listener receiving records in order
+   * @return links of the page, read when the whole page has been consumed
+   * @throws IOException
+   */
+  public static <T> Links read(JsonReader in, TypeToken<T> recordType, EventListener<? super T> listener) throws IOException {
+    return read(in, recordType, null, listener);
+  }
+
+  /**
+   * Reads page JSON from <code>in</code> like {@link #read(JsonReader, TypeToken, EventListener)}, passing only
+   * records matching <code>filter</code>. Records that do not match are not deserialized.
+   * @param filter filter of the records, <code>null</code> to pass all of them
+   * @throws IOException
+   */
+  public static <T> Links read(JsonReader in, TypeToken<T> recordType, RecordFilter filter, EventListener<? super T> listener) throws IOException {
+    Gson gson = GsonSingleton.getInstance();
+    return PageTypeAdapterFactory.readPage(in, gson.getAdapter(recordType), gson.getAdapter(Links.class),
+            gson.getAdapter(JsonElement.class), filter, listener);
+  }
+
   /**
    * @return The next page of results or null when there is no more results
    * @throws URISyntaxException
@@ -42,7 +83,7 @@ public class Page<T> extends Response {
     if (this.getLinks().getNext() == null) {
       return null;
     }
-    TypeToken type = new TypeToken<Page<T>>() {};
+    TypeToken<Page<T>> type = this.type != null ? this.type : new TypeToken<Page<T>>() {};
     ResponseHandler<Page<T>> responseHandler = new ResponseHandler<Page<T>>(type);
     String url = this.getLinks().getNext().getHref();
 
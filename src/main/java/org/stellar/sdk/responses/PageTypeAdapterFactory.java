@@ -0,0 +1,134 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.RecordFilter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+
+/**
+ * Creates adapters of {@link Page} reading <code>_embedded.records</code> and <code>_links</code> straight from
+ * the stream, so records are deserialized one by one without building a tree of the page.
+ * @see Page#read(JsonReader, TypeToken, RecordFilter, EventListener)
+ */
+class PageTypeAdapterFactory implements TypeAdapterFactory {
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (type.getRawType() != Page.class) {
+      return null;
+    }
+    Type recordType = Object.class;
+    if (type.getType() instanceof ParameterizedType) {
+      recordType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+    }
+    TypeAdapter<Object> recordAdapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(recordType));
+    TypeAdapter<Page.Links> linksAdapter = gson.getAdapter(Page.Links.class);
+    return (TypeAdapter<T>) new PageTypeAdapter<Object>((TypeToken<Page<Object>>) type, recordAdapter, linksAdapter).nullSafe();
+  }
+
+  /**
+   * Reads a page object, passing records to <code>listener</code> as soon as each of them is read.
+   * @param filter when not null, records are read into a tree and only the matching ones are deserialized
+   * @return links of the page
+   */
+  static <E> Page.Links readPage(JsonReader in, TypeAdapter<E> recordAdapter, TypeAdapter<Page.Links> linksAdapter,
+                                 TypeAdapter<JsonElement> elementAdapter, RecordFilter filter,
+                                 EventListener<? super E> listener) throws IOException {
+    Page.Links links = null;
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      if (name.equals("_embedded") && in.peek() == JsonToken.BEGIN_OBJECT) {
+        readEmbedded(in, recordAdapter, elementAdapter, filter, listener);
+      } else if (name.equals("_links")) {
+        links = linksAdapter.read(in);
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return links;
+  }
+
+  private static <E> void readEmbedded(JsonReader in, TypeAdapter<E> recordAdapter, TypeAdapter<JsonElement> elementAdapter,
+                                       RecordFilter filter, EventListener<? super E> listener) throws IOException {
+    in.beginObject();
+    while (in.hasNext()) {
+      if (in.nextName().equals("records") && in.peek() == JsonToken.BEGIN_ARRAY) {
+        in.beginArray();
+        while (in.hasNext()) {
+          if (filter == null) {
+            listener.onEvent(recordAdapter.read(in));
+            continue;
+          }
+          JsonElement record = elementAdapter.read(in);
+          if (record.isJsonObject() && filter.matches(record.getAsJsonObject())) {
+            listener.onEvent(recordAdapter.fromJsonTree(record));
+          }
+        }
+        in.endArray();
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+  }
+
+  private static class PageTypeAdapter<E> extends TypeAdapter<Page<E>> {
+    private final TypeToken<Page<E>> pageType;
+    private final TypeAdapter<E> recordAdapter;
+    private final TypeAdapter<Page.Links> linksAdapter;
+
+    PageTypeAdapter(TypeToken<Page<E>> pageType, TypeAdapter<E> recordAdapter, TypeAdapter<Page.Links> linksAdapter) {
+      this.pageType = pageType;
+      this.recordAdapter = recordAdapter;
+      this.linksAdapter = linksAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, Page<E> page) throws IOException {
+      out.beginObject();
+      out.name("_embedded").beginObject().name("records");
+      if (page.getRecords() == null) {
+        out.nullValue();
+      } else {
+        out.beginArray();
+        for (E record : page.getRecords()) {
+          recordAdapter.write(out, record);
+        }
+        out.endArray();
+      }
+      out.endObject();
+      out.name("_links");
+      linksAdapter.write(out, page.getLinks());
+      out.endObject();
+    }
+
+    @Override
+    public Page<E> read(JsonReader in) throws IOException {
+      final ArrayList<E> records = new ArrayList<E>();
+      Page.Links links = readPage(in, recordAdapter, linksAdapter, null, null, new EventListener<E>() {
+        @Override
+        public void onEvent(E record) {
+          records.add(record);
+        }
+      });
+
+      Page<E> page = new Page<E>(records, links);
+      page.setType(pageType);
+      return page;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package org.stellar.sdk.responses;
+
+/**
+ * Response that can be used as a cursor in paged and streamed collections.
+ * @see <a href="https://www.stellar.org/developers/horizon/reference/resources/page.html" target="_blank">Page documentation</a>
+ */
+public interface Pageable {
+  /**
+   * Returns paging token of this record, an opaque value that can be passed as a <code>cursor</code> to
+   * continue after this record.
+   */
+  String getPagingToken();
+}
@@ -1,5 +1,6 @@
 package org.stellar.sdk.responses;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
@@ -19,8 +20,10 @@ public class PathResponse extends Response {
   private final String destinationAmount;
   @SerializedName("destination_asset_type")
   private final String destinationAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("destination_asset_code")
   private final String destinationAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("destination_asset_issuer")
   private final String destinationAssetIssuer;
 
@@ -28,8 +31,10 @@ public class PathResponse extends Response {
   private final String sourceAmount;
   @SerializedName("source_asset_type")
   private final String sourceAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("source_asset_code")
   private final String sourceAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("source_asset_issuer")
   private final String sourceAssetIssuer;
 
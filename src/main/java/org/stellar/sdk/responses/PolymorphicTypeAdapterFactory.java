@@ -0,0 +1,80 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates adapter of <code>baseType</code> that reads <code>type_i</code> field and dispatches to the adapter of the
+ * matching subclass. Adapters of all subclasses are created once, together with the Gson instance.
+ * <p>Horizon does not guarantee the position of <code>type_i</code> in the object, so a single record is read into
+ * a tree before it is passed to the subclass adapter.</p>
+ */
+abstract class PolymorphicTypeAdapterFactory<T> implements TypeAdapterFactory {
+  private final Class<T> baseType;
+  private final Map<Integer, Class<? extends T>> subtypes = new HashMap<Integer, Class<? extends T>>();
+
+  PolymorphicTypeAdapterFactory(Class<T> baseType) {
+    this.baseType = baseType;
+  }
+
+  void registerSubtype(int type, Class<? extends T> subtype) {
+    subtypes.put(type, subtype);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <R> TypeAdapter<R> create(final Gson gson, TypeToken<R> type) {
+    if (type.getRawType() != baseType) {
+      return null;
+    }
+    final TypeAdapterFactory factory = this;
+    final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+    final Map<Integer, TypeAdapter<? extends T>> readers = new HashMap<Integer, TypeAdapter<? extends T>>();
+    final Map<Class<?>, TypeAdapter<? extends T>> writers = new HashMap<Class<?>, TypeAdapter<? extends T>>();
+    for (Map.Entry<Integer, Class<? extends T>> entry : subtypes.entrySet()) {
+      TypeAdapter<? extends T> adapter = gson.getDelegateAdapter(this, TypeToken.get(entry.getValue()));
+      readers.put(entry.getKey(), adapter);
+      writers.put(entry.getValue(), adapter);
+    }
+
+    return (TypeAdapter<R>) new TypeAdapter<T>() {
+      @Override
+      public void write(JsonWriter out, T value) throws IOException {
+        TypeAdapter<T> adapter = (TypeAdapter<T>) writers.get(value.getClass());
+        if (adapter == null) {
+          adapter = (TypeAdapter<T>) gson.getDelegateAdapter(factory, TypeToken.get(value.getClass()));
+        }
+        adapter.write(out, value);
+      }
+
+      @Override
+      public T read(JsonReader in) throws IOException {
+        JsonElement json = elementAdapter.read(in);
+        if (json == null || json.isJsonNull()) {
+          return null;
+        }
+        JsonObject object = json.getAsJsonObject();
+        JsonElement typeField = object.get("type_i");
+        if (typeField == null) {
+          throw new JsonParseException("Missing type_i field");
+        }
+        TypeAdapter<? extends T> adapter = readers.get(typeField.getAsInt());
+        if (adapter == null) {
+          throw new RuntimeException("Invalid " + baseType.getSimpleName() + " type");
+        }
+        return adapter.fromJsonTree(object);
+      }
+    }.nullSafe();
+  }
+}
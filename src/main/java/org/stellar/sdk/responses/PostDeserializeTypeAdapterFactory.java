@@ -0,0 +1,39 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Calls {@link Response#afterDeserialize()} on every deserialized response, so derived fields are computed once.
+ * Must be registered after other factories handling responses, so it wraps them.
+ */
+class PostDeserializeTypeAdapterFactory implements TypeAdapterFactory {
+  @Override
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (!Response.class.isAssignableFrom(type.getRawType())) {
+      return null;
+    }
+    final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+    return new TypeAdapter<T>() {
+      @Override
+      public void write(JsonWriter out, T value) throws IOException {
+        delegate.write(out, value);
+      }
+
+      @Override
+      public T read(JsonReader in) throws IOException {
+        T value = delegate.read(in);
+        if (value != null) {
+          ((Response) value).afterDeserialize();
+        }
+        return value;
+      }
+    };
+  }
+}
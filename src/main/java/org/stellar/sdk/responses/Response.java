@@ -7,6 +7,12 @@ public abstract class Response {
   protected int rateLimitRemaining;
   protected int rateLimitReset;
 
+  /**
+   * Called once after the response has been deserialized. Used to compute fields derived from the JSON.
+   */
+  void afterDeserialize() {
+  }
+
   public void setHeaders(Headers headers) {
     this.rateLimitLimit = Integer.parseInt(headers.get("X-Ratelimit-Limit"));
     this.rateLimitRemaining = Integer.parseInt(headers.get("X-Ratelimit-Remaining"));
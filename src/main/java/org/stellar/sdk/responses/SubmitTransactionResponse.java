@@ -1,15 +1,13 @@
 package org.stellar.sdk.responses;
 
-import com.google.common.io.BaseEncoding;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Server;
-import org.stellar.sdk.xdr.OperationType;
+import org.stellar.sdk.xdr.ClaimOfferAtom;
+import org.stellar.sdk.xdr.OperationResult;
+import org.stellar.sdk.xdr.TransactionEnvelope;
 import org.stellar.sdk.xdr.TransactionResult;
-import org.stellar.sdk.xdr.XdrDataInputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 
 /**
@@ -27,6 +25,9 @@ public class SubmitTransactionResponse extends Response {
     private final String resultXdr;
     @SerializedName("extras")
     private final Extras extras;
+    // Decoded from XDR fields on first access
+    private transient TransactionEnvelope decodedEnvelope;
+    private transient TransactionResult decodedResult;
 
     SubmitTransactionResponse(Extras extras, Long ledger, String hash, String envelopeXdr, String resultXdr) {
         this.extras = extras;
@@ -64,6 +65,35 @@ public class SubmitTransactionResponse extends Response {
         }
     }
 
+    /**
+     * Returns decoded TransactionEnvelope. It is decoded on first call and cached.
+     */
+    public synchronized TransactionEnvelope getDecodedEnvelope() {
+        if (decodedEnvelope == null && this.getEnvelopeXdr() != null) {
+            decodedEnvelope = XdrResults.decodeEnvelope(this.getEnvelopeXdr());
+        }
+        return decodedEnvelope;
+    }
+
+    /**
+     * Returns decoded TransactionResult. It is decoded on first call and cached.
+     */
+    public synchronized TransactionResult getDecodedResult() {
+        if (decodedResult == null && this.getResultXdr() != null) {
+            decodedResult = XdrResults.decodeResult(this.getResultXdr());
+        }
+        return decodedResult;
+    }
+
+    /**
+     * Returns result of operation at <code>position</code> or <code>null</code> when there is no such result.
+     * @param position position of the operation in this transaction
+     */
+    public OperationResult getOperationResult(int position) {
+        TransactionResult result = getDecodedResult();
+        return result == null ? null : XdrResults.operationResult(result, position);
+    }
+
     /**
      * Helper method that returns Offer ID for ManageOffer from TransactionResult Xdr.
      * This is helpful when you need ID of an offer to update it later.
@@ -75,31 +105,23 @@ public class SubmitTransactionResponse extends Response {
             return null;
         }
 
-        BaseEncoding base64Encoding = BaseEncoding.base64();
-        byte[] bytes = base64Encoding.decode(this.getResultXdr());
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
-        XdrDataInputStream xdrInputStream = new XdrDataInputStream(inputStream);
         TransactionResult result;
-
         try {
-            result = TransactionResult.decode(xdrInputStream);
-        } catch (IOException e) {
-            return null;
-        }
-
-        if (result.getResult().getResults()[position] == null) {
-            return null;
-        }
-
-        if (result.getResult().getResults()[position].getTr().getDiscriminant() != OperationType.MANAGE_OFFER) {
-            return null;
-        }
-
-        if (result.getResult().getResults()[0].getTr().getManageOfferResult().getSuccess().getOffer().getOffer() == null) {
+            result = getDecodedResult();
+        } catch (RuntimeException e) {
             return null;
         }
+        return result == null ? null : XdrResults.offerId(result, position);
+    }
 
-        return result.getResult().getResults()[0].getTr().getManageOfferResult().getSuccess().getOffer().getOffer().getOfferID().getUint64();
+    /**
+     * Returns offers claimed by ManageOffer, CreatePassiveOffer or PathPayment operation at <code>position</code>.
+     * @param position position of the operation in this transaction
+     * @return claimed offers or <code>null</code> when the operation is of other type or failed.
+     */
+    public ClaimOfferAtom[] getClaimedOffers(int position) {
+        TransactionResult result = getDecodedResult();
+        return result == null ? null : XdrResults.claimedOffers(result, position);
     }
 
     /**
@@ -2,6 +2,8 @@ package org.stellar.sdk.responses;
 
 import com.google.gson.annotations.SerializedName;
 
+import org.stellar.sdk.Price;
+
 import java.util.Date;
 
 public class TradeAggregationResponse extends Response {
@@ -24,6 +26,15 @@ public class TradeAggregationResponse extends Response {
     @SerializedName("close")
     private final String close;
 
+    // Parsed once, in afterDeserialize
+    private transient long baseVolumeStroops;
+    private transient long counterVolumeStroops;
+    private transient Price avgPrice;
+    private transient Price highPrice;
+    private transient Price lowPrice;
+    private transient Price openPrice;
+    private transient Price closePrice;
+
     public TradeAggregationResponse(long timestamp, int tradeCount, String baseVolume, String counterVolume, String avg, String high, String low, String open, String close) {
         this.timestamp = timestamp;
         this.tradeCount = tradeCount;
@@ -34,6 +45,18 @@ public class TradeAggregationResponse extends Response {
         this.low = low;
         this.open = open;
         this.close = close;
+        afterDeserialize();
+    }
+
+    @Override
+    void afterDeserialize() {
+        baseVolumeStroops = baseVolume != null ? Amounts.toStroops(baseVolume) : 0;
+        counterVolumeStroops = counterVolume != null ? Amounts.toStroops(counterVolume) : 0;
+        avgPrice = avg != null ? Price.fromString(avg) : null;
+        highPrice = high != null ? Price.fromString(high) : null;
+        lowPrice = low != null ? Price.fromString(low) : null;
+        openPrice = open != null ? Price.fromString(open) : null;
+        closePrice = close != null ? Price.fromString(close) : null;
     }
 
     public long getTimestamp() {
@@ -75,4 +98,38 @@ public class TradeAggregationResponse extends Response {
     public String getClose() {
         return close;
     }
+
+    /**
+     * Returns base volume in stroops (1 stroop = 0.0000001 of the asset).
+     */
+    public long getBaseVolumeStroops() {
+        return baseVolumeStroops;
+    }
+
+    /**
+     * Returns counter volume in stroops (1 stroop = 0.0000001 of the asset).
+     */
+    public long getCounterVolumeStroops() {
+        return counterVolumeStroops;
+    }
+
+    public Price getAvgPrice() {
+        return avgPrice;
+    }
+
+    public Price getHighPrice() {
+        return highPrice;
+    }
+
+    public Price getLowPrice() {
+        return lowPrice;
+    }
+
+    public Price getOpenPrice() {
+        return openPrice;
+    }
+
+    public Price getClosePrice() {
+        return closePrice;
+    }
 }
@@ -1,5 +1,6 @@
 package org.stellar.sdk.responses;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.KeyPair;
@@ -12,7 +13,7 @@ import java.util.Date;
  * @see org.stellar.sdk.requests.TradesRequestBuilder
  * @see org.stellar.sdk.Server#trades()
  */
-public class TradeResponse extends Response {
+public class TradeResponse extends Response implements Pageable {
     @SerializedName("id")
     private final String id;
     @SerializedName("paging_token")
@@ -32,8 +33,10 @@ public class TradeResponse extends Response {
     protected final String baseAmount;
     @SerializedName("base_asset_type")
     protected final String baseAssetType;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("base_asset_code")
     protected final String baseAssetCode;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("base_asset_issuer")
     protected final String baseAssetIssuer;
 
@@ -43,14 +46,20 @@ public class TradeResponse extends Response {
     protected final String counterAmount;
     @SerializedName("counter_asset_type")
     protected final String counterAssetType;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("counter_asset_code")
     protected final String counterAssetCode;
+    @JsonAdapter(InterningStringTypeAdapter.class)
     @SerializedName("counter_asset_issuer")
     protected final String counterAssetIssuer;
 
     @SerializedName("_links")
     private TradeResponse.Links links;
 
+    // Parsed once, in afterDeserialize
+    private transient long baseAmountStroops;
+    private transient long counterAmountStroops;
+
     public TradeResponse(String id, String pagingToken, String ledgerCloseTime, String offerId, boolean baseIsSeller, KeyPair baseAccount, String baseAmount, String baseAssetType, String baseAssetCode, String baseAssetIssuer, KeyPair counterAccount, String counterAmount, String counterAssetType, String counterAssetCode, String counterAssetIssuer) {
         this.id = id;
         this.pagingToken = pagingToken;
@@ -67,6 +76,17 @@ public class TradeResponse extends Response {
         this.counterAssetType = counterAssetType;
         this.counterAssetCode = counterAssetCode;
         this.counterAssetIssuer = counterAssetIssuer;
+        afterDeserialize();
+    }
+
+    @Override
+    void afterDeserialize() {
+        if (baseAmount != null) {
+            baseAmountStroops = Amounts.toStroops(baseAmount);
+        }
+        if (counterAmount != null) {
+            counterAmountStroops = Amounts.toStroops(counterAmount);
+        }
     }
 
     public String getId() {
@@ -97,6 +117,13 @@ public class TradeResponse extends Response {
         return baseAmount;
     }
 
+    /**
+     * Returns base amount in stroops (1 stroop = 0.0000001 of the asset).
+     */
+    public long getBaseAmountStroops() {
+        return baseAmountStroops;
+    }
+
     public Asset getBaseAsset() {
         return Asset.create(this.baseAssetType, this.baseAssetCode, this.baseAssetIssuer);
     }
@@ -125,6 +152,13 @@ public class TradeResponse extends Response {
         return counterAmount;
     }
 
+    /**
+     * Returns counter amount in stroops (1 stroop = 0.0000001 of the asset).
+     */
+    public long getCounterAmountStroops() {
+        return counterAmountStroops;
+    }
+
     public String getCounterAssetType() {
         return counterAssetType;
     }
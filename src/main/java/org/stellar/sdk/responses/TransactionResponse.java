@@ -1,9 +1,16 @@
 package org.stellar.sdk.responses;
 
+import com.google.common.io.BaseEncoding;
+import com.google.gson.JsonParseException;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.Memo;
+import org.stellar.sdk.xdr.ClaimOfferAtom;
+import org.stellar.sdk.xdr.OperationResult;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+import org.stellar.sdk.xdr.TransactionMeta;
+import org.stellar.sdk.xdr.TransactionResult;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -13,7 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * @see org.stellar.sdk.requests.TransactionsRequestBuilder
  * @see org.stellar.sdk.Server#transactions()
  */
-public class TransactionResponse extends Response {
+public class TransactionResponse extends Response implements Pageable {
   @SerializedName("hash")
   private final String hash;
   @SerializedName("ledger")
@@ -36,12 +43,21 @@ public class TransactionResponse extends Response {
   private final String resultXdr;
   @SerializedName("result_meta_xdr")
   private final String resultMetaXdr;
+  @SerializedName("memo_type")
+  private String memoType;
+  @SerializedName("memo")
+  private String memoValue;
   @SerializedName("_links")
   private final Links links;
 
   // GSON won't serialize `transient` variables automatically. We need this behaviour
   // because Memo is an abstract class and GSON tries to instantiate it.
+  // Decoded from memoType and memoValue on first access.
   private transient Memo memo;
+  // Decoded from XDR fields on first access
+  private transient TransactionEnvelope decodedEnvelope;
+  private transient TransactionResult decodedResult;
+  private transient TransactionMeta decodedResultMeta;
 
   TransactionResponse(String hash, Long ledger, String createdAt, KeyPair sourceAccount, String pagingToken, Long sourceAccountSequence, Long feePaid, Integer operationCount, String envelopeXdr, String resultXdr, String resultMetaXdr, Memo memo, Links links) {
     this.hash = hash;
@@ -103,13 +119,98 @@ public class TransactionResponse extends Response {
     return resultMetaXdr;
   }
 
-  public Memo getMemo() {
+  /**
+   * Returns decoded <code>envelope_xdr</code>. It is decoded on first call and cached.
+   */
+  public synchronized TransactionEnvelope getDecodedEnvelope() {
+    if (decodedEnvelope == null && envelopeXdr != null) {
+      decodedEnvelope = XdrResults.decodeEnvelope(envelopeXdr);
+    }
+    return decodedEnvelope;
+  }
+
+  /**
+   * Returns decoded <code>result_xdr</code>. It is decoded on first call and cached.
+   */
+  public synchronized TransactionResult getDecodedResult() {
+    if (decodedResult == null && resultXdr != null) {
+      decodedResult = XdrResults.decodeResult(resultXdr);
+    }
+    return decodedResult;
+  }
+
+  /**
+   * Returns decoded <code>result_meta_xdr</code>. It is decoded on first call and cached.
+   */
+  public synchronized TransactionMeta getDecodedResultMeta() {
+    if (decodedResultMeta == null && resultMetaXdr != null) {
+      decodedResultMeta = XdrResults.decodeMeta(resultMetaXdr);
+    }
+    return decodedResultMeta;
+  }
+
+  /**
+   * Returns result of operation at <code>position</code> or <code>null</code> when there is no such result.
+   * @param position position of the operation in this transaction
+   */
+  public OperationResult getOperationResult(int position) {
+    TransactionResult result = getDecodedResult();
+    return result == null ? null : XdrResults.operationResult(result, position);
+  }
+
+  /**
+   * Returns ID of the offer created or updated by ManageOffer or CreatePassiveOffer operation at <code>position</code>.
+   * @param position position of the operation in this transaction
+   * @return Offer ID or <code>null</code> when the operation did not leave an offer in the order book.
+   */
+  public Long getOfferIdFromResult(int position) {
+    TransactionResult result = getDecodedResult();
+    return result == null ? null : XdrResults.offerId(result, position);
+  }
+
+  /**
+   * Returns offers claimed by ManageOffer, CreatePassiveOffer or PathPayment operation at <code>position</code>.
+   * @param position position of the operation in this transaction
+   * @return claimed offers or <code>null</code> when the operation is of other type or failed.
+   */
+  public ClaimOfferAtom[] getClaimedOffers(int position) {
+    TransactionResult result = getDecodedResult();
+    return result == null ? null : XdrResults.claimedOffers(result, position);
+  }
+
+  public synchronized Memo getMemo() {
+    if (memo == null && memoType != null) {
+      memo = decodeMemo(memoType, memoValue);
+    }
     return memo;
   }
 
-  public void setMemo(Memo memo) {
+  private static Memo decodeMemo(String memoType, String memoValue) {
+    if (memoType.equals("none")) {
+      return Memo.none();
+    }
+    // Because of the way "encoding/json" works on structs in Go, if transaction
+    // has an empty `memo_text` value, the `memo` field won't be present in a JSON
+    // representation of a transaction. That's why we need to handle a special case
+    // here.
+    if (memoType.equals("text")) {
+      return Memo.text(memoValue != null ? memoValue : "");
+    }
+    BaseEncoding base64Encoding = BaseEncoding.base64();
+    if (memoType.equals("id")) {
+      return Memo.id(Long.parseLong(memoValue));
+    } else if (memoType.equals("hash")) {
+      return Memo.hash(base64Encoding.decode(memoValue));
+    } else if (memoType.equals("return")) {
+      return Memo.returnHash(base64Encoding.decode(memoValue));
+    } else {
+      throw new JsonParseException("Unknown memo type.");
+    }
+  }
+
+  public synchronized void setMemo(Memo memo) {
     memo = checkNotNull(memo, "memo cannot be null");
-    if (this.memo != null) {
+    if (getMemo() != null) {
       throw new RuntimeException("Memo has been already set.");
     }
     this.memo = memo;
@@ -0,0 +1,124 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.io.BaseEncoding;
+
+import org.stellar.sdk.xdr.ClaimOfferAtom;
+import org.stellar.sdk.xdr.ManageOfferResult;
+import org.stellar.sdk.xdr.ManageOfferResultCode;
+import org.stellar.sdk.xdr.OfferEntry;
+import org.stellar.sdk.xdr.OperationResult;
+import org.stellar.sdk.xdr.OperationResultCode;
+import org.stellar.sdk.xdr.PathPaymentResult;
+import org.stellar.sdk.xdr.PathPaymentResultCode;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+import org.stellar.sdk.xdr.TransactionMeta;
+import org.stellar.sdk.xdr.TransactionResult;
+import org.stellar.sdk.xdr.XdrDataInputStream;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Decodes base64-encoded XDR payloads of responses. Payloads are decoded while reading the base64 string, without
+ * copying the decoded bytes into an intermediate array.
+ */
+final class XdrResults {
+  private XdrResults() {}
+
+  static TransactionEnvelope decodeEnvelope(String base64) {
+    try {
+      return TransactionEnvelope.decode(stream(base64));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  static TransactionResult decodeResult(String base64) {
+    try {
+      return TransactionResult.decode(stream(base64));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  static TransactionMeta decodeMeta(String base64) {
+    try {
+      return TransactionMeta.decode(stream(base64));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static XdrDataInputStream stream(String base64) {
+    return new XdrDataInputStream(BaseEncoding.base64().decodingStream(new StringReader(base64)));
+  }
+
+  /**
+   * Returns result of operation at <code>position</code> or null when there is no such result.
+   */
+  static OperationResult operationResult(TransactionResult result, int position) {
+    OperationResult[] results = result.getResult().getResults();
+    if (results == null || position < 0 || position >= results.length) {
+      return null;
+    }
+    return results[position];
+  }
+
+  /**
+   * Returns ID of the offer created or updated by ManageOffer or CreatePassiveOffer operation at
+   * <code>position</code>, or null when the operation did not leave an offer in the order book.
+   */
+  static Long offerId(TransactionResult result, int position) {
+    ManageOfferResult manageOfferResult = manageOfferResult(operationResult(result, position));
+    if (manageOfferResult == null || manageOfferResult.getDiscriminant() != ManageOfferResultCode.MANAGE_OFFER_SUCCESS) {
+      return null;
+    }
+    OfferEntry offer = manageOfferResult.getSuccess().getOffer().getOffer();
+    if (offer == null) {
+      return null;
+    }
+    return offer.getOfferID().getUint64();
+  }
+
+  /**
+   * Returns offers claimed by ManageOffer, CreatePassiveOffer or PathPayment operation at <code>position</code>,
+   * or null when the operation is of other type or failed.
+   */
+  static ClaimOfferAtom[] claimedOffers(TransactionResult result, int position) {
+    OperationResult operationResult = operationResult(result, position);
+    ManageOfferResult manageOfferResult = manageOfferResult(operationResult);
+    if (manageOfferResult != null) {
+      if (manageOfferResult.getDiscriminant() != ManageOfferResultCode.MANAGE_OFFER_SUCCESS) {
+        return null;
+      }
+      return manageOfferResult.getSuccess().getOffersClaimed();
+    }
+    if (operationResult == null || operationResult.getDiscriminant() != OperationResultCode.opINNER) {
+      return null;
+    }
+    switch (operationResult.getTr().getDiscriminant()) {
+      case PATH_PAYMENT:
+        PathPaymentResult pathPaymentResult = operationResult.getTr().getPathPaymentResult();
+        if (pathPaymentResult.getDiscriminant() != PathPaymentResultCode.PATH_PAYMENT_SUCCESS) {
+          return null;
+        }
+        return pathPaymentResult.getSuccess().getOffers();
+      default:
+        return null;
+    }
+  }
+
+  private static ManageOfferResult manageOfferResult(OperationResult operationResult) {
+    if (operationResult == null || operationResult.getDiscriminant() != OperationResultCode.opINNER) {
+      return null;
+    }
+    switch (operationResult.getTr().getDiscriminant()) {
+      case MANAGE_OFFER:
+        return operationResult.getTr().getManageOfferResult();
+      case CREATE_PASSIVE_OFFER:
+        return operationResult.getTr().getCreatePassiveOfferResult();
+      default:
+        return null;
+    }
+  }
+}
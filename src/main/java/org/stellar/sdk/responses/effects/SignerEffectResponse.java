@@ -1,10 +1,14 @@
 package org.stellar.sdk.responses.effects;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
+
 abstract class SignerEffectResponse extends EffectResponse {
   @SerializedName("weight")
   protected final Integer weight;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("public_key")
   protected final String publicKey;
 
@@ -1,10 +1,12 @@
 package org.stellar.sdk.responses.effects;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
 
 /**
  * Represents trade effect response.
@@ -22,8 +24,10 @@ public class TradeEffectResponse extends EffectResponse {
   protected final String soldAmount;
   @SerializedName("sold_asset_type")
   protected final String soldAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("sold_asset_code")
   protected final String soldAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("sold_asset_issuer")
   protected final String soldAssetIssuer;
 
@@ -31,8 +35,10 @@ public class TradeEffectResponse extends EffectResponse {
   protected final String boughtAmount;
   @SerializedName("bought_asset_type")
   protected final String boughtAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("bought_asset_code")
   protected final String boughtAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("bought_asset_issuer")
   protected final String boughtAssetIssuer;
 
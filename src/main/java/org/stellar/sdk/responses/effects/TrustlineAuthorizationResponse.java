@@ -1,14 +1,17 @@
 package org.stellar.sdk.responses.effects;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
 
 abstract class TrustlineAuthorizationResponse extends EffectResponse {
   @SerializedName("trustor")
   protected final KeyPair trustor;
   @SerializedName("asset_type")
   protected final String assetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_code")
   protected final String assetCode;
 
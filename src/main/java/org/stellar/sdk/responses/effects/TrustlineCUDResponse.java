@@ -1,18 +1,22 @@
 package org.stellar.sdk.responses.effects;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
 
 abstract class TrustlineCUDResponse extends EffectResponse {
   @SerializedName("limit")
   protected final String limit;
   @SerializedName("asset_type")
   protected final String assetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_code")
   protected final String assetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_issuer")
   protected final String assetIssuer;
 
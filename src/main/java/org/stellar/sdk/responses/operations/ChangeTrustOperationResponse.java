@@ -1,10 +1,12 @@
 package org.stellar.sdk.responses.operations;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
 
 /**
  * Represents ChangeTrust operation response.
@@ -19,8 +21,10 @@ public class ChangeTrustOperationResponse extends OperationResponse {
   protected final KeyPair trustee;
   @SerializedName("asset_type")
   protected final String assetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_code")
   protected final String assetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_issuer")
   protected final String assetIssuer;
   @SerializedName("limit")
@@ -1,10 +1,12 @@
 package org.stellar.sdk.responses.operations;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
 
 /**
  * Represents CreatePassiveOffer operation response.
@@ -24,15 +26,19 @@ public class CreatePassiveOfferOperationResponse extends OperationResponse {
 
   @SerializedName("buying_asset_type")
   protected final String buyingAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("buying_asset_code")
   protected final String buyingAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("buying_asset_issuer")
   protected final String buyingAssetIssuer;
 
   @SerializedName("selling_asset_type")
   protected final String sellingAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("selling_asset_code")
   protected final String sellingAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("selling_asset_issuer")
   protected final String sellingAssetIssuer;
 
@@ -1,10 +1,12 @@
 package org.stellar.sdk.responses.operations;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.InterningStringTypeAdapter;
 
 /**
  * Represents PathPayment operation response.
@@ -24,15 +26,19 @@ public class PathPaymentOperationResponse extends OperationResponse {
 
   @SerializedName("asset_type")
   protected final String assetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_code")
   protected final String assetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("asset_issuer")
   protected final String assetIssuer;
 
   @SerializedName("send_asset_type")
   protected final String sendAssetType;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("send_asset_code")
   protected final String sendAssetCode;
+  @JsonAdapter(InterningStringTypeAdapter.class)
   @SerializedName("send_asset_issuer")
   protected final String sendAssetIssuer;
 
@@ -0,0 +1,63 @@
+package org.stellar.sdk;
+
+import org.junit.Test;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import static org.junit.Assert.assertEquals;
+
+public class FeeEstimatorTest {
+  private static LedgerResponse ledger(long sequence, long baseFee, int operationCount, int maxTxSetSize) {
+    String json = "{\"sequence\": " + sequence + ", \"base_fee\": " + baseFee +
+            ", \"operation_count\": " + operationCount + ", \"max_tx_set_size\": " + maxTxSetSize + "}";
+    return GsonSingleton.getInstance().fromJson(json, LedgerResponse.class);
+  }
+
+  @Test
+  public void testNoData() {
+    FeeEstimator estimator = new FeeEstimator();
+    assertEquals(0, estimator.getLedgersCount());
+    assertEquals(0.0, estimator.getCapacityUsage(0.5), 0);
+    assertEquals(100, estimator.suggestBaseFee(0.9));
+  }
+
+  @Test
+  public void testNotCongested() {
+    FeeEstimator estimator = new FeeEstimator(10, 0.9, 10);
+    for (int i = 1; i <= 10; i++) {
+      estimator.onEvent(ledger(i, 200, 10 * i, 100));
+    }
+    assertEquals(10, estimator.getLedgersCount());
+    assertEquals(0.5, estimator.getCapacityUsage(0.5), 1e-9);
+    assertEquals(1.0, estimator.getCapacityUsage(1), 1e-9);
+    assertEquals(200, estimator.getBaseFee());
+    assertEquals(200, estimator.suggestBaseFee(0.5));
+    // Percentile 0.8 usage is 0.8 which is below threshold
+    assertEquals(200, estimator.suggestBaseFee(0.8));
+  }
+
+  @Test
+  public void testCongested() {
+    FeeEstimator estimator = new FeeEstimator(4, 0.9, 10);
+    estimator.onEvent(ledger(1, 100, 50, 100));
+    estimator.onEvent(ledger(2, 100, 100, 100));
+    estimator.onEvent(ledger(3, 100, 120, 100));
+    estimator.onEvent(ledger(4, 100, 100, 100));
+    // 3 of 4 ledgers are full
+    assertEquals(100, estimator.suggestBaseFee(0.2));
+    assertEquals(573, estimator.suggestBaseFee(0.7));
+  }
+
+  @Test
+  public void testWindowAndDuplicates() {
+    FeeEstimator estimator = new FeeEstimator(2, 0.9, 10);
+    estimator.onEvent(ledger(1, 100, 100, 100));
+    estimator.onEvent(ledger(2, 100, 100, 100));
+    estimator.onEvent(ledger(2, 100, 0, 100));
+    assertEquals(1.0, estimator.getCapacityUsage(0), 1e-9);
+    estimator.onEvent(ledger(3, 100, 0, 100));
+    estimator.onEvent(ledger(4, 100, 0, 100));
+    assertEquals(2, estimator.getLedgersCount());
+    assertEquals(0.0, estimator.getCapacityUsage(1), 1e-9);
+  }
+}
@@ -2,6 +2,8 @@ package org.stellar.sdk;
 
 import org.junit.Test;
 
+import java.math.RoundingMode;
+
 import static org.junit.Assert.assertEquals;
 
 public class PriceTest {
@@ -42,6 +44,101 @@ public class PriceTest {
         }
     }
 
+    @Test
+    public void testFromStringFormats() {
+        assertEquals(new Price(1, 2), Price.fromString(".5"));
+        assertEquals(new Price(-5, 4), Price.fromString("-1.25"));
+        assertEquals(new Price(1, 10000000), Price.fromString("1e-7"));
+        assertEquals(new Price(1, 3), Price.fromString("0.333333333333333333333333333333"));
+        assertEquals(new Price(-2147483647, 1), Price.fromString("-2147483647"));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testFromStringOverflow() {
+        Price.fromString("3000000000");
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testFromStringLongOverflow() {
+        Price.fromString("-30000000000000000000");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testFromStringInvalid() {
+        Price.fromString("1.2.3");
+    }
+
+    @Test
+    public void testFromDoubleValues() {
+        assertEquals(new Price(0, 1), Price.fromDouble(0));
+        assertEquals(new Price(1, 10), Price.fromDouble(0.1));
+        assertEquals(new Price(5, 4), Price.fromDouble(1.25));
+        assertEquals(new Price(1451, 25), Price.fromDouble(58.04));
+        assertEquals(new Price(-11, 2), Price.fromDouble(-5.5));
+        assertEquals(new Price(2147483647, 1), Price.fromDouble(2147483647));
+        assertEquals(new Price(0, 1), Price.fromDouble(Double.MIN_VALUE));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testFromDoubleOverflow() {
+        Price.fromDouble(-3e9);
+    }
+
+    @Test
+    public void testCompareTo() {
+        assertEquals(0, new Price(1, 2).compareTo(new Price(2, 4)));
+        assertEquals(-1, new Price(1, 3).compareTo(new Price(1, 2)));
+        assertEquals(1, new Price(Integer.MAX_VALUE, 1).compareTo(new Price(Integer.MAX_VALUE - 1, 1)));
+        assertEquals(-1, new Price(Integer.MAX_VALUE - 1, Integer.MAX_VALUE).compareTo(new Price(1, 1)));
+    }
+
+    @Test
+    public void testMultiply() {
+        assertEquals(new Price(3, 8), new Price(1, 2).multiply(new Price(3, 4)));
+        assertEquals(new Price(1, 1), new Price(2, 3).multiply(new Price(3, 2)));
+        // Exact product does not fit in 32 bits
+        Price product = new Price(1, 2147483629).multiply(new Price(3, 2147483647));
+        assertEquals(new Price(0, 1), product);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testMultiplyOverflow() {
+        new Price(Integer.MAX_VALUE, 3).multiply(new Price(Integer.MAX_VALUE, 5));
+    }
+
+    @Test
+    public void testInvert() {
+        assertEquals(new Price(4, 3), new Price(3, 4).invert());
+        assertEquals(new Price(-4, 3), new Price(-3, 4).invert());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testInvertZero() {
+        new Price(0, 1).invert();
+    }
+
+    @Test
+    public void testApplyTo() {
+        Price price = new Price(1, 3);
+        assertEquals(3333333, price.applyTo(10000000, RoundingMode.DOWN));
+        assertEquals(3333334, price.applyTo(10000000, RoundingMode.UP));
+        assertEquals(3333333, price.applyTo(10000000, RoundingMode.HALF_UP));
+        assertEquals(5, new Price(1, 2).applyTo(9, RoundingMode.HALF_UP));
+        assertEquals(4, new Price(1, 2).applyTo(9, RoundingMode.HALF_EVEN));
+        // amount * n overflows long
+        assertEquals(6917529027641081855L, new Price(3, 4).applyTo(Long.MAX_VALUE, RoundingMode.DOWN));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testApplyToOverflow() {
+        new Price(2, 1).applyTo(Long.MAX_VALUE, RoundingMode.DOWN);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testApplyToUnnecessaryRounding() {
+        new Price(1, 3).applyTo(10, RoundingMode.UNNECESSARY);
+    }
+
     private class PriceTestCase {
         public String input;
         public Price expectedPrice;
@@ -4,15 +4,21 @@ import junit.framework.TestCase;
 
 import okhttp3.*;
 import okhttp3.internal.http.StatusLine;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.stellar.sdk.requests.RateLimiter;
+import org.stellar.sdk.requests.RequestPriority;
 import org.stellar.sdk.responses.SubmitTransactionResponse;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 public class ServerTest extends TestCase {
     private final String successResponse =
@@ -109,4 +115,81 @@ public class ServerTest extends TestCase {
         assertEquals("tx_failed", response.getExtras().getResultCodes().getTransactionResultCode());
         assertEquals("op_no_destination", response.getExtras().getResultCodes().getOperationsResultCodes().get(0));
     }
+
+    @Test
+    public void testSubmitTransactionAsync() throws Exception {
+        MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody(failureResponse));
+        mockWebServer.start();
+        HttpUrl baseUrl = mockWebServer.url("");
+        Server server = new Server(baseUrl.toString());
+
+        SubmitTransactionResponse response = server.submitTransactionAsync(this.buildTransaction()).get(10, TimeUnit.SECONDS);
+        assertFalse(response.isSuccess());
+        assertEquals("tx_failed", response.getExtras().getResultCodes().getTransactionResultCode());
+        assertTrue(mockWebServer.takeRequest().getBody().readUtf8().startsWith("tx="));
+    }
+
+    private static void awaitLimiter(RateLimiter rateLimiter, int inFlight, int queueLength) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((rateLimiter.getInFlight() != inFlight || rateLimiter.getQueueLength() != queueLength)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(inFlight, rateLimiter.getInFlight());
+        assertEquals(queueLength, rateLimiter.getQueueLength());
+    }
+
+    private static void enqueue(Server server, Request request) {
+        server.getHttpClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+    }
+
+    @Test
+    public void testSubmitTransactionAsyncOvertakesLowPriorityCalls() throws Exception {
+        final Semaphore blocked = new Semaphore(0);
+        MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().startsWith("/blocked")) {
+                    blocked.tryAcquire(5, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setResponseCode(400).setBody(failureResponse);
+            }
+        });
+        mockWebServer.start();
+        Server server = new Server(mockWebServer.url("").toString());
+        RateLimiter rateLimiter = server.getRateLimiter();
+
+        // Fill the concurrency limit, then queue more calls than OkHttp allows per host by default
+        int limit = RateLimiter.DEFAULT_INITIAL_CONCURRENCY;
+        for (int i = 0; i < limit; i++) {
+            enqueue(server, new Request.Builder().url(mockWebServer.url("/blocked/" + i)).build());
+        }
+        awaitLimiter(rateLimiter, limit, 0);
+        for (int i = 0; i < 6; i++) {
+            enqueue(server, new Request.Builder().url(mockWebServer.url("/crawl/" + i)).tag(RequestPriority.LOW).build());
+        }
+        awaitLimiter(rateLimiter, limit, 6);
+        server.submitTransactionAsync(this.buildTransaction());
+        awaitLimiter(rateLimiter, limit, 7);
+
+        // First free slot goes to the transaction
+        blocked.release();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(mockWebServer.takeRequest().getPath().startsWith("/blocked"));
+        }
+        assertEquals("/transactions", mockWebServer.takeRequest(5, TimeUnit.SECONDS).getPath());
+        blocked.release(limit);
+        mockWebServer.shutdown();
+    }
 }
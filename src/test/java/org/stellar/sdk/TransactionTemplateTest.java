@@ -0,0 +1,127 @@
+package org.stellar.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TransactionTemplateTest {
+  // GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4
+  private final KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+  private final KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+  private final KeyPair otherDestination = KeyPair.fromAccountId("GAS4V4O2B7DW5T7IQRPEEVCRXMDZESKISR7DVIGKZQYYV3OSQ5SH5LVP");
+  private final Asset asset = Asset.createNonNativeAsset("USD", KeyPair.fromAccountId("GAS4V4O2B7DW5T7IQRPEEVCRXMDZESKISR7DVIGKZQYYV3OSQ5SH5LVP"));
+
+  @Before
+  public void setupNetwork() {
+    Network.useTestNetwork();
+  }
+
+  @Test
+  public void testPaymentTemplate() {
+    Transaction template = new Transaction.Builder(new Account(source, 2908908335136768L))
+            .addOperation(new PaymentOperation.Builder(destination, asset, "1").build())
+            .addMemo(Memo.text("Hello world!"))
+            .build();
+
+    Transaction expected = new Transaction.Builder(new Account(source, 2908908335136799L))
+            .addOperation(new PaymentOperation.Builder(otherDestination, asset, "12.5").build())
+            .addMemo(Memo.text("Hello world!"))
+            .build();
+    expected.sign(source);
+
+    TransactionTemplate.Draft draft = TransactionTemplate.fromTransaction(template).newDraft()
+            .setSequenceNumber(2908908335136800L)
+            .setDestination(0, otherDestination)
+            .setAmount(0, 125000000L);
+    assertTrue(Arrays.equals(expected.hash(), draft.hash()));
+    assertEquals(expected.toEnvelopeXdrBase64(), draft.sign(source).toEnvelopeXdrBase64());
+  }
+
+  @Test
+  public void testOfferTemplate() {
+    KeyPair operationSource = KeyPair.fromAccountId("GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4");
+    Transaction template = new Transaction.Builder(new Account(source, 10L))
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .addOperation(new ManageOfferOperation.Builder(new AssetTypeNative(), asset, "10", "1.5").setOfferId(42).setSourceAccount(operationSource).build())
+            .addOperation(new CreatePassiveOfferOperation.Builder(asset, new AssetTypeNative(), "20", "0.5").build())
+            .addTimeBounds(new TimeBounds(42, 1337))
+            .build();
+
+    Transaction expected = new Transaction.Builder(new Account(source, 10L))
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .addOperation(new ManageOfferOperation.Builder(new AssetTypeNative(), asset, "11", "1.25").setOfferId(42).setSourceAccount(operationSource).build())
+            .addOperation(new CreatePassiveOfferOperation.Builder(asset, new AssetTypeNative(), "3", "0.75").build())
+            .addTimeBounds(new TimeBounds(42, 1337))
+            .build();
+    expected.sign(source);
+
+    TransactionTemplate transactionTemplate = TransactionTemplate.fromTransaction(template);
+    assertEquals(3, transactionTemplate.getOperationsCount());
+    String envelope = transactionTemplate.newDraft()
+            .setAmount(1, 110000000L)
+            .setPrice(1, new Price(5, 4))
+            .setAmount(2, 30000000L)
+            .setPrice(2, new Price(3, 4))
+            .sign(source)
+            .toEnvelopeXdrBase64();
+    assertEquals(expected.toEnvelopeXdrBase64(), envelope);
+
+    // Template is not modified by drafts
+    template.sign(source);
+    assertEquals(template.toEnvelopeXdrBase64(), transactionTemplate.newDraft().sign(source).toEnvelopeXdrBase64());
+  }
+
+  @Test
+  public void testFee() {
+    Transaction template = new Transaction.Builder(new Account(source, 10L))
+            .addOperation(new PaymentOperation.Builder(destination, asset, "1").build())
+            .build();
+    TransactionTemplate.Draft draft = TransactionTemplate.fromTransaction(template).newDraft().setFee(250).sign(source);
+    org.stellar.sdk.xdr.Transaction decoded = Transaction.decodeXdrEnvelope(draft.toEnvelopeXdrBase64()).getTx();
+    assertEquals(250, decoded.getFee().getUint32().intValue());
+    assertEquals(11L, decoded.getSeqNum().getSequenceNumber().getUint64().longValue());
+  }
+
+  @Test
+  public void testUnsupportedField() {
+    Transaction template = new Transaction.Builder(new Account(source, 10L))
+            .addOperation(new ManageOfferOperation.Builder(new AssetTypeNative(), asset, "10", "1.5").build())
+            .build();
+    try {
+      TransactionTemplate.fromTransaction(template).newDraft().setDestination(0, destination);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Operation 0 does not have destination field", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testChangeAfterSigning() {
+    Transaction template = new Transaction.Builder(new Account(source, 10L))
+            .addOperation(new PaymentOperation.Builder(destination, asset, "1").build())
+            .build();
+    TransactionTemplate.Draft draft = TransactionTemplate.fromTransaction(template).newDraft().sign(source);
+    try {
+      draft.setAmount(0, 1);
+      fail();
+    } catch (IllegalStateException e) {
+    }
+  }
+
+  @Test
+  public void testNotSigned() {
+    Transaction template = new Transaction.Builder(new Account(source, 10L))
+            .addOperation(new PaymentOperation.Builder(destination, asset, "1").build())
+            .build();
+    try {
+      TransactionTemplate.fromTransaction(template).newDraft().toEnvelopeXdrBase64();
+      fail();
+    } catch (NotEnoughSignaturesException e) {
+    }
+  }
+}
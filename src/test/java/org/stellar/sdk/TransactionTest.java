@@ -10,6 +10,7 @@ import java.security.SecureRandom;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -43,6 +44,67 @@ public class TransactionTest {
     assertEquals(transaction.getFee(), 100);
   }
 
+  @Test
+  public void testBuilderBaseFee() throws FormatException {
+    // GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Account account = new Account(source, 2908908335136768L);
+    Transaction transaction = new Transaction.Builder(account)
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .setBaseFee(250)
+            .build();
+
+    transaction.sign(source);
+    assertEquals(500, transaction.getFee());
+
+    Transaction decoded = Transaction.fromEnvelope(Transaction.decodeXdrEnvelope(transaction.toEnvelopeXdrBase64()));
+    assertEquals(500, decoded.getFee());
+    assertEquals(transaction.toEnvelopeXdrBase64(), decoded.toEnvelopeXdrBase64());
+  }
+
+  @Test
+  public void testGetOperationsReturnsCopy() {
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Account account = new Account(source, 2908908335136768L);
+    CreateAccountOperation operation = new CreateAccountOperation.Builder(destination, "2000").build();
+    Transaction transaction = new Transaction.Builder(account)
+            .addOperation(operation)
+            .build();
+
+    transaction.getOperations()[0] = new CreateAccountOperation.Builder(source, "1").build();
+    assertSame(operation, transaction.getOperations()[0]);
+  }
+
+  @Test
+  public void testFromEnvelopeFeeOutOfRange() throws FormatException {
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Transaction transaction = new Transaction.Builder(new Account(source, 2908908335136768L))
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .build();
+    transaction.sign(source);
+    org.stellar.sdk.xdr.TransactionEnvelope envelope = Transaction.decodeXdrEnvelope(transaction.toEnvelopeXdrBase64());
+
+    // 2^31 - 1 is the largest fee Transaction can hold
+    envelope.getTx().getFee().setUint32(Integer.MAX_VALUE);
+    assertEquals(Integer.MAX_VALUE, Transaction.fromEnvelope(envelope).getFee());
+
+    // Uint32 fee of 2^31 stroops
+    envelope.getTx().getFee().setUint32(Integer.MIN_VALUE);
+    try {
+      Transaction.fromEnvelope(envelope);
+      fail();
+    } catch (IllegalArgumentException exception) {
+      assertEquals("Transaction fee is too large", exception.getMessage());
+    }
+  }
+
   @Test
   public void testBuilderMemoText() throws FormatException {
     // GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4
@@ -0,0 +1,137 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Test;
+import org.stellar.sdk.KeyPair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AccountKeyMapTest {
+  @Test
+  public void testDecodeAccountId() {
+    for (int i = 0; i < 100; i++) {
+      KeyPair account = KeyPair.random();
+      long[] key = new long[AccountKeyMap.KEY_LONGS];
+      assertTrue(AccountKeyMap.decodeAccountId(account.getAccountId(), key));
+      assertArrayEquals(AccountKeyMap.toKey(account.getPublicKey()), key);
+    }
+  }
+
+  @Test
+  public void testDecodeInvalidAccountId() {
+    long[] key = new long[AccountKeyMap.KEY_LONGS];
+    String accountId = KeyPair.random().getAccountId();
+    assertFalse(AccountKeyMap.decodeAccountId(accountId.substring(1), key));
+    assertFalse(AccountKeyMap.decodeAccountId(accountId.toLowerCase(), key));
+    // Secret seed
+    assertFalse(AccountKeyMap.decodeAccountId("SDJHRQF4GCMIIKAAAQ6IHY42X73FQFLHUULAPSKKD4DFDM7UXWWCRHBE", key));
+  }
+
+  @Test
+  public void testPutGetRemove() {
+    AccountKeyMap<String> map = new AccountKeyMap<String>(10);
+    long[] first = AccountKeyMap.toKey(KeyPair.random().getPublicKey());
+    long[] second = AccountKeyMap.toKey(KeyPair.random().getPublicKey());
+
+    assertNull(map.put(first, "a"));
+    assertEquals("a", map.put(first, "b"));
+    assertNull(map.put(second, "c"));
+    assertEquals(2, map.size());
+    assertEquals("b", map.get(first));
+    assertEquals("c", map.getAt(map.find(second)));
+
+    int slot = map.find(first);
+    assertEquals("b", map.remove(first));
+    assertNull(map.remove(first));
+    assertNull(map.get(first));
+    assertEquals(1, map.size());
+    // Key keeps its slot
+    assertEquals(slot, map.find(first));
+    assertNull(map.put(first, "d"));
+    assertEquals(slot, map.find(first));
+    assertEquals(-1, map.find(AccountKeyMap.toKey(KeyPair.random().getPublicKey())));
+  }
+
+  @Test
+  public void testMaxKeys() {
+    AccountKeyMap<String> map = new AccountKeyMap<String>(3);
+    List<long[]> keys = new ArrayList<long[]>();
+    for (int i = 0; i < 3; i++) {
+      long[] key = AccountKeyMap.toKey(KeyPair.random().getPublicKey());
+      keys.add(key);
+      map.put(key, "value");
+      map.remove(key);
+    }
+    // Known keys can be added again
+    map.put(keys.get(0), "value");
+    try {
+      map.put(AccountKeyMap.toKey(KeyPair.random().getPublicKey()), "value");
+      fail();
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testMaxKeysBoundary() {
+    // Size of the key array of the largest map fits in an int
+    long keyLongs = (long) AccountKeyMap.capacity(AccountKeyMap.MAX_KEYS) * AccountKeyMap.KEY_LONGS;
+    assertTrue(keyLongs > 0 && keyLongs <= Integer.MAX_VALUE - 8);
+    assertTrue(AccountKeyMap.capacity(AccountKeyMap.MAX_KEYS) >= 2 * AccountKeyMap.MAX_KEYS);
+    int[] invalid = {0, AccountKeyMap.MAX_KEYS + 1, 1 << 27, 1 << 28};
+    for (int maxKeys : invalid) {
+      try {
+        new AccountKeyMap<String>(maxKeys);
+        fail();
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentPut() throws InterruptedException {
+    final AccountKeyMap<Integer> map = new AccountKeyMap<Integer>(4000);
+    final List<long[]> keys = new ArrayList<long[]>();
+    for (int i = 0; i < 1000; i++) {
+      keys.add(AccountKeyMap.toKey(KeyPair.random().getPublicKey()));
+    }
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int t = 0; t < 4; t++) {
+      final int value = t;
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          for (long[] key : keys) {
+            map.put(key, value);
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(keys.size(), map.size());
+    for (long[] key : keys) {
+      assertTrue(map.find(key) >= 0);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AccountWatcherTest {
+  private MockWebServer mockWebServer;
+  private Server server;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    server = new Server(mockWebServer.url("").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static String payment(long id, KeyPair from, KeyPair to) {
+    return "id: " + id + "\n" +
+            "data: {\"id\": \"" + id + "\", \"paging_token\": \"" + id + "\", \"type\": \"payment\", \"type_i\": 1, " +
+            "\"source_account\": \"" + from.getAccountId() + "\", \"from\": \"" + from.getAccountId() + "\", " +
+            "\"to\": \"" + to.getAccountId() + "\", \"asset_type\": \"native\", \"amount\": \"1.0\"}\n\n";
+  }
+
+  // Last event ID is updated after the stream dispatched the record
+  private static String awaitLastEventId(AccountWatcher<?> watcher) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    String lastEventId = watcher.getStream().getLastEventId();
+    while (System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+      String current = watcher.getStream().getLastEventId();
+      if (current != null && current.equals(lastEventId)) {
+        return current;
+      }
+      lastEventId = current;
+    }
+    return lastEventId;
+  }
+
+  private static class Collector implements EventListener<OperationResponse> {
+    final BlockingQueue<Long> ids = new LinkedBlockingQueue<Long>();
+
+    @Override
+    public void onEvent(OperationResponse operation) {
+      ids.add(operation.getId());
+    }
+  }
+
+  @Test
+  public void testWatch() throws Exception {
+    KeyPair alice = KeyPair.random();
+    KeyPair bob = KeyPair.random();
+    KeyPair other = KeyPair.random();
+    String body = payment(1, alice, other) + payment(2, other, other) + payment(3, bob, alice) + payment(4, other, bob);
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(body, 1024).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    AccountWatcher<OperationResponse> watcher = server.payments().cursor("now").watcher(100);
+    Collector aliceOperations = new Collector();
+    Collector bobOperations = new Collector();
+    assertTrue(watcher.watch(alice, aliceOperations));
+    assertTrue(watcher.watch(bob, bobOperations));
+    assertEquals(2, watcher.getWatchedCount());
+
+    assertEquals(1L, aliceOperations.ids.poll(5, TimeUnit.SECONDS).longValue());
+    assertEquals(3L, aliceOperations.ids.poll(5, TimeUnit.SECONDS).longValue());
+    assertEquals(3L, bobOperations.ids.poll(5, TimeUnit.SECONDS).longValue());
+    assertEquals(4L, bobOperations.ids.poll(5, TimeUnit.SECONDS).longValue());
+    assertEquals("4", awaitLastEventId(watcher));
+    assertNull(aliceOperations.ids.poll(100, TimeUnit.MILLISECONDS));
+
+    watcher.close();
+    assertTrue(watcher.getStream().isClosed());
+    assertEquals("/payments?cursor=now", mockWebServer.takeRequest().getPath());
+  }
+
+  @Test
+  public void testListenerFailureStops() throws Exception {
+    KeyPair alice = KeyPair.random();
+    KeyPair other = KeyPair.random();
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(payment(1, alice, other) + payment(2, alice, other), 1024)
+            .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    AccountWatcher<OperationResponse> watcher = server.payments().watcher(100);
+    final RuntimeException error = new RuntimeException("failed");
+    final Collector aliceOperations = new Collector();
+    watcher.watch(alice, new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        if (operation.getId() == 1) {
+          throw error;
+        }
+        aliceOperations.onEvent(operation);
+      }
+    });
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!watcher.getStream().isClosed() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(watcher.getStream().isClosed());
+    assertSame(error, watcher.getFailure());
+    // Records after the failed one are not delivered
+    assertNull(aliceOperations.ids.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testUnwatch() throws Exception {
+    KeyPair alice = KeyPair.random();
+    KeyPair other = KeyPair.random();
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(payment(1, alice, other), 1024)
+            .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    AccountWatcher<OperationResponse> watcher = server.payments().watcher(100);
+    Collector aliceOperations = new Collector();
+    watcher.watch(alice, aliceOperations);
+    assertTrue(watcher.unwatch(alice));
+    assertFalse(watcher.unwatch(alice));
+    assertEquals(0, watcher.getWatchedCount());
+
+    // Matched nothing, so the record is skipped but still counts as processed
+    assertEquals("1", awaitLastEventId(watcher));
+    assertNull(aliceOperations.ids.poll(100, TimeUnit.MILLISECONDS));
+    watcher.close();
+  }
+
+  @Test
+  public void testDeserializedType() throws Exception {
+    KeyPair alice = KeyPair.random();
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(payment(5, alice, alice), 1024)
+            .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    final BlockingQueue<OperationResponse> operations = new LinkedBlockingQueue<OperationResponse>();
+    AccountWatcher<OperationResponse> watcher = server.payments().watcher(100);
+    watcher.watch(alice, new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        operations.add(operation);
+      }
+    });
+
+    // Account in several fields of a record is notified once
+    OperationResponse operation = operations.poll(5, TimeUnit.SECONDS);
+    assertTrue(operation instanceof PaymentOperationResponse);
+    assertEquals(alice.getAccountId(), ((PaymentOperationResponse) operation).getTo().getAccountId());
+    assertNull(operations.poll(100, TimeUnit.MILLISECONDS));
+    watcher.close();
+  }
+}
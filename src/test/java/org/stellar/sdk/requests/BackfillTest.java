@@ -0,0 +1,254 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BackfillTest {
+  private static final int LEDGERS = 30;
+  private MockWebServer mockWebServer;
+  private HistoryDispatcher dispatcher;
+  private Server server;
+
+  // Two operations in every ledger except multiples of 5, each operation has one effect
+  private static List<Long> operationIds() {
+    List<Long> ids = new ArrayList<Long>();
+    for (long ledger = 1; ledger <= LEDGERS; ledger++) {
+      if (ledger % 5 == 0) {
+        continue;
+      }
+      for (long operation = 1; operation <= 2; operation++) {
+        ids.add((ledger << 32) | (1 << 12) | operation);
+      }
+    }
+    return ids;
+  }
+
+  private static class HistoryDispatcher extends Dispatcher {
+    volatile long delayMillis;
+    final AtomicInteger inFlight = new AtomicInteger();
+    // Requests received while another one was in flight
+    final AtomicInteger overlapping = new AtomicInteger();
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      if (inFlight.incrementAndGet() > 1) {
+        overlapping.incrementAndGet();
+      }
+      try {
+        Thread.sleep(delayMillis);
+        return page(request);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    private MockResponse page(RecordedRequest request) {
+      String path = request.getRequestUrl().encodedPath();
+      String cursor = request.getRequestUrl().queryParameter("cursor");
+      int limit = Integer.parseInt(request.getRequestUrl().queryParameter("limit"));
+      assertEquals("asc", request.getRequestUrl().queryParameter("order"));
+      boolean effects = path.equals("/effects");
+      if (effects && cursor.indexOf('-') < 0) {
+        return new MockResponse().setResponseCode(400).setBody("{}");
+      }
+      long after = Long.parseLong(effects ? cursor.substring(0, cursor.indexOf('-')) : cursor);
+      // Each operation has a single effect with index 1, so it's after "id-0" cursor
+      boolean includeAfter = effects && cursor.endsWith("-0");
+      if (after == 0) {
+        return new MockResponse().setResponseCode(500).setBody("{}");
+      }
+
+      StringBuilder records = new StringBuilder();
+      int count = 0;
+      for (Long id : operationIds()) {
+        if (id < after || (id == after && !includeAfter) || count == limit) {
+          continue;
+        }
+        if (count++ > 0) {
+          records.append(",");
+        }
+        String token = effects ? id + "-1" : String.valueOf(id);
+        records.append("{\"id\": \"").append(token).append("\", \"paging_token\": \"").append(token).append("\", \"type_i\": ")
+                .append(effects ? 0 : 9).append("}");
+      }
+      return new MockResponse()
+              .setBody("{\"_embedded\": {\"records\": [" + records + "]}, \"_links\": {}}")
+              .setHeader("X-Ratelimit-Limit", "3600")
+              .setHeader("X-Ratelimit-Remaining", "3599")
+              .setHeader("X-Ratelimit-Reset", "60");
+    }
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    dispatcher = new HistoryDispatcher();
+    mockWebServer.setDispatcher(dispatcher);
+    mockWebServer.start();
+    server = new Server(mockWebServer.url("").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static List<String> expectedTokens(long startLedger, long endLedger, String suffix) {
+    List<String> expected = new ArrayList<String>();
+    for (Long id : operationIds()) {
+      long ledger = id >>> 32;
+      if (ledger >= startLedger && ledger <= endLedger) {
+        expected.add(id + suffix);
+      }
+    }
+    return expected;
+  }
+
+  @Test
+  public void testLedgerOf() {
+    assertEquals(27L, Backfill.ledgerOf("115964121088"));
+    assertEquals(27L, Backfill.ledgerOf("115964121089-3"));
+  }
+
+  @Test
+  public void testOperationsInOrder() throws InterruptedException {
+    int[][] settings = {{1, 1}, {3, 2}, {7, 3}, {30, 8}, {100, 4}};
+    for (int[] setting : settings) {
+      final List<String> tokens = new ArrayList<String>();
+      server.operations().backfill(3, 27)
+              .setPartitions(setting[0])
+              .setConcurrency(setting[1])
+              .setLimit(3)
+              .run(new EventListener<OperationResponse>() {
+                @Override
+                public void onEvent(OperationResponse operation) {
+                  tokens.add(operation.getPagingToken());
+                }
+              });
+      assertEquals(expectedTokens(3, 27, ""), tokens);
+    }
+  }
+
+  @Test
+  public void testEffects() throws InterruptedException {
+    final List<String> tokens = new ArrayList<String>();
+    server.effects().backfill(1, LEDGERS)
+            .setConcurrency(3)
+            .setLimit(3)
+            .run(new EventListener<EffectResponse>() {
+              @Override
+              public void onEvent(EffectResponse effect) {
+                tokens.add(effect.getPagingToken());
+              }
+            });
+    assertEquals(expectedTokens(1, LEDGERS, "-1"), tokens);
+  }
+
+  @Test
+  public void testFetchAheadBounded() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> tokens = new ArrayList<String>();
+    final Backfill<OperationResponse> backfill = server.operations().backfill(1, LEDGERS)
+            .setPartitions(2)
+            .setConcurrency(2)
+            .setLimit(1)
+            .setMaxBufferedPages(2);
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          backfill.run(new EventListener<OperationResponse>() {
+            @Override
+            public void onEvent(OperationResponse operation) {
+              try {
+                // Slow listener
+                release.await(5, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+              tokens.add(operation.getPagingToken());
+            }
+          });
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+    thread.start();
+    Thread.sleep(500);
+    // Buffered pages, the page over the budget of the partition being delivered and a page waiting in each partition
+    int maxRequests = 2 + 1 + 2;
+    assertTrue(mockWebServer.getRequestCount() <= maxRequests);
+
+    release.countDown();
+    thread.join(10000);
+    assertEquals(expectedTokens(1, LEDGERS, ""), tokens);
+    assertTrue(mockWebServer.getRequestCount() > maxRequests);
+  }
+
+  @Test
+  public void testPartitionsPageInParallel() throws InterruptedException {
+    dispatcher.delayMillis = 10;
+    final List<String> tokens = new ArrayList<String>();
+    server.operations().backfill(1, LEDGERS)
+            .setPartitions(3)
+            .setConcurrency(3)
+            .setLimit(1)
+            .run(new EventListener<OperationResponse>() {
+              @Override
+              public void onEvent(OperationResponse operation) {
+                tokens.add(operation.getPagingToken());
+              }
+            });
+    assertEquals(expectedTokens(1, LEDGERS, ""), tokens);
+    // Partitions ahead of the delivered one keep paging instead of waiting for it
+    int requests = mockWebServer.getRequestCount();
+    assertTrue(dispatcher.overlapping.get() + " of " + requests, dispatcher.overlapping.get() >= requests / 2);
+  }
+
+  @Test
+  public void testError() throws InterruptedException {
+    // Cursor of the partition starting at ledger 0 is rejected by the dispatcher
+    final List<String> tokens = new ArrayList<String>();
+    Backfill<OperationResponse> backfill = new Backfill<OperationResponse>(server.getHttpClient(),
+            mockWebServer.url("operations"), new com.google.gson.reflect.TypeToken<org.stellar.sdk.responses.Page<OperationResponse>>() {},
+            "", 1, 10) {
+      @Override
+      String cursorFor(long ledger) {
+        return ledger == 6 ? "0" : super.cursorFor(ledger);
+      }
+    };
+    try {
+      backfill.setPartitions(2).run(new EventListener<OperationResponse>() {
+        @Override
+        public void onEvent(OperationResponse operation) {
+          tokens.add(operation.getPagingToken());
+        }
+      });
+      fail();
+    } catch (ErrorResponse e) {
+      assertEquals(500, e.getCode());
+    }
+    // Records of the first partition were delivered before the error
+    assertEquals(expectedTokens(1, 5, ""), tokens);
+  }
+}
@@ -0,0 +1,132 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class BatchingListenerTest {
+  private final BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<List<Integer>>();
+  private final BatchListener<Integer> collector = new BatchListener<Integer>() {
+    @Override
+    public void onBatch(List<Integer> batch) {
+      batches.add(batch);
+    }
+  };
+
+  @Test
+  public void testBatchSize() throws InterruptedException {
+    BatchingListener<Integer> listener = new BatchingListener.Builder<Integer>(collector)
+            .setMaxBatchSize(3)
+            .setLinger(1, TimeUnit.MINUTES)
+            .build();
+    for (int i = 1; i <= 7; i++) {
+      listener.onEvent(i);
+    }
+    assertEquals(Arrays.asList(1, 2, 3), batches.poll(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(4, 5, 6), batches.poll(5, TimeUnit.SECONDS));
+    // Closing delivers the rest without waiting for linger
+    listener.close();
+    assertEquals(Arrays.asList(7), batches.poll(5, TimeUnit.SECONDS));
+    listener.onEvent(8);
+    assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testLinger() throws InterruptedException {
+    BatchingListener<Integer> listener = new BatchingListener.Builder<Integer>(collector)
+            .setMaxBatchSize(100)
+            .setLinger(50, TimeUnit.MILLISECONDS)
+            .build();
+    listener.onEvent(1);
+    listener.onEvent(2);
+    assertEquals(Arrays.asList(1, 2), batches.poll(5, TimeUnit.SECONDS));
+    listener.close();
+  }
+
+  @Test
+  public void testListenerFailureStopsDelivery() throws InterruptedException {
+    final RuntimeException error = new RuntimeException("write failed");
+    BatchingListener<Integer> listener = new BatchingListener.Builder<Integer>(new BatchListener<Integer>() {
+      @Override
+      public void onBatch(List<Integer> batch) {
+        if (batch.contains(3)) {
+          throw error;
+        }
+        batches.add(batch);
+      }
+    }).setMaxBatchSize(2).setLinger(1, TimeUnit.MINUTES).build();
+    // Batch [3, 4] fails, it waits for 4 to fill up
+    for (int i = 1; i <= 4; i++) {
+      listener.onEvent(i);
+    }
+    assertEquals(Arrays.asList(1, 2), batches.poll(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 500 && listener.getFailure() == null; i++) {
+      Thread.sleep(10);
+    }
+    assertSame(error, listener.getFailure());
+    try {
+      listener.onEvent(7);
+      fail();
+    } catch (ListenerFailedException e) {
+      assertSame(error, e.getCause());
+    }
+    // Batches after the failed one are not delivered
+    assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testOverflowPolicies() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    BatchListener<Integer> blocked = new BatchListener<Integer>() {
+      @Override
+      public void onBatch(List<Integer> batch) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        batches.add(batch);
+      }
+    };
+    BatchingListener<Integer> dropping = new BatchingListener.Builder<Integer>(blocked)
+            .setBufferSize(2)
+            .setMaxBatchSize(1)
+            .setOverflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .build();
+    BatchingListener<Integer> disconnecting = new BatchingListener.Builder<Integer>(blocked)
+            .setBufferSize(2)
+            .setMaxBatchSize(1)
+            .setOverflowPolicy(OverflowPolicy.DISCONNECT_AND_RESUME)
+            .build();
+
+    // First record is taken by the blocked delivery thread, the buffer fills up after it
+    dropping.onEvent(1);
+    disconnecting.onEvent(1);
+    Thread.sleep(200);
+    for (int i = 2; i <= 5; i++) {
+      dropping.onEvent(i);
+    }
+    assertEquals(2, dropping.getDroppedCount());
+
+    disconnecting.onEvent(2);
+    disconnecting.onEvent(3);
+    try {
+      disconnecting.onEvent(4);
+      fail();
+    } catch (StreamOverflowException e) {
+    }
+    release.countDown();
+    dropping.close();
+    disconnecting.close();
+  }
+}
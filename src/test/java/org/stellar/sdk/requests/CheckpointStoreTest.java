@@ -0,0 +1,182 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class CheckpointStoreTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static class Record implements Pageable {
+    private final String pagingToken;
+
+    Record(String pagingToken) {
+      this.pagingToken = pagingToken;
+    }
+
+    @Override
+    public String getPagingToken() {
+      return pagingToken;
+    }
+  }
+
+  @Test
+  public void testCommitAndReopen() throws Exception {
+    File file = new File(folder.getRoot(), "checkpoints.dat");
+    CheckpointStore store = new CheckpointStore(file);
+    assertNull(store.get("payments"));
+    store.commit("payments", "100");
+    store.commit("effects", "200-1");
+    store.commit("payments", "101");
+    assertEquals("101", store.get("payments"));
+    store.close();
+
+    store = new CheckpointStore(file);
+    assertEquals("101", store.get("payments"));
+    assertEquals("200-1", store.get("effects"));
+    store.commit("ledgers", "300");
+    store.close();
+
+    store = new CheckpointStore(file);
+    assertEquals("101", store.get("payments"));
+    assertEquals("300", store.get("ledgers"));
+    store.close();
+  }
+
+  @Test
+  public void testTornEntryFallsBackToPreviousToken() throws Exception {
+    File file = new File(folder.getRoot(), "checkpoints.dat");
+    CheckpointStore store = new CheckpointStore(file);
+    store.commit("payments", "100");
+    store.commit("payments", "101");
+    store.close();
+
+    // Second commit went to the first copy of the first slot
+    RandomAccessFile raw = new RandomAccessFile(file, "rw");
+    raw.seek(16 + 120);
+    raw.write(0x7f);
+    raw.close();
+
+    store = new CheckpointStore(file);
+    assertEquals("100", store.get("payments"));
+    store.close();
+  }
+
+  @Test
+  public void testCommittingListeners() throws Exception {
+    CheckpointStore store = new CheckpointStore(new File(folder.getRoot(), "checkpoints.dat"), 4, 10, TimeUnit.MILLISECONDS);
+    EventListener<Record> listener = store.committing("stream", new EventListener<Record>() {
+      @Override
+      public void onEvent(Record record) {
+        if (record.getPagingToken().equals("3")) {
+          throw new RuntimeException("failed");
+        }
+      }
+    });
+    listener.onEvent(new Record("1"));
+    listener.onEvent(new Record("2"));
+    try {
+      listener.onEvent(new Record("3"));
+      fail();
+    } catch (RuntimeException e) {
+      // Not committed
+    }
+    assertEquals("2", store.get("stream"));
+
+    BatchListener<Record> batchListener = store.committing("batches", new BatchListener<Record>() {
+      @Override
+      public void onBatch(List<Record> records) {}
+    });
+    batchListener.onBatch(Arrays.asList(new Record("5"), new Record("6")));
+    assertEquals("6", store.get("batches"));
+    store.close();
+  }
+
+  @Test
+  public void testFailedBatchNotCommittedPast() throws Exception {
+    CheckpointStore store = new CheckpointStore(new File(folder.getRoot(), "checkpoints.dat"), 4, 10, TimeUnit.MILLISECONDS);
+    final RuntimeException error = new RuntimeException("write failed");
+    BatchListener<Record> writer = new BatchListener<Record>() {
+      @Override
+      public void onBatch(List<Record> records) {
+        for (Record record : records) {
+          if (record.getPagingToken().equals("3")) {
+            throw error;
+          }
+        }
+      }
+    };
+    BatchingListener<Record> batching = new BatchingListener.Builder<Record>(store.committing("batches", writer))
+            .setMaxBatchSize(2)
+            .setLinger(1, TimeUnit.MINUTES)
+            .build();
+    // Batch [3, 4] fails, it waits for 4 to fill up
+    for (int i = 1; i <= 4; i++) {
+      batching.onEvent(new Record(String.valueOf(i)));
+    }
+    for (int i = 0; i < 500 && batching.getFailure() == null; i++) {
+      Thread.sleep(10);
+    }
+    assertSame(error, batching.getFailure());
+    try {
+      batching.onEvent(new Record("7"));
+      fail();
+    } catch (ListenerFailedException e) {
+      assertSame(error, e.getCause());
+    }
+    batching.close();
+    // Resuming from the committed token redelivers the failed batch
+    assertEquals("2", store.get("batches"));
+
+    // A later batch is not committed past the failed one either
+    BatchListener<Record> committing = store.committing("direct", writer);
+    try {
+      committing.onBatch(Arrays.asList(new Record("3")));
+      fail();
+    } catch (RuntimeException e) {
+      assertSame(error, e);
+    }
+    try {
+      committing.onBatch(Arrays.asList(new Record("4")));
+      fail();
+    } catch (ListenerFailedException e) {
+      assertSame(error, e.getCause());
+    }
+    assertNull(store.get("direct"));
+    store.close();
+  }
+
+  @Test
+  public void testCapacity() throws Exception {
+    CheckpointStore store = new CheckpointStore(new File(folder.getRoot(), "checkpoints.dat"), 2, 1, TimeUnit.SECONDS);
+    store.commit("a", "1");
+    store.commit("b", "1");
+    store.commit("a", "2");
+    try {
+      store.commit("c", "1");
+      fail();
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+    store.close();
+    try {
+      store.commit("a", "3");
+      fail();
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+  }
+}
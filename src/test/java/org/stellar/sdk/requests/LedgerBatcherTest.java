@@ -0,0 +1,158 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Test;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LedgerBatcherTest {
+  private static class Collector implements LedgerBatchListener {
+    final BlockingQueue<LedgerBatch> batches = new LinkedBlockingQueue<LedgerBatch>();
+
+    @Override
+    public void onLedger(LedgerBatch batch) {
+      batches.add(batch);
+    }
+  }
+
+  private static LedgerResponse ledger(long sequence, int transactionCount, int operationCount) {
+    return GsonSingleton.getInstance().fromJson("{\"sequence\": " + sequence + ", \"paging_token\": \"" + (sequence << 32) +
+            "\", \"transaction_count\": " + transactionCount + ", \"operation_count\": " + operationCount + "}", LedgerResponse.class);
+  }
+
+  private static TransactionResponse transaction(long ledger, int index) {
+    long id = ledger << 32 | index << 12;
+    return GsonSingleton.getInstance().fromJson("{\"paging_token\": \"" + id + "\", \"ledger\": " + ledger + "}",
+            TransactionResponse.class);
+  }
+
+  private static OperationResponse operation(long ledger, int transaction, int index) {
+    long id = (ledger << 32 | transaction << 12) + index;
+    return GsonSingleton.getInstance().fromJson("{\"id\": \"" + id + "\", \"paging_token\": \"" + id + "\", \"type_i\": 9}",
+            OperationResponse.class);
+  }
+
+  private static EffectResponse effect(long ledger, int transaction, int operation) {
+    long id = (ledger << 32 | transaction << 12) + operation;
+    return GsonSingleton.getInstance().fromJson("{\"paging_token\": \"" + id + "-1\", \"type_i\": 1}", EffectResponse.class);
+  }
+
+  @Test
+  public void testBatchCompleteByCounts() throws Exception {
+    Collector collector = new Collector();
+    LedgerBatcher batcher = new LedgerBatcher.Builder(collector).build();
+    EventListener<TransactionResponse> transactions = batcher.transactions();
+    EventListener<OperationResponse> operations = batcher.operations();
+    EventListener<LedgerResponse> ledgers = batcher.ledgers();
+
+    operations.onEvent(operation(5, 1, 2));
+    operations.onEvent(operation(5, 1, 1));
+    transactions.onEvent(transaction(5, 1));
+    assertNull(collector.batches.poll(200, TimeUnit.MILLISECONDS));
+
+    ledgers.onEvent(ledger(5, 1, 2));
+    LedgerBatch batch = collector.batches.poll(5, TimeUnit.SECONDS);
+    assertEquals(5, batch.getSequence());
+    assertEquals(5L, batch.getLedger().getSequence().longValue());
+    assertEquals(1, batch.getTransactions().size());
+    assertEquals(2, batch.getOperations().size());
+    // Ordered by paging token
+    assertEquals(operation(5, 1, 1).getPagingToken(), batch.getOperations().get(0).getPagingToken());
+    assertTrue(batch.getEffects().isEmpty());
+
+    // Empty ledger
+    ledgers.onEvent(ledger(6, 0, 0));
+    batch = collector.batches.poll(5, TimeUnit.SECONDS);
+    assertEquals(6, batch.getSequence());
+    assertTrue(batch.isEmpty());
+
+    operations.onEvent(operation(5, 2, 1));
+    assertEquals(1, batcher.getLateCount());
+    batcher.close();
+  }
+
+  @Test
+  public void testListenerFailureStops() throws Exception {
+    final RuntimeException error = new RuntimeException("commit failed");
+    final Collector collector = new Collector();
+    LedgerBatcher batcher = new LedgerBatcher.Builder(new LedgerBatchListener() {
+      @Override
+      public void onLedger(LedgerBatch batch) {
+        if (batch.getSequence() == 6) {
+          throw error;
+        }
+        collector.onLedger(batch);
+      }
+    }).build();
+    EventListener<LedgerResponse> ledgers = batcher.ledgers();
+
+    ledgers.onEvent(ledger(5, 0, 0));
+    assertEquals(5, collector.batches.poll(5, TimeUnit.SECONDS).getSequence());
+    ledgers.onEvent(ledger(6, 0, 0));
+    for (int i = 0; i < 500 && batcher.getFailure() == null; i++) {
+      Thread.sleep(10);
+    }
+    assertSame(error, batcher.getFailure());
+    try {
+      ledgers.onEvent(ledger(7, 0, 0));
+      fail();
+    } catch (ListenerFailedException e) {
+      assertSame(error, e.getCause());
+    }
+    assertNull(collector.batches.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testBatchCompleteWhenInputsAdvance() throws Exception {
+    Collector collector = new Collector();
+    LedgerBatcher batcher = new LedgerBatcher.Builder(collector).build();
+    EventListener<EffectResponse> effects = batcher.effects();
+    EventListener<LedgerResponse> ledgers = batcher.ledgers();
+
+    effects.onEvent(effect(7, 1, 1));
+    effects.onEvent(effect(7, 1, 2));
+    ledgers.onEvent(ledger(7, 1, 2));
+    // Effects have no count, so the batch waits for effects of a later ledger
+    assertNull(collector.batches.poll(300, TimeUnit.MILLISECONDS));
+
+    effects.onEvent(effect(8, 1, 1));
+    LedgerBatch batch = collector.batches.poll(5, TimeUnit.SECONDS);
+    assertEquals(7, batch.getSequence());
+    assertEquals(2, batch.getEffects().size());
+    assertNull(collector.batches.poll(300, TimeUnit.MILLISECONDS));
+    batcher.close();
+  }
+
+  @Test
+  public void testBatchCompleteAfterCloseDelay() throws Exception {
+    Collector collector = new Collector();
+    LedgerBatcher batcher = new LedgerBatcher.Builder(collector).setCloseDelay(300, TimeUnit.MILLISECONDS).build();
+    EventListener<EffectResponse> effects = batcher.effects();
+    EventListener<LedgerResponse> ledgers = batcher.ledgers();
+
+    effects.onEvent(effect(7, 1, 1));
+    effects.onEvent(effect(8, 1, 1));
+    // Ledger 7 was missed by the ledgers stream
+    ledgers.onEvent(ledger(8, 1, 1));
+
+    LedgerBatch batch = collector.batches.poll(5, TimeUnit.SECONDS);
+    assertEquals(7, batch.getSequence());
+    assertNull(batch.getLedger());
+    batch = collector.batches.poll(5, TimeUnit.SECONDS);
+    assertEquals(8, batch.getSequence());
+    assertEquals(1, batch.getEffects().size());
+    batcher.close();
+  }
+}
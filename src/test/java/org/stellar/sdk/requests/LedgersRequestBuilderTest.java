@@ -1,12 +1,36 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 import org.junit.Test;
 import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class LedgersRequestBuilderTest {
+  private static final String LEDGER = "{\"sequence\": 898826, \"paging_token\": \"3860428274794496\", \"operation_count\": 2}";
+
+  private static MockResponse mockResponse(int code, String body) {
+    return new MockResponse()
+            .setResponseCode(code)
+            .setBody(body)
+            .setHeader("X-Ratelimit-Limit", "3600")
+            .setHeader("X-Ratelimit-Remaining", "3599")
+            .setHeader("X-Ratelimit-Reset", "60");
+  }
+
   @Test
   public void testAccounts() {
     Server server = new Server("https://horizon-testnet.stellar.org");
@@ -16,4 +40,50 @@ public class LedgersRequestBuilderTest {
             .buildUri();
     assertEquals("https://horizon-testnet.stellar.org/ledgers?limit=200&order=asc", uri.toString());
   }
+
+  @Test
+  public void testLedgerAsync() throws Exception {
+    MockWebServer mockWebServer = new MockWebServer();
+    mockWebServer.enqueue(mockResponse(200, LEDGER));
+    mockWebServer.start();
+    Server server = new Server(mockWebServer.url("").toString());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      LedgerResponse ledger = server.ledgers().ledgerAsync(898826, executor).get(10, TimeUnit.SECONDS);
+      assertEquals(new Long(898826), ledger.getSequence());
+      assertEquals(3600, ledger.getRateLimitLimit());
+      assertEquals("/ledgers/898826", mockWebServer.takeRequest().getPath());
+    } finally {
+      executor.shutdown();
+      mockWebServer.shutdown();
+    }
+  }
+
+  @Test
+  public void testExecuteAsync() throws Exception {
+    MockWebServer mockWebServer = new MockWebServer();
+    mockWebServer.enqueue(mockResponse(200, "{\"_embedded\": {\"records\": [" + LEDGER + "]}, \"_links\": {}}"));
+    mockWebServer.enqueue(mockResponse(404, "{}"));
+    mockWebServer.start();
+    Server server = new Server(mockWebServer.url("").toString());
+
+    try {
+      Page<LedgerResponse> page = server.ledgers().limit(1).executeAsync().get(10, TimeUnit.SECONDS);
+      assertEquals(1, page.getRecords().size());
+      assertEquals("3860428274794496", page.getRecords().get(0).getPagingToken());
+      assertEquals("/ledgers?limit=1", mockWebServer.takeRequest().getPath());
+
+      Future<Page<LedgerResponse>> future = server.ledgers().executeAsync(MoreExecutors.directExecutor());
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof ErrorResponse);
+        assertEquals(404, ((ErrorResponse) e.getCause()).getCode());
+      }
+    } finally {
+      mockWebServer.shutdown();
+    }
+  }
 }
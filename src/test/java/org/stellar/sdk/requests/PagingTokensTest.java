@@ -0,0 +1,27 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PagingTokensTest {
+  @Test
+  public void testNumericTokens() {
+    assertTrue(PagingTokens.isAfter("12884905985", null));
+    assertTrue(PagingTokens.isAfter("12884905985", "12884905984"));
+    assertFalse(PagingTokens.isAfter("12884905985", "12884905985"));
+    assertFalse(PagingTokens.isAfter("9", "12884905985"));
+    assertTrue(PagingTokens.isAfter("12884905985-2", "12884905985-1"));
+    assertTrue(PagingTokens.isAfter("12884905986-1", "12884905985-10"));
+    assertFalse(PagingTokens.isAfter("12884905985-1", "12884905985-10"));
+    assertTrue(PagingTokens.isAfter("9223372036854775807", "9223372036854775806"));
+  }
+
+  @Test
+  public void testOtherTokens() {
+    assertTrue(PagingTokens.isAfter("USD_GAEDTJ4PPEFVW5XV2S7LUXBEHNQMX5Q2GM562RJGOQG7GVCE5H3HIB4V_credit_alphanum4", "12884905985"));
+    assertFalse(PagingTokens.isAfter("now", "now"));
+    assertTrue(PagingTokens.isAfter("99999999999999999999", "1"));
+  }
+}
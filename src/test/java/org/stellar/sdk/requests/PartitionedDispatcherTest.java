@@ -0,0 +1,166 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Test;
+import org.stellar.sdk.responses.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PartitionedDispatcherTest {
+  private static class Event implements Pageable {
+    final String account;
+    final int index;
+
+    Event(String account, int index) {
+      this.account = account;
+      this.index = index;
+    }
+
+    @Override
+    public String getPagingToken() {
+      return String.valueOf(index);
+    }
+  }
+
+  private static final PartitionedDispatcher.KeyExtractor<Event> BY_ACCOUNT = new PartitionedDispatcher.KeyExtractor<Event>() {
+    @Override
+    public Object getKey(Event event) {
+      return event.account;
+    }
+  };
+
+  private static void awaitProcessed(PartitionedDispatcher<?> dispatcher) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (dispatcher.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void testOrderPerKey() throws Exception {
+    final Map<String, List<Integer>> processed = Collections.synchronizedMap(new HashMap<String, List<Integer>>());
+    PartitionedDispatcher<Event> dispatcher = new PartitionedDispatcher.Builder<Event>(new EventListener<Event>() {
+      @Override
+      public void onEvent(Event event) {
+        List<Integer> indexes = processed.get(event.account);
+        if (indexes == null) {
+          indexes = Collections.synchronizedList(new ArrayList<Integer>());
+          processed.put(event.account, indexes);
+        }
+        indexes.add(event.index);
+      }
+    }, BY_ACCOUNT).setLanes(4).setLaneCapacity(16).build();
+
+    for (int i = 1; i <= 1000; i++) {
+      dispatcher.onEvent(new Event("account" + (i % 10), i));
+    }
+    awaitProcessed(dispatcher);
+
+    assertEquals(10, processed.size());
+    for (List<Integer> indexes : processed.values()) {
+      assertEquals(100, indexes.size());
+      for (int i = 1; i < indexes.size(); i++) {
+        assertTrue(indexes.get(i - 1) < indexes.get(i));
+      }
+    }
+    assertEquals("1000", dispatcher.getCommittedToken());
+    dispatcher.close();
+  }
+
+  @Test
+  public void testCommittedTokenWaitsForSlowLane() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch fastProcessed = new CountDownLatch(3);
+    PartitionedDispatcher<Event> dispatcher = new PartitionedDispatcher.Builder<Event>(new EventListener<Event>() {
+      @Override
+      public void onEvent(Event event) {
+        if (event.account.equals("slow")) {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        } else {
+          fastProcessed.countDown();
+        }
+      }
+    }, new PartitionedDispatcher.KeyExtractor<Event>() {
+      @Override
+      public Object getKey(Event event) {
+        // Lane 0 for the slow account, lane 1 for the others
+        return event.account.equals("slow") ? 0 : 1;
+      }
+    }).setLanes(2).setCommittedToken("0").build();
+
+    dispatcher.onEvent(new Event("fast", 1));
+    dispatcher.onEvent(new Event("slow", 2));
+    dispatcher.onEvent(new Event("fast", 3));
+    dispatcher.onEvent(new Event("fast", 4));
+    assertTrue(fastProcessed.await(5, TimeUnit.SECONDS));
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!"1".equals(dispatcher.getCommittedToken()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    // Records 3 and 4 are processed, but record 2 is not
+    assertEquals("1", dispatcher.getCommittedToken());
+    assertEquals(3, dispatcher.getPendingCount());
+
+    release.countDown();
+    awaitProcessed(dispatcher);
+    assertEquals("4", dispatcher.getCommittedToken());
+    dispatcher.close();
+  }
+
+  @Test
+  public void testHandlerFailureHoldsCommittedToken() throws Exception {
+    final RuntimeException error = new RuntimeException("failed");
+    PartitionedDispatcher<Event> dispatcher = new PartitionedDispatcher.Builder<Event>(new EventListener<Event>() {
+      @Override
+      public void onEvent(Event event) {
+        if (event.index == 2) {
+          throw error;
+        }
+      }
+    }, BY_ACCOUNT).setLanes(2).setCommittedToken("0").build();
+
+    dispatcher.onEvent(new Event("a", 1));
+    awaitProcessed(dispatcher);
+    dispatcher.onEvent(new Event("b", 2));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (dispatcher.getFailure() == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertSame(error, dispatcher.getFailure());
+    try {
+      dispatcher.onEvent(new Event("a", 3));
+      fail();
+    } catch (ListenerFailedException e) {
+      assertSame(error, e.getCause());
+    }
+    // Record 2 failed, the committed token never passes it
+    assertEquals("1", dispatcher.getCommittedToken());
+    assertEquals(1, dispatcher.getPendingCount());
+  }
+
+  @Test
+  public void testInitialCommittedToken() {
+    PartitionedDispatcher<Event> dispatcher = new PartitionedDispatcher.Builder<Event>(new EventListener<Event>() {
+      @Override
+      public void onEvent(Event event) {}
+    }, BY_ACCOUNT).build();
+    assertNull(dispatcher.getCommittedToken());
+    dispatcher.close();
+  }
+}
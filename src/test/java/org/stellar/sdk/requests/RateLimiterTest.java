@@ -0,0 +1,184 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+  private MockWebServer mockWebServer;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static MockResponse ok(int remaining) {
+    return new MockResponse().setBody("{}")
+            .setHeader("X-Ratelimit-Limit", "3600")
+            .setHeader("X-Ratelimit-Remaining", String.valueOf(remaining))
+            .setHeader("X-Ratelimit-Reset", "60");
+  }
+
+  private static OkHttpClient client(RateLimiter rateLimiter) {
+    return new OkHttpClient.Builder().addInterceptor(rateLimiter).build();
+  }
+
+  private Thread send(final OkHttpClient client, final Request request) {
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          client.newCall(request).execute().close();
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private static void await(RateLimiter rateLimiter, int inFlight, int queueLength) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while ((rateLimiter.getInFlight() != inFlight || rateLimiter.getQueueLength() != queueLength)
+            && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(inFlight, rateLimiter.getInFlight());
+    assertEquals(queueLength, rateLimiter.getQueueLength());
+  }
+
+  @Test
+  public void testPriorityOf() {
+    Request.Builder request = new Request.Builder().url(mockWebServer.url("/transactions"));
+    assertEquals(RequestPriority.NORMAL, RateLimiter.priorityOf(request.get().build()));
+    assertEquals(RequestPriority.HIGH, RateLimiter.priorityOf(request.post(new FormBody.Builder().build()).build()));
+    assertEquals(RequestPriority.LOW, RateLimiter.priorityOf(request.get().tag(RequestPriority.LOW).build()));
+  }
+
+  @Test
+  public void testRetryAfterTooManyRequests() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+    mockWebServer.enqueue(ok(100));
+
+    RateLimiter rateLimiter = new RateLimiter(8, 8, 3);
+    long start = System.nanoTime();
+    Response response = client(rateLimiter).newCall(new Request.Builder().url(mockWebServer.url("/ledgers")).build()).execute();
+    response.close();
+
+    assertEquals(200, response.code());
+    assertEquals(2, mockWebServer.getRequestCount());
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+    // Halved, the successful retry may lower it further when slow
+    assertTrue(rateLimiter.getConcurrencyLimit() <= 4);
+  }
+
+  @Test
+  public void testRetriesExhausted() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+
+    Response response = client(new RateLimiter(1, 1, 1))
+            .newCall(new Request.Builder().url(mockWebServer.url("/ledgers")).build()).execute();
+    response.close();
+    assertEquals(429, response.code());
+    assertEquals(2, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  public void testTokenBucket() throws Exception {
+    mockWebServer.enqueue(ok(0));
+    mockWebServer.enqueue(ok(0));
+
+    OkHttpClient client = client(new RateLimiter());
+    client.newCall(new Request.Builder().url(mockWebServer.url("/ledgers")).build()).execute().close();
+    // 3600 requests per hour, the next token comes in a second
+    long start = System.nanoTime();
+    client.newCall(new Request.Builder().url(mockWebServer.url("/ledgers")).build()).execute().close();
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+  }
+
+  @Test
+  public void testPriorityQueue() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    mockWebServer.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        if (request.getPath().equals("/first")) {
+          release.await(5, TimeUnit.SECONDS);
+        }
+        return ok(100);
+      }
+    });
+
+    RateLimiter rateLimiter = new RateLimiter(1, 1, 0);
+    OkHttpClient client = client(rateLimiter);
+    Thread first = send(client, new Request.Builder().url(mockWebServer.url("/first")).build());
+    await(rateLimiter, 1, 0);
+    Thread crawl = send(client, new Request.Builder().url(mockWebServer.url("/crawl")).tag(RequestPriority.LOW).build());
+    await(rateLimiter, 1, 1);
+    Thread submit = send(client, new Request.Builder().url(mockWebServer.url("/submit")).post(new FormBody.Builder().build()).build());
+    await(rateLimiter, 1, 2);
+    release.countDown();
+
+    first.join(5000);
+    crawl.join(5000);
+    submit.join(5000);
+    assertEquals("/first", mockWebServer.takeRequest().getPath());
+    assertEquals("/submit", mockWebServer.takeRequest().getPath());
+    assertEquals("/crawl", mockWebServer.takeRequest().getPath());
+  }
+
+  @Test
+  public void testWaitersRespectRetryAfter() throws Exception {
+    final CountDownLatch queued = new CountDownLatch(1);
+    final AtomicLong secondSentAt = new AtomicLong();
+    mockWebServer.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        if (request.getPath().equals("/first")) {
+          queued.await(5, TimeUnit.SECONDS);
+          return new MockResponse().setResponseCode(429).setHeader("Retry-After", "1");
+        }
+        secondSentAt.set(System.nanoTime());
+        return ok(100);
+      }
+    });
+
+    RateLimiter rateLimiter = new RateLimiter(1, 1, 0);
+    OkHttpClient client = client(rateLimiter);
+    Thread first = send(client, new Request.Builder().url(mockWebServer.url("/first")).build());
+    await(rateLimiter, 1, 0);
+    Thread second = send(client, new Request.Builder().url(mockWebServer.url("/second")).build());
+    await(rateLimiter, 1, 1);
+    long tooManyRequestsAt = System.nanoTime();
+    queued.countDown();
+
+    first.join(5000);
+    second.join(5000);
+    // Second request was not sent within the Retry-After window of the first one
+    assertTrue(secondSentAt.get() - tooManyRequestsAt >= TimeUnit.MILLISECONDS.toNanos(900));
+  }
+}
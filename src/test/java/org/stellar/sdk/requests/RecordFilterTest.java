@@ -0,0 +1,52 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RecordFilterTest {
+  private static final String PAYMENT = "{\"_links\": {\"self\": {\"href\": \"/operations/1\"}}, \"type_i\": 1, " +
+          "\"paging_token\": \"3717508943056898\", \"asset_code\": \"USD\", \"to\": \"GBRPYHIL2CI3FNQ4BXLFMNDLFJUNPU2HY3ZMFSHONUCEOASW7QC7OX2H\"}";
+
+  private static JsonObject parse(String json) {
+    return new JsonParser().parse(json).getAsJsonObject();
+  }
+
+  @Test
+  public void testTypeIn() {
+    assertTrue(RecordFilter.typeIn(0, 1).matches(PAYMENT));
+    assertTrue(RecordFilter.typeIn(0, 1).matches(parse(PAYMENT)));
+    assertFalse(RecordFilter.typeIn(2).matches(PAYMENT));
+    assertFalse(RecordFilter.typeIn(2).matches(parse(PAYMENT)));
+  }
+
+  @Test
+  public void testAnd() {
+    RecordFilter filter = RecordFilter.typeIn(1).and(RecordFilter.fieldIn("asset_code", "USD", "EUR"));
+    assertTrue(filter.matches(PAYMENT));
+    assertTrue(filter.matches(parse(PAYMENT)));
+
+    filter = filter.and(RecordFilter.fieldIn("asset_code", "EUR"));
+    assertFalse(filter.matches(PAYMENT));
+    assertFalse(filter.matches(parse(PAYMENT)));
+  }
+
+  @Test
+  public void testMissingField() {
+    RecordFilter filter = RecordFilter.fieldIn("from", "GBRPYHIL2CI3FNQ4BXLFMNDLFJUNPU2HY3ZMFSHONUCEOASW7QC7OX2H");
+    assertFalse(filter.matches(PAYMENT));
+    assertFalse(filter.matches(parse(PAYMENT)));
+  }
+
+  @Test
+  public void testNestedFieldsIgnored() {
+    // `href` exists only inside _links
+    RecordFilter filter = RecordFilter.fieldIn("href", "/operations/1");
+    assertFalse(filter.matches(PAYMENT));
+    assertFalse(filter.matches(parse(PAYMENT)));
+  }
+}
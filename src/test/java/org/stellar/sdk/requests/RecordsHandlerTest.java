@@ -0,0 +1,119 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.operations.CreateAccountOperationResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RecordsHandlerTest {
+  private static final String BODY = "{\"_links\": {\"self\": {\"href\": \"/operations?cursor=&limit=2&order=asc\"}, " +
+          "\"next\": {\"href\": \"/operations?cursor=3717508943056898&limit=2&order=asc\"}}, " +
+          "\"_embedded\": {\"records\": [" +
+          "{\"id\": \"3717508943056897\", \"paging_token\": \"3717508943056897\", \"type\": \"create_account\", " +
+          "\"starting_balance\": \"10000.0\", \"type_i\": 0}, " +
+          "{\"type_i\": 1, \"id\": \"3717508943056898\", \"paging_token\": \"3717508943056898\", \"type\": \"payment\", " +
+          "\"asset_type\": \"native\", \"amount\": \"10.123\"}]}}";
+
+  private MockWebServer mockWebServer;
+  private Server server;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    server = new Server(mockWebServer.url("").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  public void testRecordsPassedInOrder() throws IOException {
+    mockWebServer.enqueue(new MockResponse().setBody(BODY));
+
+    final List<OperationResponse> operations = new ArrayList<OperationResponse>();
+    Page.Links links = server.operations().execute(new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        operations.add(operation);
+      }
+    });
+
+    assertEquals(2, operations.size());
+    assertTrue(operations.get(0) instanceof CreateAccountOperationResponse);
+    assertEquals("10000.0", ((CreateAccountOperationResponse) operations.get(0)).getStartingBalance());
+    assertTrue(operations.get(1) instanceof PaymentOperationResponse);
+    assertEquals("10.123", ((PaymentOperationResponse) operations.get(1)).getAmount());
+    assertEquals("/operations?cursor=3717508943056898&limit=2&order=asc", links.getNext().getHref());
+  }
+
+  @Test
+  public void testFilter() throws IOException {
+    mockWebServer.enqueue(new MockResponse().setBody(BODY));
+
+    final List<OperationResponse> operations = new ArrayList<OperationResponse>();
+    Page.Links links = server.operations().execute(RecordFilter.typeIn(1), new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        operations.add(operation);
+      }
+    });
+
+    assertEquals(1, operations.size());
+    assertEquals("3717508943056898", operations.get(0).getPagingToken());
+    assertEquals("/operations?cursor=3717508943056898&limit=2&order=asc", links.getNext().getHref());
+  }
+
+  @Test
+  public void testListenerExceptionStopsReading() throws IOException {
+    mockWebServer.enqueue(new MockResponse().setBody(BODY));
+
+    final List<OperationResponse> operations = new ArrayList<OperationResponse>();
+    try {
+      server.operations().execute(new EventListener<OperationResponse>() {
+        @Override
+        public void onEvent(OperationResponse operation) {
+          operations.add(operation);
+          throw new IllegalStateException("stop");
+        }
+      });
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("stop", e.getMessage());
+    }
+    assertEquals(1, operations.size());
+  }
+
+  @Test
+  public void testErrorResponse() throws IOException {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{\"status\": 404}"));
+
+    try {
+      server.operations().execute(new EventListener<OperationResponse>() {
+        @Override
+        public void onEvent(OperationResponse operation) {
+          fail();
+        }
+      });
+      fail();
+    } catch (ErrorResponse e) {
+      assertEquals(404, e.getCode());
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RecordsIterableTest {
+  private MockWebServer mockWebServer;
+  private Server server;
+
+  // Serves ledgers 1..pages*2 with two records per page, page after `cursor`
+  private static class LedgersDispatcher extends Dispatcher {
+    private final String baseUrl;
+    private final int pages;
+
+    LedgersDispatcher(String baseUrl, int pages) {
+      this.baseUrl = baseUrl;
+      this.pages = pages;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+      String cursor = request.getRequestUrl().queryParameter("cursor");
+      if ("error".equals(cursor)) {
+        return new MockResponse().setResponseCode(500).setBody("{}");
+      }
+      int from = cursor == null ? 0 : Integer.parseInt(cursor);
+      StringBuilder records = new StringBuilder();
+      if (from < pages * 2) {
+        for (int i = from + 1; i <= from + 2; i++) {
+          if (records.length() > 0) {
+            records.append(",");
+          }
+          records.append("{\"sequence\": ").append(i).append(", \"paging_token\": \"").append(i).append("\"}");
+        }
+      }
+      String body = "{\"_embedded\": {\"records\": [" + records + "]}, \"_links\": {\"next\": {\"href\": \"" +
+              baseUrl + "ledgers?cursor=" + (from + 2) + "\"}}}";
+      return new MockResponse()
+              .setBody(body)
+              .setHeader("X-Ratelimit-Limit", "3600")
+              .setHeader("X-Ratelimit-Remaining", "3599")
+              .setHeader("X-Ratelimit-Reset", "60");
+    }
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    String baseUrl = mockWebServer.url("").toString();
+    mockWebServer.setDispatcher(new LedgersDispatcher(baseUrl, 5));
+    server = new Server(baseUrl);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  public void testIterateAllPages() {
+    for (int prefetch = 1; prefetch <= 3; prefetch++) {
+      long expected = 1;
+      for (LedgerResponse ledger : server.ledgers().iterate(prefetch)) {
+        assertEquals(new Long(expected), ledger.getSequence());
+        expected++;
+      }
+      assertEquals(11, expected);
+    }
+  }
+
+  @Test
+  public void testEmptyCollection() {
+    Iterator<LedgerResponse> iterator = server.ledgers().cursor("10").iterate(2).iterator();
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testError() {
+    Iterator<LedgerResponse> iterator = server.ledgers().cursor("error").iterate(2).iterator();
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (ErrorResponse e) {
+      assertEquals(500, e.getCode());
+    }
+  }
+
+  @Test
+  public void testGetNextPageKeepsRecordsType() throws IOException, URISyntaxException {
+    Page<LedgerResponse> page = server.ledgers().execute();
+    Page<LedgerResponse> next = page.getNextPage(server.getHttpClient());
+    assertEquals(2, next.getRecords().size());
+    assertTrue(next.getRecords().get(0) instanceof LedgerResponse);
+    assertEquals(new Long(3), next.getRecords().get(0).getSequence());
+  }
+}
@@ -0,0 +1,132 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Strings;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+  private static final String HASH = "2374e99349b9ef7dba9a5db3339b78fda8f34777b1af33ba468ad5c0df946d4d";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private MockWebServer mockWebServer;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private String get(OkHttpClient client, String path) throws IOException {
+    Response response = client.newCall(new Request.Builder().url(mockWebServer.url(path)).build()).execute();
+    try {
+      return response.code() + " " + response.body().string();
+    } finally {
+      response.close();
+    }
+  }
+
+  private static OkHttpClient client(ResponseCache cache) {
+    return new OkHttpClient.Builder().addInterceptor(cache).build();
+  }
+
+  @Test
+  public void testIsImmutable() {
+    HttpUrl server = HttpUrl.parse("https://horizon.stellar.org/");
+    assertTrue(ResponseCache.isImmutable(server.resolve("/ledgers/100")));
+    assertTrue(ResponseCache.isImmutable(server.resolve("/ledgers/100/effects?limit=200")));
+    assertTrue(ResponseCache.isImmutable(server.resolve("/transactions/" + HASH)));
+    assertTrue(ResponseCache.isImmutable(server.resolve("/transactions/" + HASH + "/operations")));
+    assertTrue(ResponseCache.isImmutable(server.resolve("/operations/429496733697")));
+    assertTrue(ResponseCache.isImmutable(server.resolve("/horizon/operations/429496733697/effects/")));
+
+    assertFalse(ResponseCache.isImmutable(server.resolve("/ledgers")));
+    assertFalse(ResponseCache.isImmutable(server.resolve("/transactions?cursor=now")));
+    assertFalse(ResponseCache.isImmutable(server.resolve("/accounts/GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR")));
+    assertFalse(ResponseCache.isImmutable(server.resolve("/accounts/GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR/operations")));
+    assertFalse(ResponseCache.isImmutable(server.resolve("/order_book?selling_asset_type=native")));
+  }
+
+  @Test
+  public void testIsEmptyPage() {
+    Charset utf8 = Charset.forName("UTF-8");
+    assertTrue(ResponseCache.isEmptyPage("{\"_embedded\": {\"records\": [ ]}}".getBytes(utf8)));
+    assertFalse(ResponseCache.isEmptyPage("{\"_embedded\": {\"records\": [{\"id\": \"1\"}]}}".getBytes(utf8)));
+    assertFalse(ResponseCache.isEmptyPage("{\"id\": \"1\"}".getBytes(utf8)));
+  }
+
+  @Test
+  public void testCacheImmutableResources() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"sequence\": 100}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"_embedded\": {\"records\": []}}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"_embedded\": {\"records\": [{}]}}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"sequence\": \"1\"}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"sequence\": \"2\"}"));
+
+    ResponseCache cache = new ResponseCache();
+    OkHttpClient client = client(cache);
+    // Errors are not cached
+    assertEquals("404 {}", get(client, "/ledgers/100"));
+    assertEquals("200 {\"sequence\": 100}", get(client, "/ledgers/100"));
+    assertEquals("200 {\"sequence\": 100}", get(client, "/ledgers/100"));
+    // Ledger may not be closed yet
+    assertEquals("200 {\"_embedded\": {\"records\": []}}", get(client, "/ledgers/101/operations"));
+    assertEquals("200 {\"_embedded\": {\"records\": [{}]}}", get(client, "/ledgers/101/operations"));
+    assertEquals("200 {\"_embedded\": {\"records\": [{}]}}", get(client, "/ledgers/101/operations"));
+    // Mutable
+    assertEquals("200 {\"sequence\": \"1\"}", get(client, "/accounts/GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR"));
+    assertEquals("200 {\"sequence\": \"2\"}", get(client, "/accounts/GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR"));
+
+    assertEquals(6, mockWebServer.getRequestCount());
+    assertEquals(2, cache.getHitCount());
+    assertEquals(4, cache.getMissCount());
+  }
+
+  @Test
+  public void testEvictionAndSpill() throws Exception {
+    String body = Strings.repeat("x", 1000);
+    for (int i = 0; i < 3; i++) {
+      mockWebServer.enqueue(new MockResponse().setBody(body + i));
+    }
+
+    ResponseCache cache = new ResponseCache(2500, folder.getRoot(), 1500);
+    OkHttpClient client = client(cache);
+    get(client, "/ledgers/1");
+    get(client, "/ledgers/2");
+    get(client, "/ledgers/3");
+    // Ledger 1 spilled to disk
+    assertTrue(cache.getSize() <= 2500);
+    assertTrue(cache.getSpillSize() > 1000);
+    assertEquals(1, folder.getRoot().list().length);
+
+    assertEquals("200 " + body + 0, get(client, "/ledgers/1"));
+    // Ledger 2 spilled in its place
+    assertEquals("200 " + body + 1, get(client, "/ledgers/2"));
+    assertEquals(3, mockWebServer.getRequestCount());
+    assertEquals(2, cache.getHitCount());
+  }
+}
@@ -0,0 +1,243 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SSEStreamTest {
+  private MockWebServer mockWebServer;
+  private Server server;
+  private final BlockingQueue<LedgerResponse> ledgers = new LinkedBlockingQueue<LedgerResponse>();
+  private final BlockingQueue<String> lifecycle = new LinkedBlockingQueue<String>();
+  private final EventListener<LedgerResponse> listener = new EventListener<LedgerResponse>() {
+    @Override
+    public void onEvent(LedgerResponse ledger) {
+      ledgers.add(ledger);
+    }
+  };
+  private final StreamLifecycleListener lifecycleListener = new StreamLifecycleListener() {
+    @Override
+    public void onOpen(SSEStream<?> stream) {
+      lifecycle.add("open");
+    }
+
+    @Override
+    public void onFailure(SSEStream<?> stream, Throwable error) {
+      lifecycle.add("failure " + error.getClass().getSimpleName());
+    }
+
+    @Override
+    public void onClosed(SSEStream<?> stream) {
+      lifecycle.add("closed");
+    }
+  };
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    server = new Server(mockWebServer.url("").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static String ledger(long sequence) {
+    String pagingToken = String.valueOf(sequence << 32);
+    return "id: " + pagingToken + "\n" +
+            "data: {\"id\": \"" + sequence + "\", \"paging_token\": \"" + pagingToken + "\", \"sequence\": " + sequence + "}\n\n";
+  }
+
+  @Test
+  public void testEventsAndReconnection() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("retry: 10\n\ndata: \"hello\"\n\n: comment\n" + ledger(7) + ledger(8)));
+    // Nothing to backfill
+    mockWebServer.enqueue(new MockResponse().setBody(page(String.valueOf(8L << 32))));
+    mockWebServer.enqueue(new MockResponse().setBody("data: \"hello\"\r\n\r\n" + ledger(9).replace("\n", "\r\n")));
+
+    SSEStream<LedgerResponse> stream = server.ledgers().cursor("now").stream(null, listener, lifecycleListener);
+    try {
+      assertEquals(7L, ledgers.poll(5, TimeUnit.SECONDS).getSequence().longValue());
+      assertEquals(8L, ledgers.poll(5, TimeUnit.SECONDS).getSequence().longValue());
+      assertEquals(9L, ledgers.poll(5, TimeUnit.SECONDS).getSequence().longValue());
+
+      RecordedRequest first = mockWebServer.takeRequest();
+      assertEquals("/ledgers?cursor=now", first.getPath());
+      assertEquals("text/event-stream", first.getHeader("Accept"));
+      assertNull(first.getHeader("Last-Event-ID"));
+      assertEquals("/ledgers?cursor=" + (8L << 32) + "&order=asc&limit=200", mockWebServer.takeRequest().getPath());
+      assertEquals(String.valueOf(8L << 32), mockWebServer.takeRequest().getHeader("Last-Event-ID"));
+      // Updated after the listener returns
+      for (int i = 0; i < 100 && !String.valueOf(9L << 32).equals(stream.getLastEventId()); i++) {
+        Thread.sleep(10);
+      }
+      assertEquals(String.valueOf(9L << 32), stream.getLastEventId());
+
+      assertEquals("open", lifecycle.poll(5, TimeUnit.SECONDS));
+      assertEquals("failure EOFException", lifecycle.poll(5, TimeUnit.SECONDS));
+      assertEquals("open", lifecycle.poll(5, TimeUnit.SECONDS));
+    } finally {
+      stream.close();
+    }
+    assertTrue(stream.isClosed());
+    // Second response may or may not have been read to the end before closing
+    String event = lifecycle.poll(5, TimeUnit.SECONDS);
+    if (event.equals("failure EOFException")) {
+      event = lifecycle.poll(5, TimeUnit.SECONDS);
+    }
+    assertEquals("closed", event);
+  }
+
+  private static String ledgerRecord(long sequence) {
+    return "{\"id\": \"" + sequence + "\", \"paging_token\": \"" + (sequence << 32) + "\", \"sequence\": " + sequence + "}";
+  }
+
+  private static String page(String cursor, String... records) {
+    StringBuilder body = new StringBuilder("{\"_embedded\": {\"records\": [");
+    for (int i = 0; i < records.length; i++) {
+      body.append(i > 0 ? ", " : "").append(records[i]);
+    }
+    return body.append("]}, \"_links\": {\"next\": {\"href\": \"/ledgers?cursor=").append(cursor)
+            .append("&limit=200&order=asc\"}}}").toString();
+  }
+
+  @Test
+  public void testResumeWithBackfill() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody("retry: 1\n\n" + ledger(7) + ledger(8)));
+    // Missed while disconnected, 8 was already delivered
+    mockWebServer.enqueue(new MockResponse().setBody(page(String.valueOf(10L << 32), ledgerRecord(8), ledgerRecord(9), ledgerRecord(10))));
+    mockWebServer.enqueue(new MockResponse().setBody(page(String.valueOf(10L << 32))));
+    mockWebServer.enqueue(new MockResponse().setBody(ledger(10) + ledger(11)));
+
+    SSEStream<LedgerResponse> stream = server.ledgers().cursor("now").stream(listener);
+    try {
+      for (long sequence = 7; sequence <= 11; sequence++) {
+        assertEquals(sequence, ledgers.poll(5, TimeUnit.SECONDS).getSequence().longValue());
+      }
+      assertEquals("/ledgers?cursor=now", mockWebServer.takeRequest().getPath());
+      assertEquals("/ledgers?cursor=" + (8L << 32) + "&order=asc&limit=200", mockWebServer.takeRequest().getPath());
+      assertEquals("/ledgers?cursor=" + (10L << 32) + "&order=asc&limit=200", mockWebServer.takeRequest().getPath());
+      RecordedRequest resumed = mockWebServer.takeRequest();
+      assertEquals("/ledgers?cursor=" + (10L << 32), resumed.getPath());
+      assertEquals(String.valueOf(10L << 32), resumed.getHeader("Last-Event-ID"));
+    } finally {
+      stream.close();
+    }
+    assertNull(ledgers.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testStreamsDoNotHoldClientDispatcher() throws Exception {
+    // Ledger is sent right away, the rest of the body stays pending while the streams are checked
+    for (long sequence = 7; sequence <= 8; sequence++) {
+      String event = ledger(sequence);
+      mockWebServer.enqueue(new MockResponse().setBody(event + ":\n").throttleBody(event.length(), 2, TimeUnit.SECONDS));
+    }
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(1);
+    OkHttpClient httpClient = server.getHttpClient().newBuilder().dispatcher(dispatcher).build();
+    server.setHttpClient(httpClient);
+    SSEStream<LedgerResponse> first = server.ledgers().stream(listener);
+    SSEStream<LedgerResponse> second = server.ledgers().stream(listener);
+    try {
+      assertNotNull(ledgers.poll(5, TimeUnit.SECONDS));
+      assertNotNull(ledgers.poll(5, TimeUnit.SECONDS));
+      assertEquals(0, dispatcher.runningCallsCount());
+
+      final BlockingQueue<Integer> codes = new LinkedBlockingQueue<Integer>();
+      httpClient.newCall(new Request.Builder().url(mockWebServer.url("/")).build()).enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          codes.add(-1);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+          codes.add(response.code());
+          response.close();
+        }
+      });
+      assertEquals(200, codes.poll(5, TimeUnit.SECONDS).intValue());
+    } finally {
+      first.close();
+      second.close();
+    }
+  }
+
+  @Test
+  public void testBackoff() {
+    for (int failures = 0; failures < 40; failures++) {
+      long max = Math.min(SSEStream.MAX_RECONNECT_DELAY, 500L << Math.min(failures, 20));
+      long delay = SSEStream.backoff(500, failures);
+      assertTrue(delay >= max / 2 && delay <= max);
+    }
+  }
+
+  @Test
+  public void testFilter() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody(ledger(7) + ledger(8) + ledger(9)));
+
+    RecordFilter filter = RecordFilter.fieldIn("sequence", "8");
+    SSEStream<LedgerResponse> stream = server.ledgers().stream(filter, listener, lifecycleListener);
+    try {
+      assertEquals(8L, ledgers.poll(5, TimeUnit.SECONDS).getSequence().longValue());
+    } finally {
+      stream.close();
+    }
+    assertNull(ledgers.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testListenerFailedCloses() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody(ledger(7) + ledger(8)));
+
+    SSEStream<LedgerResponse> stream = server.ledgers().stream(null, new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        throw new ListenerFailedException(new IllegalStateException("stopped"));
+      }
+    }, lifecycleListener);
+    assertEquals("open", lifecycle.poll(5, TimeUnit.SECONDS));
+    assertEquals("failure ListenerFailedException", lifecycle.poll(5, TimeUnit.SECONDS));
+    assertEquals("closed", lifecycle.poll(5, TimeUnit.SECONDS));
+    assertTrue(stream.isClosed());
+    assertNull(stream.getLastEventId());
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  public void testClientErrorCloses() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{}"));
+
+    SSEStream<LedgerResponse> stream = server.ledgers().stream(null, listener, lifecycleListener);
+    assertEquals("failure ErrorResponse", lifecycle.poll(5, TimeUnit.SECONDS));
+    assertEquals("closed", lifecycle.poll(5, TimeUnit.SECONDS));
+    assertTrue(stream.isClosed());
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+}
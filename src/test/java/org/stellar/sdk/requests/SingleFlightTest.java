@@ -0,0 +1,155 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.AccountResponse;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+  private static final String ACCOUNT_ID = "GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR";
+
+  private MockWebServer mockWebServer;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static MockResponse account(long sequence) {
+    return new MockResponse().setBody("{\"account_id\": \"" + ACCOUNT_ID + "\", \"sequence\": \"" + sequence + "\"}")
+            .setHeader("X-Ratelimit-Limit", "3600")
+            .setHeader("X-Ratelimit-Remaining", "3599")
+            .setHeader("X-Ratelimit-Reset", "60");
+  }
+
+  private static OkHttpClient client(SingleFlight singleFlight) {
+    return new OkHttpClient.Builder().addInterceptor(singleFlight).build();
+  }
+
+  private AccountResponse account(OkHttpClient client) throws IOException {
+    return new AccountsRequestBuilder(client, mockWebServer.url("/")).account(KeyPair.fromAccountId(ACCOUNT_ID));
+  }
+
+  private long sequence(OkHttpClient client) throws IOException {
+    return account(client).getSequenceNumber();
+  }
+
+  @Test
+  public void testCoalesceConcurrentRequests() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    mockWebServer.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return account(100);
+      }
+    });
+
+    final SingleFlight singleFlight = new SingleFlight();
+    final OkHttpClient client = client(singleFlight);
+    final ConcurrentLinkedQueue<AccountResponse> accounts = new ConcurrentLinkedQueue<AccountResponse>();
+    Thread[] threads = new Thread[3];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            accounts.add(account(client));
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      });
+      threads[i].start();
+    }
+    // Two threads wait for the one sending the request
+    long deadline = System.currentTimeMillis() + 5000;
+    while (waiting(threads) < 2) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("requests were not coalesced");
+      }
+      Thread.sleep(10);
+    }
+    release.countDown();
+    for (Thread thread : threads) {
+      thread.join(5000);
+    }
+
+    assertEquals(1, mockWebServer.getRequestCount());
+    assertEquals(3, accounts.size());
+    AccountResponse first = accounts.poll();
+    for (AccountResponse account : accounts) {
+      // Every caller gets its own object
+      assertNotSame(first, account);
+      assertEquals(100L, account.getSequenceNumber().longValue());
+    }
+    assertEquals(0, singleFlight.getFlightCount());
+  }
+
+  private static int waiting(Thread[] threads) {
+    int waiting = 0;
+    for (Thread thread : threads) {
+      if (thread.getState() == Thread.State.WAITING) {
+        waiting++;
+      }
+    }
+    return waiting;
+  }
+
+  @Test
+  public void testSequentialRequestsNotShared() throws Exception {
+    mockWebServer.enqueue(account(100));
+    mockWebServer.enqueue(account(101));
+
+    OkHttpClient client = client(new SingleFlight());
+    assertEquals(100, sequence(client));
+    assertEquals(101, sequence(client));
+    assertEquals(2, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  public void testFreshness() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{}"));
+    mockWebServer.enqueue(account(100));
+    mockWebServer.enqueue(account(101));
+
+    SingleFlight singleFlight = new SingleFlight();
+    singleFlight.setFreshness(300, TimeUnit.MILLISECONDS);
+    OkHttpClient client = client(singleFlight);
+    try {
+      account(client);
+      fail("expected ErrorResponse");
+    } catch (ErrorResponse e) {
+      assertEquals(404, e.getCode());
+    }
+    // Errors are not reused
+    assertEquals(100, sequence(client));
+    assertEquals(100, sequence(client));
+    assertEquals(2, mockWebServer.getRequestCount());
+
+    Thread.sleep(400);
+    assertEquals(101, sequence(client));
+    assertEquals(3, mockWebServer.getRequestCount());
+  }
+}
@@ -0,0 +1,196 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StreamHubTest {
+  private MockWebServer mockWebServer;
+  private Server server;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    server = new Server(mockWebServer.url("").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static String ledgers(long from, long to) {
+    StringBuilder body = new StringBuilder();
+    for (long sequence = from; sequence <= to; sequence++) {
+      body.append("id: ").append(sequence << 32).append("\n")
+              .append("data: {\"paging_token\": \"").append(sequence << 32).append("\", \"sequence\": ").append(sequence).append("}\n\n");
+    }
+    return body.toString();
+  }
+
+  private static class Collector implements EventListener<LedgerResponse> {
+    final BlockingQueue<Long> sequences = new LinkedBlockingQueue<Long>();
+
+    @Override
+    public void onEvent(LedgerResponse ledger) {
+      sequences.add(ledger.getSequence());
+    }
+  }
+
+  @Test
+  public void testNormalize() {
+    assertEquals(StreamHub.normalize(HttpUrl.parse("https://horizon.stellar.org/ledgers?order=asc&cursor=now")),
+            StreamHub.normalize(HttpUrl.parse("https://HORIZON.stellar.org/ledgers?cursor=now&order=asc")));
+  }
+
+  @Test
+  public void testSharedStream() throws Exception {
+    // Keep the stream open after the events
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(ledgers(1, 3), 1024).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    StreamHub hub = new StreamHub();
+    Collector first = new Collector();
+    Collector second = new Collector();
+    StreamHub.Subscription firstSubscription = server.ledgers().order(RequestBuilder.Order.ASC).cursor("now").subscribe(hub, first);
+    StreamHub.Subscription secondSubscription = server.ledgers().cursor("now").order(RequestBuilder.Order.ASC).subscribe(hub, second);
+    assertSame(firstSubscription.getStream(), secondSubscription.getStream());
+    assertEquals(1, hub.getStreamsCount());
+
+    for (long sequence = 1; sequence <= 3; sequence++) {
+      assertEquals(sequence, first.sequences.poll(5, TimeUnit.SECONDS).longValue());
+      assertEquals(sequence, second.sequences.poll(5, TimeUnit.SECONDS).longValue());
+    }
+    assertEquals(1, mockWebServer.getRequestCount());
+
+    firstSubscription.close();
+    assertEquals(1, hub.getStreamsCount());
+    assertTrue(!secondSubscription.getStream().isClosed());
+    secondSubscription.close();
+    assertEquals(0, hub.getStreamsCount());
+    assertTrue(secondSubscription.getStream().isClosed());
+  }
+
+  @Test
+  public void testSlowSubscriber() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(ledgers(1, 10), 1024).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    StreamHub hub = new StreamHub(2, Executors.newCachedThreadPool());
+    final CountDownLatch release = new CountDownLatch(1);
+    final BlockingQueue<Long> slow = new LinkedBlockingQueue<Long>();
+    Collector fast = new Collector();
+    StreamHub.Subscription slowSubscription = server.ledgers().subscribe(hub, new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        slow.add(ledger.getSequence());
+      }
+    });
+    server.ledgers().subscribe(hub, fast);
+
+    // Fast subscriber receives the last record while the other one is blocked
+    Long last;
+    do {
+      last = fast.sequences.poll(5, TimeUnit.SECONDS);
+    } while (last != null && last != 10L);
+    assertEquals(10L, last.longValue());
+    release.countDown();
+
+    // Oldest records were dropped, the last two fit in the queue
+    List<Long> delivered = new ArrayList<Long>();
+    Long sequence;
+    while ((sequence = slow.poll(500, TimeUnit.MILLISECONDS)) != null) {
+      delivered.add(sequence);
+    }
+    assertTrue(delivered.size() <= 3);
+    assertEquals(Arrays.asList(9L, 10L), delivered.subList(delivered.size() - 2, delivered.size()));
+    assertEquals(10 - delivered.size(), slowSubscription.getDroppedCount());
+    hub.close();
+  }
+
+  @Test
+  public void testListenerFailureClosesSubscription() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(ledgers(1, 3), 1024).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    StreamHub hub = new StreamHub();
+    final RuntimeException error = new RuntimeException("failed");
+    final Collector failing = new Collector();
+    Collector other = new Collector();
+    StreamHub.Subscription failingSubscription = server.ledgers().subscribe(hub, new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        if (ledger.getSequence() == 2) {
+          throw error;
+        }
+        failing.onEvent(ledger);
+      }
+    });
+    StreamHub.Subscription otherSubscription = server.ledgers().subscribe(hub, other);
+
+    for (long sequence = 1; sequence <= 3; sequence++) {
+      assertEquals(sequence, other.sequences.poll(5, TimeUnit.SECONDS).longValue());
+    }
+    assertEquals(1L, failing.sequences.poll(5, TimeUnit.SECONDS).longValue());
+    for (int i = 0; i < 500 && !failingSubscription.isClosed(); i++) {
+      Thread.sleep(10);
+    }
+    assertTrue(failingSubscription.isClosed());
+    assertSame(error, failingSubscription.getFailure());
+    assertNull(failing.sequences.poll(200, TimeUnit.MILLISECONDS));
+    // The stream stays open for the other subscriber
+    assertEquals(1, hub.getStreamsCount());
+    assertTrue(!otherSubscription.isClosed());
+    hub.close();
+  }
+
+  @Test
+  public void testStreamClosedByClientError() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{}"));
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(ledgers(1, 1), 1024).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+    StreamHub hub = new StreamHub();
+    StreamHub.Subscription failed = server.ledgers().subscribe(hub, new Collector());
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!failed.isClosed() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(failed.isClosed());
+    assertEquals(404, ((ErrorResponse) failed.getFailure()).getCode());
+    assertEquals(0, hub.getStreamsCount());
+
+    // Next subscription opens a new stream
+    Collector collector = new Collector();
+    StreamHub.Subscription subscription = server.ledgers().subscribe(hub, collector);
+    assertNotSame(failed.getStream(), subscription.getStream());
+    assertEquals(1L, collector.sequences.poll(5, TimeUnit.SECONDS).longValue());
+    assertTrue(!subscription.isClosed());
+    failed.close();
+    assertEquals(1, hub.getStreamsCount());
+    hub.close();
+  }
+}
@@ -0,0 +1,112 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamPublisherTest {
+  private MockWebServer mockWebServer;
+  private Server server;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    server = new Server(mockWebServer.url("").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static class TestSubscriber implements StreamPublisher.Subscriber<LedgerResponse> {
+    final BlockingQueue<Object> signals = new LinkedBlockingQueue<Object>();
+    volatile StreamPublisher.Subscription subscription;
+
+    @Override
+    public void onSubscribe(StreamPublisher.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(LedgerResponse record) {
+      signals.add(record.getSequence());
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      signals.add(error);
+    }
+
+    @Override
+    public void onComplete() {
+      signals.add("complete");
+    }
+  }
+
+  private static String ledgers(long from, long to) {
+    StringBuilder body = new StringBuilder();
+    for (long sequence = from; sequence <= to; sequence++) {
+      body.append("id: ").append(sequence << 32).append("\n")
+              .append("data: {\"paging_token\": \"").append(sequence << 32).append("\", \"sequence\": ").append(sequence).append("}\n\n");
+    }
+    return body.toString();
+  }
+
+  @Test
+  public void testDemand() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody(ledgers(1, 5)));
+
+    StreamPublisher<LedgerResponse> publisher = server.ledgers().publisher(null, 10, OverflowPolicy.BLOCK);
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(2);
+    assertEquals(1L, subscriber.signals.poll(5, TimeUnit.SECONDS));
+    assertEquals(2L, subscriber.signals.poll(5, TimeUnit.SECONDS));
+    assertNull(subscriber.signals.poll(300, TimeUnit.MILLISECONDS));
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertEquals(3L, subscriber.signals.poll(5, TimeUnit.SECONDS));
+    assertEquals(4L, subscriber.signals.poll(5, TimeUnit.SECONDS));
+    assertEquals(5L, subscriber.signals.poll(5, TimeUnit.SECONDS));
+    subscriber.subscription.cancel();
+
+    TestSubscriber second = new TestSubscriber();
+    publisher.subscribe(second);
+    assertTrue(second.signals.poll(5, TimeUnit.SECONDS) instanceof IllegalStateException);
+  }
+
+  @Test
+  public void testInvalidRequest() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setBody(ledgers(1, 1)));
+
+    TestSubscriber subscriber = new TestSubscriber();
+    server.ledgers().publisher(null, 10, OverflowPolicy.BLOCK).subscribe(subscriber);
+    subscriber.subscription.request(0);
+    assertTrue(subscriber.signals.poll(5, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void testServerError() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{}"));
+
+    TestSubscriber subscriber = new TestSubscriber();
+    server.ledgers().publisher(null, 10, OverflowPolicy.BLOCK).subscribe(subscriber);
+    subscriber.subscription.request(1);
+    assertTrue(subscriber.signals.poll(5, TimeUnit.SECONDS) instanceof ErrorResponse);
+  }
+}
@@ -0,0 +1,208 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TransactionJoinerTest {
+  private MockWebServer mockWebServer;
+
+  @Before
+  public void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  private static class Collector implements TransactionBundleListener {
+    final BlockingQueue<TransactionBundle> bundles = new LinkedBlockingQueue<TransactionBundle>();
+
+    @Override
+    public void onBundle(TransactionBundle bundle) {
+      bundles.add(bundle);
+    }
+  }
+
+  private static long transactionId(int index) {
+    return 100L << 32 | index << 12;
+  }
+
+  private TransactionResponse transaction(int index, int operationCount) {
+    String links = mockWebServer.url("/transactions/" + index).toString();
+    return GsonSingleton.getInstance().fromJson("{\"paging_token\": \"" + transactionId(index) + "\", " +
+            "\"operation_count\": " + operationCount + ", \"_links\": {" +
+            "\"ledger\": {\"href\": \"" + mockWebServer.url("/ledgers/100") + "\"}, " +
+            "\"operations\": {\"href\": \"" + links + "/operations{?cursor,limit,order}\", \"templated\": true}, " +
+            "\"effects\": {\"href\": \"" + links + "/effects{?cursor,limit,order}\", \"templated\": true}}}",
+            TransactionResponse.class);
+  }
+
+  private static String operationJson(int transaction, int index) {
+    long id = transactionId(transaction) + index;
+    return "{\"id\": \"" + id + "\", \"paging_token\": \"" + id + "\", \"type_i\": 9}";
+  }
+
+  private static OperationResponse operation(int transaction, int index) {
+    return GsonSingleton.getInstance().fromJson(operationJson(transaction, index), OperationResponse.class);
+  }
+
+  private static EffectResponse effect(int transaction, int operation, int index) {
+    return GsonSingleton.getInstance().fromJson("{\"paging_token\": \"" + (transactionId(transaction) + operation) + "-" +
+            index + "\", \"type_i\": 1}", EffectResponse.class);
+  }
+
+  private static MockResponse page(String... records) {
+    StringBuilder body = new StringBuilder("{\"_embedded\": {\"records\": [");
+    for (int i = 0; i < records.length; i++) {
+      body.append(i > 0 ? ", " : "").append(records[i]);
+    }
+    body.append("]}}");
+    return new MockResponse().setBody(body.toString())
+            .setHeader("X-Ratelimit-Limit", "3600")
+            .setHeader("X-Ratelimit-Remaining", "3599")
+            .setHeader("X-Ratelimit-Reset", "60");
+  }
+
+  @Test
+  public void testTransactionIdOf() {
+    assertEquals(transactionId(1), TransactionJoiner.transactionIdOf(String.valueOf(transactionId(1))));
+    assertEquals(transactionId(1), TransactionJoiner.transactionIdOf(String.valueOf(transactionId(1) + 3)));
+    assertEquals(transactionId(1), TransactionJoiner.transactionIdOf((transactionId(1) + 3) + "-2"));
+    assertEquals(-1, TransactionJoiner.transactionIdOf("USD-GABC"));
+  }
+
+  @Test
+  public void testJoin() throws Exception {
+    Collector collector = new Collector();
+    TransactionJoiner joiner = new TransactionJoiner.Builder(new OkHttpClient(), collector).build();
+    EventListener<TransactionResponse> transactions = joiner.transactions();
+    EventListener<OperationResponse> operations = joiner.operations();
+    EventListener<EffectResponse> effects = joiner.effects();
+
+    operations.onEvent(operation(1, 1));
+    transactions.onEvent(transaction(1, 2));
+    effects.onEvent(effect(1, 1, 1));
+    operations.onEvent(operation(1, 2));
+    effects.onEvent(effect(1, 2, 1));
+    // Effects of the first transaction may still come
+    assertNull(collector.bundles.poll(300, TimeUnit.MILLISECONDS));
+
+    transactions.onEvent(transaction(2, 1));
+    operations.onEvent(operation(2, 1));
+    effects.onEvent(effect(2, 1, 1));
+    TransactionBundle bundle = collector.bundles.poll(5, TimeUnit.SECONDS);
+    assertEquals(String.valueOf(transactionId(1)), bundle.getTransaction().getPagingToken());
+    assertEquals(2, bundle.getOperations().size());
+    assertEquals(operation(1, 1).getPagingToken(), bundle.getOperations().get(0).getPagingToken());
+    assertEquals(2, bundle.getEffects().size());
+    assertTrue(bundle.isComplete());
+    assertNull(collector.bundles.poll(300, TimeUnit.MILLISECONDS));
+
+    // Late records are dropped
+    effects.onEvent(effect(1, 2, 2));
+    assertEquals(1, joiner.getDroppedCount());
+    assertEquals(0, mockWebServer.getRequestCount());
+    joiner.close();
+  }
+
+  @Test
+  public void testListenerFailureStops() throws Exception {
+    final RuntimeException error = new RuntimeException("commit failed");
+    final Collector collector = new Collector();
+    TransactionJoiner joiner = new TransactionJoiner.Builder(new OkHttpClient(), new TransactionBundleListener() {
+      @Override
+      public void onBundle(TransactionBundle bundle) {
+        if (bundle.getTransaction().getPagingToken().equals(String.valueOf(transactionId(2)))) {
+          throw error;
+        }
+        collector.onBundle(bundle);
+      }
+    }).build();
+    EventListener<TransactionResponse> transactions = joiner.transactions();
+
+    transactions.onEvent(transaction(1, 1));
+    assertEquals(String.valueOf(transactionId(1)), collector.bundles.poll(5, TimeUnit.SECONDS).getTransaction().getPagingToken());
+    transactions.onEvent(transaction(2, 1));
+    for (int i = 0; i < 500 && joiner.getFailure() == null; i++) {
+      Thread.sleep(10);
+    }
+    assertSame(error, joiner.getFailure());
+    try {
+      transactions.onEvent(transaction(3, 1));
+      fail();
+    } catch (ListenerFailedException e) {
+      assertSame(error, e.getCause());
+    }
+    assertNull(collector.bundles.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testFetchMissingRecords() throws Exception {
+    mockWebServer.enqueue(page(operationJson(1, 1), operationJson(1, 2), operationJson(2, 1)));
+
+    Collector collector = new Collector();
+    TransactionJoiner joiner = new TransactionJoiner.Builder(new OkHttpClient(), collector)
+            .setMaxPending(1).build();
+    EventListener<TransactionResponse> transactions = joiner.transactions();
+    EventListener<OperationResponse> operations = joiner.operations();
+
+    transactions.onEvent(transaction(1, 2));
+    operations.onEvent(operation(1, 2));
+    // Buffer overflows, operations of the ledger of the first transaction are fetched
+    transactions.onEvent(transaction(2, 1));
+
+    TransactionBundle bundle = collector.bundles.poll(5, TimeUnit.SECONDS);
+    assertEquals(2, bundle.getOperations().size());
+    assertEquals(operation(1, 1).getPagingToken(), bundle.getOperations().get(0).getPagingToken());
+    assertTrue(bundle.isComplete());
+    assertEquals("/ledgers/100/operations?order=asc&limit=200", mockWebServer.takeRequest().getPath());
+
+    // Second transaction of the same ledger is completed without another request
+    transactions.onEvent(transaction(3, 0));
+    bundle = collector.bundles.poll(5, TimeUnit.SECONDS);
+    assertEquals(String.valueOf(transactionId(2)), bundle.getTransaction().getPagingToken());
+    assertEquals(1, bundle.getOperations().size());
+    assertTrue(bundle.isComplete());
+    assertEquals(1, mockWebServer.getRequestCount());
+    joiner.close();
+  }
+
+  @Test
+  public void testFetchFailure() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("{}"));
+
+    Collector collector = new Collector();
+    TransactionJoiner joiner = new TransactionJoiner.Builder(new OkHttpClient(), collector)
+            .setMaxDelay(100, TimeUnit.MILLISECONDS).build();
+    joiner.operations();
+    joiner.transactions().onEvent(transaction(1, 1));
+
+    TransactionBundle bundle = collector.bundles.poll(5, TimeUnit.SECONDS);
+    assertFalse(bundle.isComplete());
+    assertTrue(bundle.getOperations().isEmpty());
+    joiner.close();
+  }
+}
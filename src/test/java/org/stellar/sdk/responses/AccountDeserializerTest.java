@@ -3,6 +3,9 @@ package org.stellar.sdk.responses;
 import junit.framework.TestCase;
 
 import org.junit.Test;
+import org.stellar.sdk.Asset;
+import org.stellar.sdk.AssetTypeNative;
+import org.stellar.sdk.KeyPair;
 
 public class AccountDeserializerTest extends TestCase {
   @Test
@@ -32,6 +35,14 @@ public class AccountDeserializerTest extends TestCase {
     assertEquals(account.getBalances()[1].getBalance(), "20.0000300");
     assertEquals(account.getBalances()[1].getLimit(), null);
 
+    assertEquals(account.getBalances()[0].getBalanceStroops(), 10010000000L);
+    assertEquals(account.getBalances()[0].getLimitStroops(), Long.valueOf(120004775807L));
+    assertEquals(account.getBalances()[1].getBalanceStroops(), 200000300L);
+    assertEquals(account.getBalances()[1].getLimitStroops(), null);
+    assertSame(account.getBalance(new AssetTypeNative()), account.getBalances()[1]);
+    assertSame(account.getBalance(Asset.createNonNativeAsset("ABC", KeyPair.fromAccountId("GCRA6COW27CY5MTKIA7POQ2326C5ABYCXODBN4TFF5VL4FMBRHOT3YHU"))), account.getBalances()[0]);
+    assertEquals(account.getBalancesByAsset().size(), 2);
+
     assertEquals(account.getSigners()[0].getAccountId(), "GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7");
     assertEquals(account.getSigners()[0].getWeight(), 0);
     assertEquals(account.getSigners()[1].getAccountId(), "GCR2KBCIU6KQXSQY5F5GZYC4WLNHCHCKW4NEGXNEZRYWLTNZIRJJY7D2");
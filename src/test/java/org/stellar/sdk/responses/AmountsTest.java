@@ -0,0 +1,31 @@
+package org.stellar.sdk.responses;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class AmountsTest {
+  @Test
+  public void testToStroops() {
+    assertEquals(10000000L, Amounts.toStroops("1"));
+    assertEquals(10000000L, Amounts.toStroops("1.0000000"));
+    assertEquals(1L, Amounts.toStroops("0.0000001"));
+    assertEquals(12345000L, Amounts.toStroops("1.2345"));
+    assertEquals(-15000000L, Amounts.toStroops("-1.5"));
+    assertEquals(Long.MAX_VALUE, Amounts.toStroops("922337203685.4775807"));
+    assertEquals(10000000L, Amounts.toStroops("1.000000000"));
+  }
+
+  @Test
+  public void testInvalid() {
+    String[] invalid = {"", ".", "1.2.3", "abc", "1e5", "0.00000001", "922337203685.4775808", "10000000000000000000"};
+    for (String amount : invalid) {
+      try {
+        Amounts.toStroops(amount);
+        fail(amount);
+      } catch (NumberFormatException e) {
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.stellar.sdk.responses.effects.AccountCreditedEffectResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InternTableTest {
+  @Test
+  public void testIntern() {
+    String first = InternTable.intern(new String("GBRPYHIL2CI3FNQ4BXLFMNDLFJUNPU2HY3ZMFSHONUCEOASW7QC7OX2H"));
+    String second = InternTable.intern(new String("GBRPYHIL2CI3FNQ4BXLFMNDLFJUNPU2HY3ZMFSHONUCEOASW7QC7OX2H"));
+    assertSame(first, second);
+    assertNull(InternTable.intern(null));
+  }
+
+  @Test
+  public void testBounded() {
+    InternTable<String> table = new InternTable<String>(4);
+    for (int i = 0; i < 100; i++) {
+      table.put(String.valueOf(i), String.valueOf(i));
+    }
+    int present = 0;
+    for (int i = 0; i < 100; i++) {
+      if (table.get(String.valueOf(i)) != null) {
+        present++;
+      }
+    }
+    assertEquals(4, present);
+  }
+
+  @Test
+  public void testRecordsShareIdentifiers() {
+    String json = "{\"_embedded\": {\"records\": [" + effect("1") + "," + effect("2") + "]}, \"_links\": {}}";
+    Page<EffectResponse> page = GsonSingleton.getInstance().fromJson(json, new TypeToken<Page<EffectResponse>>() {}.getType());
+    AccountCreditedEffectResponse first = (AccountCreditedEffectResponse) page.getRecords().get(0);
+    AccountCreditedEffectResponse second = (AccountCreditedEffectResponse) page.getRecords().get(1);
+
+    assertSame(first.getAccount(), second.getAccount());
+    // Only identifiers are interned
+    assertNotSame(first.getAmount(), second.getAmount());
+    assertEquals("https://horizon-testnet.stellar.org/operations/1", first.getLinks().getOperation().getHref());
+    assertEquals("https://horizon-testnet.stellar.org/effects?order=desc&cursor=2", second.getLinks().getSucceeds().getHref());
+  }
+
+  @Test
+  public void testAssetIdentifiersInterned() {
+    String json = "{\"asset_type\": \"credit_alphanum4\", \"asset_code\": \"EUR\"," +
+            "\"asset_issuer\": \"GAZN3PPIDQCSP5JD4ETQQQ2IU2RMFYQTAL4NNQZUGLLO2XJJJ3RDSDGA\"," +
+            "\"paging_token\": \"EUR_GAZN3PPIDQCSP5JD4ETQQQ2IU2RMFYQTAL4NNQZUGLLO2XJJJ3RDSDGA_credit_alphanum4\"," +
+            "\"amount\": \"100.0\", \"num_accounts\": 2}";
+    AssetResponse first = GsonSingleton.getInstance().fromJson(json, AssetResponse.class);
+    AssetResponse second = GsonSingleton.getInstance().fromJson(json, AssetResponse.class);
+
+    assertSame(first.getAssetCode(), second.getAssetCode());
+    assertSame(first.getAssetIssuer(), second.getAssetIssuer());
+    assertNotSame(first.getAssetType(), second.getAssetType());
+    assertNotSame(first.getPagingToken(), second.getPagingToken());
+  }
+
+  private static String effect(String id) {
+    return "{\"_links\": {" +
+            "\"operation\": {\"href\": \"https://horizon-testnet.stellar.org/operations/" + id + "\"}," +
+            "\"succeeds\": {\"href\": \"https://horizon-testnet.stellar.org/effects?order=desc&cursor=" + id + "\"}," +
+            "\"precedes\": {\"href\": \"https://horizon-testnet.stellar.org/effects?order=asc&cursor=" + id + "\"}}," +
+            "\"id\": \"" + id + "\", \"paging_token\": \"" + id + "\"," +
+            "\"account\": \"GDLGTRIBFH24364GPWPUS45GUFC2GU4ARPGWTXVCPLGTUHX3IOS3ON47\"," +
+            "\"type\": \"account_credited\", \"type_i\": 2," +
+            "\"asset_type\": \"credit_alphanum4\", \"asset_code\": \"EUR\"," +
+            "\"asset_issuer\": \"GAZN3PPIDQCSP5JD4ETQQQ2IU2RMFYQTAL4NNQZUGLLO2XJJJ3RDSDGA\", \"amount\": \"1000.0\"}";
+  }
+}
@@ -0,0 +1,56 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.stellar.sdk.MemoText;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LazyResponseTest {
+  private static final String TRANSACTION = "{\"_links\": {\"self\": {\"href\": \"/transactions/5c2e4dad\"}, " +
+          "\"account\": {\"href\": \"/accounts/GCUB7JL4APK7LKJ6MZF7Q2JTLHAGNBIUA7XIXD5SQTG52GQ2DAT6XZMK\"}}, " +
+          "\"hash\": \"5c2e4dad\", \"ledger\": 915744, \"paging_token\": \"3933090531512320\", " +
+          "\"source_account\": \"GCUB7JL4APK7LKJ6MZF7Q2JTLHAGNBIUA7XIXD5SQTG52GQ2DAT6XZMK\", " +
+          "\"memo_type\": \"text\", \"memo\": \"żółć\"}";
+
+  @Test
+  public void testFields() {
+    LazyResponse<TransactionResponse> transaction = new LazyResponse<TransactionResponse>(TRANSACTION, new TypeToken<TransactionResponse>() {});
+    assertEquals("5c2e4dad", transaction.getString("hash"));
+    assertEquals(Long.valueOf(915744), transaction.getLong("ledger"));
+    assertEquals("3933090531512320", transaction.getPagingToken());
+    assertEquals("GCUB7JL4APK7LKJ6MZF7Q2JTLHAGNBIUA7XIXD5SQTG52GQ2DAT6XZMK", transaction.getKeyPair("source_account").getAccountId());
+    assertSame(transaction.getKeyPair("source_account"), transaction.getKeyPair("source_account"));
+    assertEquals("/transactions/5c2e4dad", transaction.getLink("self").getHref());
+    assertNull(transaction.getLink("effects"));
+    assertNull(transaction.getString("_links"));
+    assertNull(transaction.getString("fee_paid"));
+  }
+
+  @Test
+  public void testGet() {
+    LazyResponse<TransactionResponse> transaction = new LazyResponse<TransactionResponse>(TRANSACTION, new TypeToken<TransactionResponse>() {});
+    TransactionResponse response = transaction.get();
+    assertSame(response, transaction.get());
+    assertEquals("5c2e4dad", response.getHash());
+    assertEquals("/accounts/GCUB7JL4APK7LKJ6MZF7Q2JTLHAGNBIUA7XIXD5SQTG52GQ2DAT6XZMK", response.getLinks().getAccount().getHref());
+    assertTrue(response.getMemo() instanceof MemoText);
+    assertEquals("żółć", ((MemoText) response.getMemo()).getText());
+  }
+
+  @Test
+  public void testPage() {
+    String json = "{\"_links\": {\"next\": {\"href\": \"/transactions?cursor=3933090531512320\"}}, " +
+            "\"_embedded\": {\"records\": [" + TRANSACTION + "]}}";
+    Page<LazyResponse<TransactionResponse>> page = GsonSingleton.getInstance().fromJson(json, new TypeToken<Page<LazyResponse<TransactionResponse>>>() {}.getType());
+    assertEquals(1, page.getRecords().size());
+    LazyResponse<TransactionResponse> transaction = page.getRecords().get(0);
+    assertEquals("5c2e4dad", transaction.getString("hash"));
+    assertEquals("5c2e4dad", transaction.get().getHash());
+    assertTrue(transaction.getSize() < TRANSACTION.getBytes().length);
+  }
+}
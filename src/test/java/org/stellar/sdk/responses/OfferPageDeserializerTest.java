@@ -20,6 +20,9 @@ public class OfferPageDeserializerTest extends TestCase {
     assertEquals(transactionsPage.getRecords().get(0).getBuying(), Asset.createNonNativeAsset("USD", KeyPair.fromAccountId("GA2IYMIZSAMDD6QQTTSIEL73H2BKDJQTA7ENDEEAHJ3LMVF7OYIZPXQD")));
     assertEquals(transactionsPage.getRecords().get(0).getAmount(), "10.0000000");
     assertEquals(transactionsPage.getRecords().get(0).getPrice(), "11.0000000");
+    assertEquals(transactionsPage.getRecords().get(0).getAmountStroops(), 100000000L);
+    assertEquals(transactionsPage.getRecords().get(0).getPriceR().getNumerator(), 10);
+    assertEquals(transactionsPage.getRecords().get(0).getPriceR().getDenominator(), 1);
 
     assertEquals(transactionsPage.getLinks().getNext().getHref(), "https://horizon-testnet.stellar.org/accounts/GA2IYMIZSAMDD6QQTTSIEL73H2BKDJQTA7ENDEEAHJ3LMVF7OYIZPXQD/offers?order=asc&limit=10&cursor=241");
     assertEquals(transactionsPage.getLinks().getPrev().getHref(), "https://horizon-testnet.stellar.org/accounts/GA2IYMIZSAMDD6QQTTSIEL73H2BKDJQTA7ENDEEAHJ3LMVF7OYIZPXQD/offers?order=desc&limit=10&cursor=241");
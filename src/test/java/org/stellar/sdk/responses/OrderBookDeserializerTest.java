@@ -18,6 +18,8 @@ public class OrderBookDeserializerTest extends TestCase {
         assertEquals(orderBook.getBids()[0].getPrice(), "0.0024224");
         assertEquals(orderBook.getBids()[0].getPriceR().getNumerator(), 4638606);
         assertEquals(orderBook.getBids()[0].getPriceR().getDenominator(), 1914900241);
+        assertEquals(orderBook.getBids()[0].getAmountStroops(), 314007644L);
+        assertEquals(orderBook.getAsks()[1].getAmountStroops(), 1219999600L);
 
         assertEquals(orderBook.getBids()[1].getAmount(), "5.9303650");
         assertEquals(orderBook.getBids()[1].getPrice(), "0.0024221");
@@ -0,0 +1,88 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PolymorphicTypeAdapterFactoryTest {
+  static class Shape {
+    int type_i;
+  }
+
+  static class Circle extends Shape {
+    int radius;
+  }
+
+  static class Square extends Shape {
+    int side;
+  }
+
+  static class ShapeTypeAdapterFactory extends PolymorphicTypeAdapterFactory<Shape> {
+    ShapeTypeAdapterFactory() {
+      super(Shape.class);
+      registerSubtype(0, Circle.class);
+      registerSubtype(1, Square.class);
+    }
+  }
+
+  private static final Gson GSON = new GsonBuilder().registerTypeAdapterFactory(new ShapeTypeAdapterFactory()).create();
+
+  @Test
+  public void testDispatchOnType() {
+    // type_i is not necessarily the first field
+    List<Shape> shapes = GSON.fromJson("[{\"radius\": 3, \"type_i\": 0}, {\"type_i\": 1, \"side\": 4}, null]",
+            new TypeToken<List<Shape>>() {}.getType());
+    assertEquals(3, shapes.size());
+    assertTrue(shapes.get(0) instanceof Circle);
+    assertEquals(3, ((Circle) shapes.get(0)).radius);
+    assertTrue(shapes.get(1) instanceof Square);
+    assertEquals(4, ((Square) shapes.get(1)).side);
+    assertNull(shapes.get(2));
+  }
+
+  @Test
+  public void testSubtypesNotDispatched() {
+    Circle circle = GSON.fromJson("{\"type_i\": 1, \"radius\": 3}", Circle.class);
+    assertEquals(3, circle.radius);
+  }
+
+  @Test
+  public void testWriteSubtype() {
+    Square square = new Square();
+    square.type_i = 1;
+    square.side = 4;
+    String json = GSON.toJson(square, Shape.class);
+    Shape shape = GSON.fromJson(json, Shape.class);
+    assertEquals(4, ((Square) shape).side);
+  }
+
+  @Test
+  public void testMissingType() {
+    try {
+      GSON.fromJson("{\"radius\": 3}", Shape.class);
+      fail("expected JsonParseException");
+    } catch (JsonParseException e) {
+      assertEquals("Missing type_i field", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testUnknownType() {
+    try {
+      GSON.fromJson("{\"type_i\": 2}", Shape.class);
+      fail("expected RuntimeException");
+    } catch (RuntimeException e) {
+      assertEquals("Invalid Shape type", e.getMessage());
+    }
+  }
+}
@@ -1,8 +1,18 @@
 package org.stellar.sdk.responses;
 
+import com.google.common.io.BaseEncoding;
+
 import junit.framework.TestCase;
 
 import org.junit.Test;
+import org.stellar.sdk.xdr.OperationResult;
+import org.stellar.sdk.xdr.TransactionResult;
+import org.stellar.sdk.xdr.XdrDataInputStream;
+import org.stellar.sdk.xdr.XdrDataOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 
 public class SubmitTransactionResponseTest extends TestCase {
   @Test
@@ -100,4 +110,29 @@ public class SubmitTransactionResponseTest extends TestCase {
     assertEquals(submitTransactionResponse.isSuccess(), true);
     assertNull(submitTransactionResponse.getOfferIdFromResult(0));
   }
+
+  @Test
+  public void testOfferIdAndClaimedOffersAtPosition() throws IOException {
+    // First operation claimed an offer and was fully filled, second one left offer 241 in the order book
+    TransactionResult filled = decodeResult("AAAAAAAAAGQAAAAAAAAAAQAAAAAAAAADAAAAAAAAAAEAAAAA7DhVu/fMnbeGIbVuNTsz8A65U0cqdEQRGiK0ivVmP9kAAAAAAAASJQAAAAFVU0QAAAAAAOw4Vbv3zJ23hiG1bjU7M/AOuVNHKnREERoitIr1Zj/ZAAAAAAcnDgAAAAABRVVSAAAAAAD9LgwiRs1qHzAFJBvxd2Aj3LYC5Hj91U69z9Zhys5wBwAAAAADk4cAAAAAAgAAAAA=");
+    TransactionResult created = decodeResult("AAAAAAAAAGQAAAAAAAAAAQAAAAAAAAADAAAAAAAAAAAAAAAAAAAAADSMMRmQGDH6EJzkgi/7PoKhphMHyNGQgDp2tlS/dhGXAAAAAAAAAPEAAAABSU5SAAAAAAA0jDEZkBgx+hCc5IIv+z6CoaYTB8jRkIA6drZUv3YRlwAAAAFVU0QAAAAAADSMMRmQGDH6EJzkgi/7PoKhphMHyNGQgDp2tlS/dhGXAAAAAAX14QAAAAAKAAAAAQAAAAAAAAAAAAAAAA==");
+    created.getResult().setResults(new OperationResult[] {filled.getResult().getResults()[0], created.getResult().getResults()[0]});
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    TransactionResult.encode(new XdrDataOutputStream(outputStream), created);
+    String json = "{\"hash\": \"ee14b93f\", \"ledger\": 3128812, \"result_xdr\": \"" +
+            BaseEncoding.base64().encode(outputStream.toByteArray()) + "\"}";
+
+    SubmitTransactionResponse submitTransactionResponse = GsonSingleton.getInstance().fromJson(json, SubmitTransactionResponse.class);
+    assertNull(submitTransactionResponse.getOfferIdFromResult(0));
+    assertEquals(new Long(241), submitTransactionResponse.getOfferIdFromResult(1));
+    assertNull(submitTransactionResponse.getOfferIdFromResult(2));
+    assertEquals(1, submitTransactionResponse.getClaimedOffers(0).length);
+    assertEquals(Long.valueOf(4645), submitTransactionResponse.getClaimedOffers(0)[0].getOfferID().getUint64());
+    assertEquals(0, submitTransactionResponse.getClaimedOffers(1).length);
+    assertSame(submitTransactionResponse.getDecodedResult(), submitTransactionResponse.getDecodedResult());
+  }
+
+  private static TransactionResult decodeResult(String base64) throws IOException {
+    return TransactionResult.decode(new XdrDataInputStream(new ByteArrayInputStream(BaseEncoding.base64().decode(base64))));
+  }
 }
@@ -18,6 +18,10 @@ public class TradeAggregationsPageDeserializerTest extends TestCase {
         assertEquals(page.getRecords().get(0).getCounterVolume(), "0.0041700");
         assertEquals(page.getRecords().get(0).getAvg(), "0.0000122");
         assertEquals(page.getRecords().get(0).getHigh(), "0.0000123");
+        assertEquals(page.getRecords().get(0).getBaseVolumeStroops(), 3418032786L);
+        assertEquals(page.getRecords().get(0).getAvgPrice().getNumerator(), 61);
+        assertEquals(page.getRecords().get(0).getAvgPrice().getDenominator(), 5000000);
+        assertEquals(page.getRecords().get(0).getHighPrice().getNumerator(), 123);
         assertEquals(page.getRecords().get(0).getLow(), "0.0000124");
         assertEquals(page.getRecords().get(0).getOpen(), "0.0000125");
         assertEquals(page.getRecords().get(0).getClose(), "0.0000126");
@@ -23,6 +23,8 @@ public class TradesPageDeserializerTest extends TestCase {
         assertEquals(tradesPage.getRecords().get(0).getBaseAsset(), new AssetTypeNative());
         assertEquals(tradesPage.getRecords().get(0).getCounterAsset(), Asset.createNonNativeAsset("JPY", KeyPair.fromAccountId("GBVAOIACNSB7OVUXJYC5UE2D4YK2F7A24T7EE5YOMN4CE6GCHUTOUQXM")));
 
+        assertEquals(tradesPage.getRecords().get(0).getBaseAmountStroops(), 100000000L);
+        assertEquals(tradesPage.getRecords().get(0).getCounterAmountStroops(), 26700000L);
         assertEquals(tradesPage.getRecords().get(1).getBaseAccount().getAccountId(), "GAVH5JM5OKXGMQDS7YPRJ4MQCPXJUGH26LYQPQJ4SOMOJ4SXY472ZM7G");
     }
 
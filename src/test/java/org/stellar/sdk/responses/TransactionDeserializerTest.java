@@ -1,5 +1,8 @@
 package org.stellar.sdk.responses;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
 import junit.framework.TestCase;
 
 import org.junit.Test;
@@ -22,6 +25,14 @@ public class TransactionDeserializerTest extends TestCase {
     assertEquals(transaction.getResultXdr(), "AAAAAAAAAGQAAAAAAAAAAQAAAAAAAAAAAAAAAAAAAAA=");
     assertEquals(transaction.getResultMetaXdr(), "AAAAAAAAAAEAAAACAAAAAAAN+SAAAAAAAAAAAMDtGdqtLMLCPc5P4zZu0IwWlUF2rElL5KvTSoGO0W/uAAAAAEsKz9AADfkgAAAAAAAAAAAAAAAAAAAAAAAAAAABAAAAAAAAAAAAAAAAAAAAAAAAAQAN+SAAAAAAAAAAAP1qe44j+i4uIT+arbD4QDQBt8ryEeJd7a0jskQ3nwDeAAHp6WMr55YACD1BAAAAHgAAAAoAAAAAAAAAAAAAAAABAAAAAAAACgAAAAARC07BokpLTOF+/vVKBwiAlop7hHGJTNeGGlY4MoPykwAAAAEAAAAAK+Lzfd3yDD+Ov0GbYu1g7SaIBrKZeBUxoCunkLuI7aoAAAABAAAAAERmsKL73CyLV/HvjyQCERDXXpWE70Xhyb6MR5qPO3yQAAAAAQAAAABSORGwAdyuanN3sNOHqNSpACyYdkUM3L8VafUu69EvEgAAAAEAAAAAeCzqJNkMM/jLvyuMIfyFHljBlLCtDyj17RMycPuNtRMAAAABAAAAAIEi4R7juq15ymL00DNlAddunyFT4FyUD4muC4t3bobdAAAAAQAAAACaNpLL5YMfjOTdXVEqrAh99LM12sN6He6pHgCRAa1f1QAAAAEAAAAAqB+lfAPV9ak+Zkv4aTNZwGaFFAfui4+yhM3dGhoYJ+sAAAABAAAAAMNJrEvdMg6M+M+n4BDIdzsVSj/ZI9SvAp7mOOsvAD/WAAAAAQAAAADbHA6xiKB1+G79mVqpsHMOleOqKa5mxDpP5KEp/Xdz9wAAAAEAAAAAAAAAAA==");
 
+    assertEquals(1, transaction.getDecodedEnvelope().getTx().getOperations().length);
+    assertEquals(Long.valueOf(100), transaction.getDecodedResult().getFeeCharged().getInt64());
+    assertSame(transaction.getDecodedResult(), transaction.getDecodedResult());
+    assertEquals(1, transaction.getDecodedResultMeta().getOperations().length);
+    assertNotNull(transaction.getOperationResult(0));
+    assertNull(transaction.getOperationResult(1));
+    assertNull(transaction.getOfferIdFromResult(0));
+
     assertTrue(transaction.getMemo() instanceof MemoHash);
     MemoHash memo = (MemoHash) transaction.getMemo();
     assertEquals("51041644e83d6ac868c849418b6392ddbe9df53f000000000000000000000000", memo.getHexValue());
@@ -35,6 +46,17 @@ public class TransactionDeserializerTest extends TestCase {
     assertEquals(transaction.getLinks().getSucceeds().getHref(), "/transactions?cursor=3933090531512320&order=desc");
   }
 
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testDeprecatedDeserializer() {
+    Gson gson = new GsonBuilder().registerTypeAdapter(TransactionResponse.class, new TransactionDeserializer()).create();
+    TransactionResponse transaction = gson.fromJson(json, TransactionResponse.class);
+    assertEquals(transaction.getHash(), "5c2e4dad596941ef944d72741c8f8f1a4282f8f2f141e81d827f44bf365d626b");
+    assertEquals(transaction.getSourceAccount().getAccountId(), "GCUB7JL4APK7LKJ6MZF7Q2JTLHAGNBIUA7XIXD5SQTG52GQ2DAT6XZMK");
+    MemoHash memo = (MemoHash) transaction.getMemo();
+    assertEquals("51041644e83d6ac868c849418b6392ddbe9df53f000000000000000000000000", memo.getHexValue());
+  }
+
   @Test
   public void testDeserializeWithoutMemo() {
     TransactionResponse transaction = GsonSingleton.getInstance().fromJson(jsonMemoNone, TransactionResponse.class);